@@ -105,6 +105,69 @@ public interface IAdmin {
      */
     ApiMsg getBlockSqlByRange(Long blkStart, Long blkEnd);
 
+    /**
+     * Get detailed block information include all transactions and the transaction logs by given
+     * the starting/end block number, without the limit of 1000 blocks. The range is split into
+     * chunks fetched concurrently ahead of the reader.
+     *
+     * @param blkStart the start block number.
+     * @param blkEnd the end of block number.
+     * @param chunkSize the number of blocks fetched by one request, at most 1000.
+     * @param parallel the number of chunks fetched at once.
+     * @return the interface {@link org.aion.api.type.RangeIterator RangeIterator} of the class
+     *     {@link org.aion.api.type.BlockDetails BlockDetails} wrapped into ApiMsg, in block order.
+     *     You can retrieve through the method {@link ApiMsg#getObject() getObject}.
+     *     <p>Each block is converted when the iterator reaches it, the reader only holds the block
+     *     it reads besides the fetched responses.
+     */
+    ApiMsg getBlockDetailsByRange(long blkStart, long blkEnd, int chunkSize, int parallel);
+
+    /**
+     * Same as {@link #getBlockDetailsByRange(long, long, int, int)}, the transaction logs can be
+     * left out of the blocks.
+     *
+     * @param blkStart the start block number.
+     * @param blkEnd the end of block number.
+     * @param chunkSize the number of blocks fetched by one request, at most 1000.
+     * @param parallel the number of chunks fetched at once.
+     * @param withTxLogs false leaves the transaction logs out, the transactions have an empty log
+     *     list.
+     * @return the interface {@link org.aion.api.type.RangeIterator RangeIterator} of the class
+     *     {@link org.aion.api.type.BlockDetails BlockDetails} wrapped into ApiMsg, in block order.
+     *     You can retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg getBlockDetailsByRange(
+            long blkStart, long blkEnd, int chunkSize, int parallel, boolean withTxLogs);
+
+    /**
+     * Same as {@link #getBlockDetailsByRange(long, long, int, int)}, the blocks are views decoding
+     * their fields from the responses when they are read.
+     *
+     * @param blkStart the start block number.
+     * @param blkEnd the end of block number.
+     * @param chunkSize the number of blocks fetched by one request, at most 1000.
+     * @param parallel the number of chunks fetched at once.
+     * @return the interface {@link org.aion.api.type.RangeIterator RangeIterator} of the class
+     *     {@link org.aion.api.type.BlockDetailsView BlockDetailsView} wrapped into ApiMsg, in
+     *     block order. You can retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg getBlockDetailsViewByRange(long blkStart, long blkEnd, int chunkSize, int parallel);
+
+    /**
+     * Get detailed block information as SQL like structure by given the starting/end block number,
+     * without the limit of 1000 blocks. The range is split into chunks fetched concurrently ahead
+     * of the reader.
+     *
+     * @param blkStart the start block number.
+     * @param blkEnd the end of block number.
+     * @param chunkSize the number of blocks fetched by one request, at most 1000.
+     * @param parallel the number of chunks fetched at once.
+     * @return the interface {@link org.aion.api.type.RangeIterator RangeIterator} of the class
+     *     {@link org.aion.api.type.BlockSql BlockSql} wrapped into ApiMsg, in block order. You can
+     *     retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg getBlockSqlByRange(long blkStart, long blkEnd, int chunkSize, int parallel);
+
     /**
      * Get block information, for all blocks in range (latest - n, latest]
      *
@@ -2,6 +2,8 @@ package org.aion.api;
 
 import org.aion.api.impl.AionAPIImpl;
 import org.aion.api.type.ApiMsg;
+import org.aion.api.type.CacheStats;
+import org.aion.vm.api.interfaces.Address;
 
 /**
  * IAionAPI contains the majority of methods to interact with the Aion Kernel. To declare a instance
@@ -104,7 +106,10 @@ public interface IAionAPI {
      * @param url the class {@link java.lang.String String} including the connection address and
      *     port of the desired backend Aion client.
      * @param reconnect the boolean value set the client api will try to reconnect when the
-     *     connection broken. If retry reach 10 times fail, will return a false message.
+     *     connection broken. If retry reach 10 times fail, will return a false message. Once
+     *     connected, a lost connection is retried with a growing delay; the pending transactions
+     *     are kept, reads and signed transactions are sent again, other requests the kernel may
+     *     not have received fail with the error code 58.
      * @param worker set the thread number for handle the transaction API.
      * @param timeout set the timeout for the api message does not have the response from server
      * @param pubkey the string value represent the public key of the connecting server. The zmq
@@ -187,6 +192,39 @@ public interface IAionAPI {
      */
     IAdmin getAdmin();
 
+    /**
+     * Get the tracker keeping the chain head locally, it polls the kernel once started and tells
+     * its listeners about the new heads and the reorgs.
+     *
+     * @return the class {@link IHeadTracker IHeadTracker}.
+     */
+    IHeadTracker getHeadTracker();
+
+    /**
+     * Get the waiter completing the receipts of many transactions from one loop following the
+     * head tracker.
+     *
+     * @return the class {@link IReceiptWaiter IReceiptWaiter}.
+     */
+    IReceiptWaiter getReceiptWaiter();
+
+    /**
+     * Get the counters of the client side cache of the confirmed blocks, transactions and
+     * receipts. The cache is enabled and sized in the cache section of the api config.
+     *
+     * @return the class {@link CacheStats CacheStats}, all zero while the cache is disabled.
+     */
+    CacheStats getCacheStats();
+
+    /**
+     * Get the nonce manager of a sender account. Every call with the same address returns the same
+     * manager, so the threads sending from one account share its nonces.
+     *
+     * @param sender the class {@link Address Address} of the sender account.
+     * @return the class {@link INonceManager INonceManager}.
+     */
+    INonceManager getNonceManager(Address sender);
+
     /**
      * Get Aion Api Version.
      *
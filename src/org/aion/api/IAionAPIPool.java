@@ -0,0 +1,106 @@
+package org.aion.api;
+
+import java.util.List;
+import org.aion.api.impl.AionAPIPool;
+import org.aion.api.type.ApiMsg;
+import org.aion.vm.api.interfaces.Address;
+
+/**
+ * IAionAPIPool holds connections to several Aion Kernels, or several connections to one kernel,
+ * and picks one of them for every request. To declare a instance use the code shown:
+ *
+ * <p>IAionAPIPool pool = IAionAPIPool.init(IAionAPIPool.Balance.ROUND_ROBIN); then {@link
+ * IAionAPIPool#connect(List)} to the kernels. Reads go through {@link #get()}, transactions
+ * through {@link #getForSender(Address)} so the transactions of one sender reach the kernels in
+ * nonce order.
+ */
+public interface IAionAPIPool {
+
+    /** The way {@link #get()} spreads the requests over the connections. */
+    enum Balance {
+        // every healthy connection in turn.
+        ROUND_ROBIN,
+        // the healthy connection with the fewest requests waiting for the kernel.
+        LEAST_OUTSTANDING
+    }
+
+    static IAionAPIPool init(Balance balance) {
+        return AionAPIPool.inst(balance);
+    }
+
+    /**
+     * Connects one api to each kernel.
+     *
+     * @param urls the list of {@link java.lang.String String} including the connection address and
+     *     port of each backend Aion client.
+     * @return the boolean value indicating the success of the connection wrapped into ApiMsg, it
+     *     succeeds if at least one kernel is connected. You can retrieve through the method {@link
+     *     ApiMsg#getObject() getObject}.
+     */
+    ApiMsg connect(List<String> urls);
+
+    /**
+     * Connects the given number of apis to each kernel.
+     *
+     * @param urls the list of {@link java.lang.String String} including the connection address and
+     *     port of each backend Aion client.
+     * @param connections the number of connections opened to each kernel.
+     * @param reconnect the boolean value set every connection will try to reconnect when the
+     *     connection broken, see {@link IAionAPI#connect(String, boolean, int, int, String)}.
+     * @param worker set the thread number for handle the transaction API of each connection.
+     * @param timeout set the timeout for the api message does not have the response from server
+     * @param pubkey the string value represent the public key of the connecting servers.
+     * @return the boolean value indicating the success of the connection wrapped into ApiMsg, it
+     *     succeeds if at least one kernel is connected. You can retrieve through the method {@link
+     *     ApiMsg#getObject() getObject}.
+     */
+    ApiMsg connect(
+            List<String> urls,
+            int connections,
+            boolean reconnect,
+            int worker,
+            int timeout,
+            String pubkey);
+
+    /**
+     * Destroys every connection of the pool.
+     *
+     * @return the boolean value indicating the successful disconnect from backend wrapped into
+     *     ApiMsg. You can retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg destroyApi();
+
+    /**
+     * Check the connection status of the pool.
+     *
+     * @return true if at least one connection passes its heartbeat.
+     */
+    boolean isConnected();
+
+    /**
+     * Picks a connection for a read request according to the {@link Balance Balance} of the pool.
+     * Connections failing their heartbeat are skipped while a healthy one is left.
+     *
+     * @return the interface {@link IAionAPI IAionAPI} of the picked connection, null if the pool
+     *     is not connected.
+     */
+    IAionAPI get();
+
+    /**
+     * Picks the connection the transactions of the given sender are sent through. A sender keeps
+     * its connection while the connection is healthy, so its transactions reach one kernel in
+     * nonce order; it moves to the next healthy connection otherwise.
+     *
+     * @param sender the class {@link Address Address} of the sender.
+     * @return the interface {@link IAionAPI IAionAPI} of the picked connection, null if the pool
+     *     is not connected.
+     */
+    IAionAPI getForSender(Address sender);
+
+    /**
+     * Gets every connection of the pool, in the order of the connected urls.
+     *
+     * @return the list of the interface {@link IAionAPI IAionAPI}.
+     */
+    List<IAionAPI> getAll();
+}
@@ -1,6 +1,7 @@
 package org.aion.api;
 
 import java.math.BigInteger;
+import java.util.List;
 import org.aion.api.type.ApiMsg;
 import org.aion.api.type.Block;
 import org.aion.api.type.Transaction;
@@ -56,6 +57,57 @@ public interface IChain {
      */
     ApiMsg getNonce(Address address);
 
+    /**
+     * Gets the balances of many accounts, all read at the same block. The latest block number is
+     * read first and every balance is read at that block.
+     *
+     * @param addresses the list of the class {@link Address Address} of the desired accounts.
+     * @return the balances by a {@link java.util.Map Map} of {@link Address Address} to {@link
+     *     BigInteger BigInteger} in the order of the input, wrapped into ApiMsg. The error code of
+     *     the first failed query is returned if any query fails.
+     * @see #getBalances(List, long)
+     */
+    ApiMsg getBalances(List<Address> addresses);
+
+    /**
+     * Gets the balances of many accounts at the given block. The queries are pipelined to the
+     * kernel, a bounded number of them waiting for their response at a time, instead of one round
+     * trip per account.
+     *
+     * @param addresses the list of the class {@link Address Address} of the desired accounts.
+     * @param blockNumber the block number by long value at which the balances should be retrieved
+     *     from, -1 for the latest block.
+     * @return the balances by a {@link java.util.Map Map} of {@link Address Address} to {@link
+     *     BigInteger BigInteger} in the order of the input, wrapped into ApiMsg. The error code of
+     *     the first failed query is returned if any query fails.
+     */
+    ApiMsg getBalances(List<Address> addresses, long blockNumber);
+
+    /**
+     * Gets the nonces of many accounts, all read at the same block. The latest block number is
+     * read first and every nonce is read at that block.
+     *
+     * @param addresses the list of the class {@link Address Address} of the desired accounts.
+     * @return the nonces by a {@link java.util.Map Map} of {@link Address Address} to {@link
+     *     BigInteger BigInteger} in the order of the input, wrapped into ApiMsg. The error code of
+     *     the first failed query is returned if any query fails.
+     * @see #getNonces(List, long)
+     */
+    ApiMsg getNonces(List<Address> addresses);
+
+    /**
+     * Gets the nonces of many accounts at the given block, pipelined like {@link
+     * #getBalances(List, long)}.
+     *
+     * @param addresses the list of the class {@link Address Address} of the desired accounts.
+     * @param blockNumber the block number by long value at which the nonces should be retrieved
+     *     from, -1 for the latest block.
+     * @return the nonces by a {@link java.util.Map Map} of {@link Address Address} to {@link
+     *     BigInteger BigInteger} in the order of the input, wrapped into ApiMsg. The error code of
+     *     the first failed query is returned if any query fails.
+     */
+    ApiMsg getNonces(List<Address> addresses, long blockNumber);
+
     /**
      * Gets the block corresponding to the block number.
      *
@@ -107,6 +159,27 @@ public interface IChain {
      */
     ApiMsg getBlockByHash(Hash256 blockHash);
 
+    /**
+     * Retrieves a block given the block number, the fields are decoded from the response when they
+     * are read. The block is not served from or added to the client cache.
+     *
+     * @param blockNumber the block number by long value of the desired block.
+     * @return the class {@link org.aion.api.type.BlockView BlockView} wrapped into ApiMsg. You can
+     *     retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg getBlockViewByNumber(long blockNumber);
+
+    /**
+     * Retrieves a block given the block hash, the fields are decoded from the response when they
+     * are read. The block is not served from or added to the client cache.
+     *
+     * @param blockHash 32 bytes hash of the desired block wrapped into the class {@link Hash256
+     *     Hash256}.
+     * @return the class {@link org.aion.api.type.BlockView BlockView} wrapped into ApiMsg. You can
+     *     retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg getBlockViewByHash(Hash256 blockHash);
+
     /**
      * Retrieves the total transactions within a block at a given block hash.
      *
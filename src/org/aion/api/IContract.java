@@ -1,8 +1,10 @@
 package org.aion.api;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.aion.api.sol.ISolidityArg;
 import org.aion.api.type.ApiMsg;
+import org.aion.api.type.CacheStats;
 import org.aion.api.type.ContractAbiEntry;
 import org.aion.api.type.ContractEvent;
 import org.aion.api.type.ContractEventFilter;
@@ -158,6 +160,58 @@ public interface IContract {
      */
     ApiMsg execute();
 
+    /**
+     * Asynchronous variant of {@link #execute()}. A transaction is sent without holding the calling
+     * thread and the future completes once it is included or dropped; a constant function is
+     * called the same way and the future completes with its result. The contract can be rebuilt
+     * for the next function as soon as this method returns.
+     *
+     * @return a future of the class {@link ContractResponse} containing all relevant information
+     *     wrapped by the class {@link ApiMsg ApiMsg}.
+     */
+    CompletableFuture<ApiMsg> executeAsync();
+
+    /**
+     * Prepares the function built by {@link #build()} for repeated calls. The function is resolved
+     * and its parameters encoded once, the prepared call then binds new values one parameter at a
+     * time; see {@link IContractCall IContractCall}. The contract can be rebuilt for the next
+     * function as soon as this method returns.
+     *
+     * @return the interface {@link IContractCall IContractCall}, or null if the function is not
+     *     built or the contract is in error.
+     */
+    IContractCall prepareCall();
+
+    /**
+     * Keeps the results of the constant functions of this contract, keyed by the sender and the
+     * encoded call, so the same call executed again at the same block is not sent to the kernel.
+     * The results are dropped once a call sees a new block, the head is read from {@link
+     * org.aion.api.IHeadTracker IHeadTracker}. The results of the functions not marked pure are
+     * only kept while the head tracker runs, without it every such call is sent to the kernel.
+     *
+     * @param maxEntries the maximum number of results kept, 0 disables the cache and drops them.
+     * @return the contract interface {@link IContract IContract}.
+     */
+    IContract setCallCache(int maxEntries);
+
+    /**
+     * Marks constant functions as pure, their results do not depend on the chain state and are
+     * kept across blocks by the call cache, like the name or the decimals of a token. The ABI only
+     * tells the constant functions, the pure ones among them must be named by the user.
+     *
+     * @param names the names of constant functions of this contract, replacing the former ones.
+     * @return the contract interface {@link IContract IContract}.
+     * @see #setCallCache(int)
+     */
+    IContract setPureFunctions(String... names);
+
+    /**
+     * Get the counters of the call cache.
+     *
+     * @return the class {@link CacheStats CacheStats}, all zero while the cache is disabled.
+     */
+    CacheStats getCallCacheStats();
+
     /**
      * GetEncoded gets the input parameters after executed built transaction and then set the return
      * value to TxArgs's data field. {@link TxArgs TxArgs}.
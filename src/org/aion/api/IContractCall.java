@@ -0,0 +1,62 @@
+package org.aion.api;
+
+import java.util.concurrent.CompletableFuture;
+import org.aion.api.sol.ISolidityArg;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.ContractAbiEntry;
+import org.aion.base.util.ByteArrayWrapper;
+
+/**
+ * This interface is a contract function call prepared by {@link IContract#prepareCall()
+ * prepareCall} for repeated calls. The function, its overload and the encoded parameters are
+ * resolved once; binding a new value through {@link #setParam(int, ISolidityArg) setParam} encodes
+ * that parameter alone into the kept call data, a value of a dynamic type encodes the dynamic part
+ * again. The sender, energy and value settings are the ones of the contract when it was prepared,
+ * and so is the {@link IContract#nonBlock() nonBlock} mode of {@link #execute() execute}; the
+ * mode is kept by the prepared call, other threads sending meanwhile do not change it.
+ *
+ * <p>A prepared call is not thread safe, prepare one per thread. The calls already sent are not
+ * affected by a later bind.
+ */
+public interface IContractCall {
+
+    /**
+     * Binds a new value to a parameter of the function, the value must have the type the function
+     * was resolved with. A value not bound leaves the former one and marks the call in error until
+     * a valid value is bound.
+     *
+     * @param index the index of the parameter in the function inputs.
+     * @param val the Solidity Type like {@link org.aion.api.sol.IUint IUint} or {@link
+     *     org.aion.api.sol.IAddress IAddress}.
+     * @return the interface itself.
+     */
+    IContractCall setParam(int index, ISolidityArg val);
+
+    /**
+     * Sends the call with the values bound, as {@link IContract#execute() execute}.
+     *
+     * @return the class {@link org.aion.api.type.ContractResponse ContractResponse} wrapped into
+     *     ApiMsg.
+     */
+    ApiMsg execute();
+
+    /**
+     * Sends the call with the values bound, as {@link IContract#executeAsync() executeAsync}.
+     *
+     * @return a future of the class {@link org.aion.api.type.ContractResponse ContractResponse}
+     *     wrapped into ApiMsg.
+     */
+    CompletableFuture<ApiMsg> executeAsync();
+
+    /** @return the encoded call data with the values bound. */
+    ByteArrayWrapper getEncodedData();
+
+    /** @return the class {@link ContractAbiEntry ContractAbiEntry} of the function called. */
+    ContractAbiEntry getAbiFunction();
+
+    /** @return the error code of the last value not bound, 0 if none. */
+    int getErrorCode();
+
+    /** @return true if a value was not bound since the last valid one of its parameter. */
+    boolean error();
+}
@@ -0,0 +1,61 @@
+package org.aion.api;
+
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.Block;
+import org.aion.base.type.Hash256;
+
+/**
+ * This interface keeps the head of the chain of the connected Aion Kernel locally. One background
+ * poll follows the kernel for every reader, so the head is read without a request to the kernel.
+ * The recent blocks are linked by their parent hash; a new block not linked to the known ones is a
+ * chain reorganization and the listeners are told which blocks were rolled back.
+ */
+public interface IHeadTracker {
+
+    /** Receives the head updates, called on the tracker thread. */
+    interface Listener {
+
+        /**
+         * Called once per poll the head moved, after {@link #onReorg(long, long)} if the new head
+         * replaced some known blocks.
+         *
+         * @param head the class {@link Block Block} of the new head.
+         */
+        default void onNewHead(Block head) {}
+
+        /**
+         * Called when known blocks left the chain.
+         *
+         * @param fromNumber the first rolled back block number.
+         * @param toNumber the last rolled back block number, the former head.
+         */
+        default void onReorg(long fromNumber, long toNumber) {}
+    }
+
+    /**
+     * Starts polling the kernel, does nothing if the tracker is running.
+     *
+     * @param intervalMs the delay between two polls in milliseconds.
+     * @return the boolean value indicating the tracker is running wrapped into ApiMsg. You can
+     *     retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg start(long intervalMs);
+
+    /** Stops polling the kernel, the last known head is kept. */
+    void stop();
+
+    boolean isRunning();
+
+    /** @return the block number of the head, -1 before the first poll. */
+    long getBlockNumber();
+
+    /** @return the hash of the head, null before the first poll. */
+    Hash256 getBlockHash();
+
+    /** @return the class {@link Block Block} of the head, null before the first poll. */
+    Block getHead();
+
+    void addListener(Listener listener);
+
+    void removeListener(Listener listener);
+}
@@ -0,0 +1,73 @@
+package org.aion.api;
+
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.TxArgs;
+import org.aion.base.util.ByteArrayWrapper;
+import org.aion.vm.api.interfaces.Address;
+
+/**
+ * This interface hands out the nonces of one sender account locally, so many threads can sign and
+ * send transactions of the account without asking the kernel for the nonce before each send. The
+ * nonce of the account is read from the kernel once, then every call of {@link #next()} returns a
+ * nonce no other call got. A nonce of a transaction which failed is handed out again before any
+ * new one, so a failed send leaves no gap blocking the later transactions, and the nonce is read
+ * again from the kernel before the next one is handed out.
+ */
+public interface INonceManager {
+
+    /** @return the class {@link Address Address} of the sender account. */
+    Address getAddress();
+
+    /**
+     * Hands out the next nonce of the account, reading the nonce from the kernel first if it was
+     * never read or a transaction failed since it was last read. The nonce must be given back
+     * through {@link #track(BigInteger, CompletableFuture) track} or {@link #release(BigInteger)
+     * release}.
+     *
+     * @return the nonce by the class {@link BigInteger BigInteger} wrapped into ApiMsg. You can
+     *     retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg next();
+
+    /**
+     * Follows the send of a transaction signed with the given nonce. The nonce is handed out again
+     * if the transaction ends in an error or is dropped.
+     *
+     * @param nonce the nonce got from {@link #next()}.
+     * @param rsp the future returned by an async send of {@link ITx ITx}.
+     */
+    void track(BigInteger nonce, CompletableFuture<ApiMsg> rsp);
+
+    /**
+     * Gives back a nonce which was not used, it is handed out again.
+     *
+     * @param nonce the nonce got from {@link #next()}.
+     */
+    void release(BigInteger nonce);
+
+    /**
+     * Reads the nonce of the account from the kernel again. The nonces handed out again below it
+     * are forgotten since the chain used them; while no transaction is followed the kernel nonce
+     * is the next nonce handed out.
+     *
+     * @return the nonce of the account in the kernel by the class {@link BigInteger BigInteger}
+     *     wrapped into ApiMsg. You can retrieve through the method {@link ApiMsg#getObject()
+     *     getObject}.
+     */
+    ApiMsg resync();
+
+    /**
+     * Signs the transaction locally with the next nonce of the account and sends it as {@link
+     * ITx#sendSignedTransactionAsync(TxArgs, ByteArrayWrapper) sendSignedTransactionAsync}, the
+     * send is followed as by {@link #track(BigInteger, CompletableFuture) track}.
+     *
+     * @param args the class {@link TxArgs TxArgs}, its sender and nonce are ignored.
+     * @param key the class {@link ByteArrayWrapper ByteArrayWrapper} represent the private key of
+     *     the account, the key of another account is rejected without taking a nonce.
+     * @return a future of the class {@link org.aion.api.type.MsgRsp MsgRsp} in its end state
+     *     wrapped into ApiMsg.
+     */
+    CompletableFuture<ApiMsg> sendSignedTransactionAsync(TxArgs args, ByteArrayWrapper key);
+}
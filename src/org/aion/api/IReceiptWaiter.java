@@ -0,0 +1,57 @@
+package org.aion.api;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.aion.api.type.ApiMsg;
+import org.aion.base.type.Hash256;
+
+/**
+ * This interface waits for the receipts of many transactions with one loop. It follows the head
+ * through {@link IHeadTracker IHeadTracker} and looks for the waited hashes in the transaction
+ * hashes of every new block, so the kernel is only asked for a receipt once its transaction is
+ * seen in a block. A transaction of a block rolled back by a reorg is waited for again.
+ */
+public interface IReceiptWaiter {
+
+    /**
+     * Starts waiting, the head tracker is started with the given interval if it is not running.
+     *
+     * @param intervalMs the delay between two polls of the head in milliseconds.
+     * @return the boolean value indicating the waiter is running wrapped into ApiMsg. You can
+     *     retrieve through the method {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg start(long intervalMs);
+
+    /**
+     * Stops waiting, the futures not completed yet complete with an error. The head tracker keeps
+     * running.
+     */
+    void stop();
+
+    boolean isRunning();
+
+    /**
+     * Waits for the receipt of a transaction. The future can be cancelled, the hash is then no
+     * longer waited for.
+     *
+     * @param txHash the class {@link Hash256 Hash256} of the transaction.
+     * @param confirmations the number of blocks on top of the block including the transaction
+     *     before the future completes, 0 to complete as soon as it is included.
+     * @return a future of the class {@link org.aion.api.type.TxReceipt TxReceipt} wrapped into
+     *     ApiMsg.
+     */
+    CompletableFuture<ApiMsg> waitFor(Hash256 txHash, int confirmations);
+
+    /**
+     * Batch variant of {@link #waitFor(Hash256, int) waitFor}.
+     *
+     * @param txHashes the list of the class {@link Hash256 Hash256} of the transactions.
+     * @param confirmations the number of blocks on top of the block including a transaction before
+     *     its future completes.
+     * @return the list of futures in the order of the given hashes.
+     */
+    List<CompletableFuture<ApiMsg>> waitFor(List<Hash256> txHashes, int confirmations);
+
+    /** @return the number of futures not completed yet. */
+    int getPending();
+}
@@ -2,6 +2,7 @@ package org.aion.api;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.aion.api.impl.Contract;
 import org.aion.api.type.ApiMsg;
 import org.aion.api.type.CompileResponse;
@@ -9,6 +10,7 @@ import org.aion.api.type.ContractDeploy;
 import org.aion.api.type.ContractEventFilter;
 import org.aion.api.type.DeployResponse;
 import org.aion.api.type.MsgRsp;
+import org.aion.api.type.PreparedTx;
 import org.aion.api.type.TxArgs;
 import org.aion.api.type.TxReceipt;
 import org.aion.base.type.Hash256;
@@ -42,6 +44,18 @@ public interface ITx {
      */
     ApiMsg contractDeploy(ContractDeploy cd);
 
+    /**
+     * Asynchronous variant of {@link #contractDeploy(ContractDeploy) contractDeploy}. The returned
+     * future completes once the deploy transaction reaches an end state; the calling thread is only
+     * held back while the pending transaction limit of the api is reached.
+     *
+     * @param cd the class {@link ContractDeploy ContractDeploy} represent the contract deploy
+     *     arguments. Use the class builder ContractDeployBuilder to create the class object.
+     * @return a future of the class {@link DeployResponse DeployResponse} information wrapped into
+     *     ApiMsg.
+     */
+    CompletableFuture<ApiMsg> contractDeployAsync(ContractDeploy cd);
+
     /**
      * Initiates a call to retrieve the result from a contract.
      *
@@ -79,6 +93,16 @@ public interface ITx {
      */
     ApiMsg getTxReceipt(Hash256 transactionHash);
 
+    /**
+     * Retrieves the transaction receipt given a transaction hash, the fields are decoded from the
+     * response when they are read.
+     *
+     * @param transactionHash the 32 bytes hash represent by the class {@link Hash256 Hash256}.
+     * @return the class {@link org.aion.api.type.TxReceiptView TxReceiptView} wrapped into ApiMsg.
+     *     You can retrieve through {@link ApiMsg#getObject() getObject}.
+     */
+    ApiMsg getTxReceiptView(Hash256 transactionHash);
+
     /**
      * Initiates a transaction given a class of type {@link TxArgs TxArgs}. This function provides
      * no functionality to assist with encoding or decoding transaction data. Users may choose to
@@ -126,6 +150,99 @@ public interface ITx {
      */
     ApiMsg sendRawTransaction(ByteArrayWrapper tx);
 
+    /**
+     * Asynchronous variant of {@link #sendTransaction(TxArgs) sendTransaction}. The returned future
+     * completes once the transaction is included or dropped, or fails in the backend; the calling
+     * thread is only held back while the pending transaction limit of the api is reached. Dependent
+     * stages should not block, use the async composition methods of the future for long tasks.
+     *
+     * @param args given a class {@link TxArgs TxArgs} created by the builder class {@link
+     *     org.aion.api.type.TxArgs.TxArgsBuilder TxArgsBuilder}.
+     * @return a future of the class {@link MsgRsp MsgRsp} in its end state wrapped into ApiMsg.
+     * @see MsgRsp
+     */
+    CompletableFuture<ApiMsg> sendTransactionAsync(TxArgs args);
+
+    /**
+     * Encodes the sendTransaction request of the given {@link TxArgs TxArgs} once, for a
+     * transaction that is sent repeatedly. The returned object holds no state of this interface,
+     * it can be sent any number of times and from many threads sharing the api.
+     *
+     * @param args the class {@link TxArgs TxArgs} represent the Transaction arguments.
+     * @return the class {@link PreparedTx PreparedTx} represent the encoded request.
+     * @see #sendPreparedTransaction(PreparedTx)
+     */
+    PreparedTx prepareTransaction(TxArgs args);
+
+    /**
+     * Initiates a transaction from a request prepared by {@link #prepareTransaction(TxArgs)
+     * prepareTransaction}.
+     *
+     * @param tx the class {@link PreparedTx PreparedTx} represent the encoded request.
+     * @return the class {@link MsgRsp MessageResponse} returned from backend and the current
+     *     progress in the backend wrapped into ApiMsg. You can retrieve through {@link
+     *     ApiMsg#getObject() getObject}.
+     * @see MsgRsp
+     */
+    ApiMsg sendPreparedTransaction(PreparedTx tx);
+
+    /**
+     * Asynchronous variant of {@link #sendPreparedTransaction(PreparedTx) sendPreparedTransaction}.
+     *
+     * @param tx the class {@link PreparedTx PreparedTx} represent the encoded request.
+     * @return a future of the class {@link MsgRsp MsgRsp} in its end state wrapped into ApiMsg.
+     * @see #sendTransactionAsync(TxArgs)
+     */
+    CompletableFuture<ApiMsg> sendPreparedTransactionAsync(PreparedTx tx);
+
+    /**
+     * Asynchronous variant of {@link #sendSignedTransaction(TxArgs, ByteArrayWrapper)
+     * sendSignedTransaction}.
+     *
+     * @param args given a class {@link TxArgs TxArgs} created by the builder class {@link
+     *     org.aion.api.type.TxArgs.TxArgsBuilder TxArgsBuilder}.
+     * @param key the class {@link ByteArrayWrapper ByteArrayWrapper} represent the sender's private
+     *     key.
+     * @return a future of the class {@link MsgRsp MsgRsp} in its end state wrapped into ApiMsg.
+     * @see #sendTransactionAsync(TxArgs)
+     */
+    CompletableFuture<ApiMsg> sendSignedTransactionAsync(TxArgs args, ByteArrayWrapper key);
+
+    /**
+     * Asynchronous variant of {@link #sendRawTransaction(ByteArrayWrapper) sendRawTransaction}.
+     *
+     * @param tx given a class {@link ByteArrayWrapper ByteArrayWrapper} represent the encoded
+     *     transaction byte array with the sender's signature.
+     * @return a future of the class {@link MsgRsp MsgRsp} in its end state wrapped into ApiMsg.
+     * @see #sendTransactionAsync(TxArgs)
+     */
+    CompletableFuture<ApiMsg> sendRawTransactionAsync(ByteArrayWrapper tx);
+
+    /**
+     * Initiates many transactions in one call. Every request is encoded up front and the batch is
+     * queued at once, then each transaction completes on its own as in {@link
+     * #sendTransactionAsync(TxArgs) sendTransactionAsync}. The calling thread is only held back
+     * while the pending transaction limit of the api is reached.
+     *
+     * @param args the list of the class {@link TxArgs TxArgs}, a null entry fails on its own.
+     * @return the list of futures, in the order of the given arguments, of the class {@link MsgRsp
+     *     MsgRsp} in its end state wrapped into ApiMsg.
+     * @see MsgRsp
+     */
+    List<CompletableFuture<ApiMsg>> sendTransactions(List<TxArgs> args);
+
+    /**
+     * Batch variant of {@link #sendRawTransaction(ByteArrayWrapper) sendRawTransaction}, see
+     * {@link #sendTransactions(List) sendTransactions}.
+     *
+     * @param txs the list of the class {@link ByteArrayWrapper ByteArrayWrapper} represent the
+     *     encoded transaction byte arrays with the sender's signature.
+     * @return the list of futures, in the order of the given transactions, of the class {@link
+     *     MsgRsp MsgRsp} in its end state wrapped into ApiMsg.
+     * @see MsgRsp
+     */
+    List<CompletableFuture<ApiMsg>> sendRawTransactions(List<ByteArrayWrapper> txs);
+
     /**
      * Sends the source code to be compiled in the backend, and returns all relevant information
      * about the compiled code. Will throw if backend compiler is unavailable or code is improperly
@@ -187,6 +304,10 @@ public interface ITx {
      * encoding or decoding transaction data. Users may choose to either use the more convenient
      * {@link Contract Contract} class for contract transactions.
      *
+     * <p>The request is kept in this interface and sent by a following sendTransaction(null), so
+     * it is shared by every thread using the api. Use {@link #prepareTransaction(TxArgs)
+     * prepareTransaction} instead.
+     *
      * @param args the class {@link TxArgs TxArgs} represent the Transaction arguments.
      */
     void fastTxbuild(TxArgs args);
@@ -198,7 +319,9 @@ public interface ITx {
      * Contract object for contract transactions.
      *
      * @param args the class {@link TxArgs TxArgs} represent the Transaction arguments.
-     * @param call the boolean value represent the function of the contract is a call function.
+     * @param call the boolean value represent the function of the contract is a call function. It
+     *     is no longer used, the request is built the same way in both cases.
+     * @see #fastTxbuild(TxArgs)
      */
     void fastTxbuild(TxArgs args, boolean call);
 
@@ -10,6 +10,8 @@ public abstract class Cfg {
 
     protected CfgConnect connect;
     protected CfgLog log;
+    protected CfgWorker worker;
+    protected CfgCache cache;
     protected Boolean secureConnectEnabled;
 
     public abstract boolean fromXML();
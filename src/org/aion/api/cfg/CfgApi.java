@@ -14,6 +14,8 @@ public class CfgApi extends Cfg {
 
     private CfgApi() {
         this.log = new CfgLog();
+        this.worker = new CfgWorker();
+        this.cache = new CfgCache();
         this.secureConnectEnabled = false;
 
         // TODO :: test and open it later.
@@ -44,6 +46,22 @@ public class CfgApi extends Cfg {
         this.connect = _cnt;
     }
 
+    public CfgWorker getWorker() {
+        return this.worker;
+    }
+
+    public void setWorker(CfgWorker _worker) {
+        this.worker = _worker;
+    }
+
+    public CfgCache getCache() {
+        return this.cache;
+    }
+
+    public void setCache(CfgCache _cache) {
+        this.cache = _cache;
+    }
+
     public boolean isSecureConnectEnabled() {
         return this.secureConnectEnabled;
     }
@@ -74,6 +92,12 @@ public class CfgApi extends Cfg {
                             case "connect":
                                 // this.connect.fromXML(sr);
                                 break;
+                            case "workers":
+                                this.worker.fromXML(sr);
+                                break;
+                            case "cache":
+                                this.cache.fromXML(sr);
+                                break;
                             case "secure-connect":
                                 secureConnectEnabled = Boolean.parseBoolean(Cfg.readValue(sr));
                                 break;
@@ -130,6 +154,8 @@ public class CfgApi extends Cfg {
 
             this.log = new CfgLog();
             sw.writeCharacters(this.log.toXML());
+            sw.writeCharacters(this.worker.toXML());
+            sw.writeCharacters(this.cache.toXML());
             // sw.writeCharacters(this.getConnect().toXML());
 
             sw.writeCharacters("\r\n");
@@ -0,0 +1,134 @@
+package org.aion.api.cfg;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/** Client side cache of the confirmed blocks, transactions and receipts. */
+public class CfgCache {
+
+    // off by default, every read goes to the kernel.
+    private boolean enabled;
+    // upper bound of the cached objects.
+    private int maxEntries;
+    // upper bound of the estimated size of the cached objects, in bytes.
+    private long maxBytes;
+    // blocks below the head by at least this many blocks are cached, the rest can still change.
+    private int confirmations;
+
+    CfgCache() {
+        this.enabled = false;
+        this.maxEntries = 10_000;
+        this.maxBytes = 64L << 20;
+        this.confirmations = 30;
+    }
+
+    void fromXML(final XMLStreamReader sr) throws XMLStreamException {
+        loop:
+        while (sr.hasNext()) {
+            int eventType = sr.next();
+            switch (eventType) {
+                case XMLStreamReader.START_ELEMENT:
+                    String elementName = sr.getLocalName().toLowerCase();
+                    switch (elementName) {
+                        case "enabled":
+                            this.enabled = Boolean.parseBoolean(Cfg.readValue(sr).trim());
+                            break;
+                        case "max-entries":
+                            this.maxEntries = Integer.parseInt(Cfg.readValue(sr).trim());
+                            break;
+                        case "max-bytes":
+                            this.maxBytes = Long.parseLong(Cfg.readValue(sr).trim());
+                            break;
+                        case "confirmations":
+                            this.confirmations = Integer.parseInt(Cfg.readValue(sr).trim());
+                            break;
+                        default:
+                            Cfg.skipElement(sr);
+                            break;
+                    }
+                    break;
+                case XMLStreamReader.END_ELEMENT:
+                    break loop;
+                default:
+                    break;
+            }
+        }
+    }
+
+    String toXML() {
+        final XMLOutputFactory output = XMLOutputFactory.newInstance();
+        XMLStreamWriter xmlWriter;
+        String xml;
+        try {
+            Writer strWriter = new StringWriter();
+            xmlWriter = output.createXMLStreamWriter(strWriter);
+            xmlWriter.writeCharacters("\r\n\t");
+            xmlWriter.writeStartElement("cache");
+            xmlWriter.writeCharacters("\r\n\t\t");
+            xmlWriter.writeStartElement("enabled");
+            xmlWriter.writeCharacters(String.valueOf(this.enabled));
+            xmlWriter.writeEndElement();
+            xmlWriter.writeCharacters("\r\n\t\t");
+            xmlWriter.writeStartElement("max-entries");
+            xmlWriter.writeCharacters(String.valueOf(this.maxEntries));
+            xmlWriter.writeEndElement();
+            xmlWriter.writeCharacters("\r\n\t\t");
+            xmlWriter.writeStartElement("max-bytes");
+            xmlWriter.writeCharacters(String.valueOf(this.maxBytes));
+            xmlWriter.writeEndElement();
+            xmlWriter.writeCharacters("\r\n\t\t");
+            xmlWriter.writeStartElement("confirmations");
+            xmlWriter.writeCharacters(String.valueOf(this.confirmations));
+            xmlWriter.writeEndElement();
+            xmlWriter.writeCharacters("\r\n\t");
+            xmlWriter.writeEndElement();
+            xml = strWriter.toString();
+            strWriter.flush();
+            strWriter.close();
+            xmlWriter.flush();
+            xmlWriter.close();
+            return xml;
+        } catch (IOException | XMLStreamException e) {
+            return "";
+        }
+    }
+
+    // getters
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getMaxEntries() {
+        return Math.max(this.maxEntries, 1);
+    }
+
+    public long getMaxBytes() {
+        return Math.max(this.maxBytes, 1);
+    }
+
+    public int getConfirmations() {
+        return Math.max(this.confirmations, 0);
+    }
+
+    // setters
+    public void setEnabled(boolean _enabled) {
+        this.enabled = _enabled;
+    }
+
+    public void setMaxEntries(int _maxEntries) {
+        this.maxEntries = _maxEntries;
+    }
+
+    public void setMaxBytes(long _maxBytes) {
+        this.maxBytes = _maxBytes;
+    }
+
+    public void setConfirmations(int _confirmations) {
+        this.confirmations = _confirmations;
+    }
+}
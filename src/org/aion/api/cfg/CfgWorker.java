@@ -0,0 +1,118 @@
+package org.aion.api.cfg;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/** Worker threads sending the transaction requests to the kernel. */
+public class CfgWorker {
+
+    // upper bound of the worker threads, 0 picks half of the available processors.
+    private int max;
+    // requests each worker keeps in flight to the kernel.
+    private int outstanding;
+    // start more workers, up to max, while the request queue builds up.
+    private boolean autoScale;
+
+    CfgWorker() {
+        this.max = 0;
+        this.outstanding = 32;
+        this.autoScale = false;
+    }
+
+    void fromXML(final XMLStreamReader sr) throws XMLStreamException {
+        loop:
+        while (sr.hasNext()) {
+            int eventType = sr.next();
+            switch (eventType) {
+                case XMLStreamReader.START_ELEMENT:
+                    String elementName = sr.getLocalName().toLowerCase();
+                    switch (elementName) {
+                        case "max":
+                            this.max = Integer.parseInt(Cfg.readValue(sr).trim());
+                            break;
+                        case "outstanding":
+                            this.outstanding = Integer.parseInt(Cfg.readValue(sr).trim());
+                            break;
+                        case "auto-scale":
+                            this.autoScale = Boolean.parseBoolean(Cfg.readValue(sr).trim());
+                            break;
+                        default:
+                            Cfg.skipElement(sr);
+                            break;
+                    }
+                    break;
+                case XMLStreamReader.END_ELEMENT:
+                    break loop;
+                default:
+                    break;
+            }
+        }
+    }
+
+    String toXML() {
+        final XMLOutputFactory output = XMLOutputFactory.newInstance();
+        XMLStreamWriter xmlWriter;
+        String xml;
+        try {
+            Writer strWriter = new StringWriter();
+            xmlWriter = output.createXMLStreamWriter(strWriter);
+            xmlWriter.writeCharacters("\r\n\t");
+            xmlWriter.writeStartElement("workers");
+            xmlWriter.writeCharacters("\r\n\t\t");
+            xmlWriter.writeStartElement("max");
+            xmlWriter.writeCharacters(String.valueOf(this.max));
+            xmlWriter.writeEndElement();
+            xmlWriter.writeCharacters("\r\n\t\t");
+            xmlWriter.writeStartElement("outstanding");
+            xmlWriter.writeCharacters(String.valueOf(this.outstanding));
+            xmlWriter.writeEndElement();
+            xmlWriter.writeCharacters("\r\n\t\t");
+            xmlWriter.writeStartElement("auto-scale");
+            xmlWriter.writeCharacters(String.valueOf(this.autoScale));
+            xmlWriter.writeEndElement();
+            xmlWriter.writeCharacters("\r\n\t");
+            xmlWriter.writeEndElement();
+            xml = strWriter.toString();
+            strWriter.flush();
+            strWriter.close();
+            xmlWriter.flush();
+            xmlWriter.close();
+            return xml;
+        } catch (IOException | XMLStreamException e) {
+            return "";
+        }
+    }
+
+    // getters
+    public int getMax() {
+        return this.max > 0
+                ? this.max
+                : Math.max(Runtime.getRuntime().availableProcessors() >> 1, 1);
+    }
+
+    public int getOutstanding() {
+        return Math.max(this.outstanding, 1);
+    }
+
+    public boolean isAutoScale() {
+        return this.autoScale;
+    }
+
+    // setters
+    public void setMax(int _max) {
+        this.max = _max;
+    }
+
+    public void setOutstanding(int _outstanding) {
+        this.outstanding = _outstanding;
+    }
+
+    public void setAutoScale(boolean _autoScale) {
+        this.autoScale = _autoScale;
+    }
+}
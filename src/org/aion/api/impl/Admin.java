@@ -5,17 +5,22 @@ import static java.lang.Math.min;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.aion.api.IAdmin;
 import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.ConvertingList;
 import org.aion.api.impl.internal.Message;
 import org.aion.api.impl.internal.Message.Funcs;
 import org.aion.api.impl.internal.Message.rsp_getBlockDetailsByHash;
+import org.aion.api.impl.internal.RangeFetcher;
+import org.aion.api.impl.internal.ViewFactory;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
 import org.aion.api.type.AccountDetails;
@@ -33,6 +38,8 @@ import org.slf4j.Logger;
 public class Admin implements IAdmin {
 
     private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.ADM.name());
+    // the kernel returns at most this number of blocks for a range.
+    private static final int RANGE_MAX = 1000;
     private AionAPIImpl apiInst;
 
     Admin(AionAPIImpl inst) {
@@ -167,9 +174,16 @@ public class Admin implements IAdmin {
         return addressList;
     }
 
-    @SuppressWarnings("Duplicates")
     @Override
     public ApiMsg getBlockSqlByRange(Long blkStart, Long blkEnd) {
+        return getBlockSqlByRange(blkStart, blkEnd, ApiUtils::toBlockSql);
+    }
+
+    @SuppressWarnings("Duplicates")
+    private ApiMsg getBlockSqlByRange(
+            Long blkStart,
+            Long blkEnd,
+            Function<List<Message.t_BlockSql>, List<BlockSql>> convert) {
         if (!this.apiInst.isConnected()) {
             return new ApiMsg(-1003);
         }
@@ -203,12 +217,12 @@ public class Admin implements IAdmin {
 
         try {
             List<BlockSql> k =
-                    ApiUtils.toBlockSql(
+                    convert.apply(
                             Message.rsp_getBlockSqlByRange
-                                    .parseFrom(ApiUtils.parseBody(rsp).getData())
+                                    .parseFrom(ApiUtils.bodyInput(rsp))
                                     .getBlkSqlList());
             return new ApiMsg(k, org.aion.api.type.ApiMsg.cast.OTHERS);
-        } catch (InvalidProtocolBufferException e) {
+        } catch (IOException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[getBlockSqlByRange]" + ErrId.getErrString(-104L) + e.getMessage());
             }
@@ -216,9 +230,14 @@ public class Admin implements IAdmin {
         }
     }
 
-    @SuppressWarnings("Duplicates")
     @Override
     public ApiMsg getBlockDetailsByRange(Long blkStart, Long blkEnd) {
+        return getBlockDetailsByRange(blkStart, blkEnd, ApiUtils::toBlockDetails);
+    }
+
+    @SuppressWarnings("Duplicates")
+    private ApiMsg getBlockDetailsByRange(
+            Long blkStart, Long blkEnd, Function<List<Message.t_BlockDetail>, List<?>> convert) {
         if (!this.apiInst.isConnected()) {
             return new ApiMsg(-1003);
         }
@@ -251,13 +270,13 @@ public class Admin implements IAdmin {
         }
 
         try {
-            List<BlockDetails> k =
-                    ApiUtils.toBlockDetails(
+            List<?> k =
+                    convert.apply(
                             Message.rsp_getBlockDetailsByRange
-                                    .parseFrom(ApiUtils.parseBody(rsp).getData())
+                                    .parseFrom(ApiUtils.bodyInput(rsp))
                                     .getBlkDetailsList());
             return new ApiMsg(k, org.aion.api.type.ApiMsg.cast.OTHERS);
-        } catch (InvalidProtocolBufferException e) {
+        } catch (IOException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error(
                         "[getBlockDetailsByRange]" + ErrId.getErrString(-104L) + e.getMessage());
@@ -266,6 +285,75 @@ public class Admin implements IAdmin {
         }
     }
 
+    @Override
+    public ApiMsg getBlockDetailsByRange(long blkStart, long blkEnd, int chunkSize, int parallel) {
+        return getBlockDetailsByRange(blkStart, blkEnd, chunkSize, parallel, true);
+    }
+
+    @Override
+    public ApiMsg getBlockDetailsByRange(
+            long blkStart, long blkEnd, int chunkSize, int parallel, boolean withTxLogs) {
+        return rangeFetch(
+                "[getBlockDetailsByRange]",
+                blkStart,
+                blkEnd,
+                chunkSize,
+                parallel,
+                (s, e) ->
+                        getBlockDetailsByRange(
+                                s, e, l -> ApiUtils.toBlockDetailsView(l, withTxLogs)));
+    }
+
+    @Override
+    public ApiMsg getBlockDetailsViewByRange(
+            long blkStart, long blkEnd, int chunkSize, int parallel) {
+        return rangeFetch(
+                "[getBlockDetailsViewByRange]",
+                blkStart,
+                blkEnd,
+                chunkSize,
+                parallel,
+                (s, e) ->
+                        getBlockDetailsByRange(
+                                s,
+                                e,
+                                l -> new ConvertingList<>(l, ViewFactory::toBlockDetailsView)));
+    }
+
+    @Override
+    public ApiMsg getBlockSqlByRange(long blkStart, long blkEnd, int chunkSize, int parallel) {
+        return rangeFetch(
+                "[getBlockSqlByRange]",
+                blkStart,
+                blkEnd,
+                chunkSize,
+                parallel,
+                (s, e) -> getBlockSqlByRange(s, e, ApiUtils::toBlockSqlView));
+    }
+
+    private ApiMsg rangeFetch(
+            String method,
+            long blkStart,
+            long blkEnd,
+            int chunkSize,
+            int parallel,
+            RangeFetcher.Chunk chunk) {
+        if (!this.apiInst.isConnected()) {
+            return new ApiMsg(-1003);
+        }
+
+        if (blkStart < 0 || blkEnd < blkStart || chunkSize <= 0 || parallel <= 0) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(method + ErrId.getErrString(-17L));
+            }
+            return new ApiMsg(-17);
+        }
+
+        return new ApiMsg(
+                new RangeFetcher<>(blkStart, blkEnd, min(chunkSize, RANGE_MAX), parallel, chunk),
+                cast.OTHERS);
+    }
+
     @Override
     public ApiMsg getBlockDetailsByNumber(List<Long> blks) {
         if (!this.apiInst.isConnected()) {
@@ -1,17 +1,26 @@
 package org.aion.api.impl;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aion.api.IAccount;
 import org.aion.api.IAdmin;
 import org.aion.api.IAionAPI;
 import org.aion.api.IChain;
 import org.aion.api.IContractController;
+import org.aion.api.IHeadTracker;
 import org.aion.api.IMine;
 import org.aion.api.INet;
+import org.aion.api.INonceManager;
+import org.aion.api.IReceiptWaiter;
 import org.aion.api.ITx;
 import org.aion.api.IUtils;
 import org.aion.api.IWallet;
+import org.aion.api.cfg.CfgApi;
+import org.aion.api.cfg.CfgCache;
 import org.aion.api.type.ApiMsg;
+import org.aion.api.type.CacheStats;
+import org.aion.vm.api.interfaces.Address;
 
 /**
  * Nucoapi base class, contains the majority of Aion frontend Java APIs. High chance of finding what
@@ -32,6 +41,9 @@ public final class AionAPIImpl extends ApiBase implements IAionAPI {
     private IAccount account;
     private IAdmin admin;
     private IContractController controller;
+    private HeadTracker headTracker;
+    private ReceiptWaiter receiptWaiter;
+    private final Map<Address, NonceManager> nonceManagers = new ConcurrentHashMap<>();
 
     public static IAionAPI inst() {
         return new AionAPIImpl();
@@ -48,6 +60,17 @@ public final class AionAPIImpl extends ApiBase implements IAionAPI {
         controller = new ContractController(this);
         mine = new Mine(this);
         admin = new Admin(this);
+        headTracker = new HeadTracker(this);
+        receiptWaiter = new ReceiptWaiter(this);
+
+        CfgCache cfgCache = CfgApi.inst().getCache();
+        if (cfgCache.isEnabled()) {
+            chainCache =
+                    new ChainCache(
+                            cfgCache,
+                            () -> supplyAsync(chain::blockNumber),
+                            headTracker::isRunning);
+        }
     }
 
     public boolean isConnected() {
@@ -158,6 +181,29 @@ public final class AionAPIImpl extends ApiBase implements IAionAPI {
         return this.controller;
     }
 
+    @Override
+    public IHeadTracker getHeadTracker() {
+        return this.headTracker;
+    }
+
+    @Override
+    public IReceiptWaiter getReceiptWaiter() {
+        return this.receiptWaiter;
+    }
+
+    @Override
+    public CacheStats getCacheStats() {
+        return this.chainCache != null ? this.chainCache.stats() : new CacheStats(0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public INonceManager getNonceManager(Address sender) {
+        if (sender == null) {
+            throw new NullPointerException();
+        }
+        return this.nonceManagers.computeIfAbsent(sender, a -> new NonceManager(this, a));
+    }
+
     @Override
     public ApiMsg destroyApi() {
 
@@ -169,6 +215,10 @@ public final class AionAPIImpl extends ApiBase implements IAionAPI {
             getContractController().clear();
         }
 
+        this.receiptWaiter.stop();
+        this.headTracker.stop();
+        this.nonceManagers.clear();
+
         return destroyApiBase();
     }
 }
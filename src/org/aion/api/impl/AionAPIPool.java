@@ -0,0 +1,188 @@
+package org.aion.api.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.api.IAionAPI;
+import org.aion.api.IAionAPIPool;
+import org.aion.api.cfg.CfgApi;
+import org.aion.api.log.AionLoggerFactory;
+import org.aion.api.log.LogEnum;
+import org.aion.api.type.ApiMsg;
+import org.aion.vm.api.interfaces.Address;
+import org.slf4j.Logger;
+
+/**
+ * Pool of api connections to one or more kernels. Every connection is a regular {@link
+ * AionAPIImpl} with its own executor, the pool only picks one per request. The health of a
+ * connection is the one its executor learns from the heartbeat, so the pool adds no traffic.
+ */
+public final class AionAPIPool implements IAionAPIPool {
+
+    private final Logger LOGGER;
+    private final Balance balance;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<AionAPIImpl> members = Collections.emptyList();
+
+    public static IAionAPIPool inst(Balance balance) {
+        return new AionAPIPool(balance);
+    }
+
+    private AionAPIPool(Balance balance) {
+        if (balance == null) {
+            throw new NullPointerException();
+        }
+
+        AionLoggerFactory.init(CfgApi.inst().getLog().getModules());
+        this.LOGGER = AionLoggerFactory.getLogger(LogEnum.BSE.name());
+        this.balance = balance;
+    }
+
+    @Override
+    public ApiMsg connect(List<String> urls) {
+        return connect(urls, 1, false, 1, 300_000, null);
+    }
+
+    @Override
+    public synchronized ApiMsg connect(
+            List<String> urls,
+            int connections,
+            boolean reconnect,
+            int worker,
+            int timeout,
+            String pubkey) {
+        if (urls == null || urls.isEmpty() || urls.contains(null)) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[connect]" + ErrId.getErrString(-1004L));
+            }
+            return new ApiMsg(-1004, false, ApiMsg.cast.BOOLEAN);
+        }
+
+        if (!this.members.isEmpty()) {
+            destroyApi();
+        }
+
+        List<AionAPIImpl> connected = new ArrayList<>(urls.size() * Math.max(connections, 1));
+        for (String url : urls) {
+            for (int i = 0; i < Math.max(connections, 1); i++) {
+                AionAPIImpl api = (AionAPIImpl) AionAPIImpl.inst();
+                ApiMsg msg = api.connect(url, reconnect, worker, timeout, pubkey);
+                if (msg.isError()) {
+                    if (LOGGER.isErrorEnabled()) {
+                        LOGGER.error("[connect] Connect to [{}] failed.", url);
+                    }
+                    continue;
+                }
+                connected.add(api);
+            }
+        }
+
+        if (connected.isEmpty()) {
+            return new ApiMsg(-1009, false, ApiMsg.cast.BOOLEAN);
+        }
+
+        this.members = Collections.unmodifiableList(connected);
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("[connect] Pool connected, [{}] connections", connected.size());
+        }
+        return new ApiMsg(true, ApiMsg.cast.BOOLEAN);
+    }
+
+    @Override
+    public synchronized ApiMsg destroyApi() {
+        List<AionAPIImpl> apis = this.members;
+        if (apis.isEmpty()) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[destroyApi]" + ErrId.getErrString(-1003L));
+            }
+            return new ApiMsg(-1003, false, ApiMsg.cast.BOOLEAN);
+        }
+
+        this.members = Collections.emptyList();
+        for (AionAPIImpl api : apis) {
+            api.destroyApi();
+        }
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("[destroyApi] Pool destroyed");
+        }
+        return new ApiMsg(true, ApiMsg.cast.BOOLEAN);
+    }
+
+    @Override
+    public boolean isConnected() {
+        for (AionAPIImpl api : this.members) {
+            if (api.isHealthy()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public IAionAPI get() {
+        List<AionAPIImpl> apis = this.members;
+        if (apis.isEmpty()) {
+            return null;
+        }
+
+        int start = Math.floorMod(this.next.getAndIncrement(), apis.size());
+        return this.balance == Balance.LEAST_OUTSTANDING
+                ? leastOutstanding(apis, start)
+                : firstHealthy(apis, start);
+    }
+
+    @Override
+    public IAionAPI getForSender(Address sender) {
+        if (sender == null) {
+            throw new NullPointerException();
+        }
+
+        List<AionAPIImpl> apis = this.members;
+        if (apis.isEmpty()) {
+            return null;
+        }
+
+        // the home connection of a sender only depends on its address and the pool size.
+        int h = Arrays.hashCode(sender.toBytes()) * 0x9E3779B9;
+        return firstHealthy(apis, Math.floorMod(h ^ (h >>> 16), apis.size()));
+    }
+
+    @Override
+    public List<IAionAPI> getAll() {
+        return Collections.unmodifiableList(this.members);
+    }
+
+    // falls back on the start connection when none is healthy, its calls report the failure.
+    private static AionAPIImpl firstHealthy(List<AionAPIImpl> apis, int start) {
+        for (int i = 0; i < apis.size(); i++) {
+            AionAPIImpl api = apis.get((start + i) % apis.size());
+            if (api.isHealthy()) {
+                return api;
+            }
+        }
+        return apis.get(start);
+    }
+
+    // scans from a rotating start, so ties don't always go to the same connection.
+    private static AionAPIImpl leastOutstanding(List<AionAPIImpl> apis, int start) {
+        AionAPIImpl best = null;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < apis.size(); i++) {
+            AionAPIImpl api = apis.get((start + i) % apis.size());
+            if (!api.isHealthy()) {
+                continue;
+            }
+
+            int n = api.outstanding();
+            if (n < min) {
+                min = n;
+                best = api;
+            }
+        }
+        return best != null ? best : apis.get(start);
+    }
+}
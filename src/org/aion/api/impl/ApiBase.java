@@ -2,12 +2,21 @@ package org.aion.api.impl;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import org.aion.api.IUtils;
 import org.aion.api.cfg.CfgApi;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.impl.internal.Message;
+import org.aion.api.impl.internal.SingleFlight;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
 import org.aion.api.type.ApiMsg;
@@ -17,13 +26,57 @@ import org.aion.base.type.AionAddress;
 import org.aion.base.util.ByteArrayWrapper;
 import org.aion.vm.api.interfaces.Address;
 import org.slf4j.Logger;
-import org.zeromq.ZMQ;
 
 /** Created by Jay Tseng on 14/11/16. */
 public class ApiBase {
 
+    // the functions reading the kernel state only, by wire number; their identical requests are
+    // coalesced.
+    private static final boolean[] READS = new boolean[256];
+
+    static {
+        for (Message.Funcs f :
+                new Message.Funcs[] {
+                    Message.Funcs.f_blockNumber,
+                    Message.Funcs.f_getBalance,
+                    Message.Funcs.f_getNonce,
+                    Message.Funcs.f_getStorageAt,
+                    Message.Funcs.f_getCode,
+                    Message.Funcs.f_call,
+                    Message.Funcs.f_estimateNrg,
+                    Message.Funcs.f_getNrgPrice,
+                    Message.Funcs.f_getTransactionCount,
+                    Message.Funcs.f_getTransactionByHash,
+                    Message.Funcs.f_getTransactionByBlockHashAndIndex,
+                    Message.Funcs.f_getTransactionByBlockNumberAndIndex,
+                    Message.Funcs.f_getTransactionReceipt,
+                    Message.Funcs.f_getBlockByHash,
+                    Message.Funcs.f_getBlockByNumber,
+                    Message.Funcs.f_getBlockTransactionCountByHash,
+                    Message.Funcs.f_getBlockTransactionCountByNumber,
+                    Message.Funcs.f_getBlockHeaderByHash,
+                    Message.Funcs.f_getBlockHeaderByNumber,
+                    Message.Funcs.f_getBlockDetailsByHash,
+                    Message.Funcs.f_getBlockDetailsByNumber,
+                    Message.Funcs.f_getBlockDetailsByLatest,
+                    Message.Funcs.f_getBlocksByLatest,
+                    Message.Funcs.f_getBlockDetailsByRange,
+                    Message.Funcs.f_getBlockSqlByRange,
+                    Message.Funcs.f_getBlockReward,
+                    Message.Funcs.f_getCurrentTotalDifficulty,
+                    Message.Funcs.f_getAccountDetailsByAddressList
+                }) {
+            READS[f.getNumber()] = true;
+        }
+    }
+
+    // the threads running the blocking calls of the async methods, never the common pool.
+    private static final int ASYNC_THREADS = 4;
+    private static final long ASYNC_IDLE_MS = 60_000;
+
     protected final Logger LOGGER;
     private final int SLEEPTIME = 3000;
+    private final SingleFlight<ByteArrayWrapper, byte[]> reads = new SingleFlight<>();
     AtomicBoolean isInitialized = new AtomicBoolean(false);
     // END PRIVATE MEMBERS --------------------------------------------
     Address minerAddress;
@@ -33,7 +86,11 @@ public class ApiBase {
     int timeout = 300_000;
     MsgExecutor msgExecutor;
     boolean recon = false;
+    // null unless the cache is enabled in the config.
+    ChainCache chainCache;
     private CfgApi cfg;
+    // null while not connected.
+    private volatile ExecutorService asyncPool;
 
     ApiBase() {
         cfg = CfgApi.inst();
@@ -96,20 +153,21 @@ public class ApiBase {
             timeout = 60_000;
         }
 
-        int numProcs = Math.max(Runtime.getRuntime().availableProcessors() >> 1, 1);
+        int maxWorkers = this.cfg.getWorker().getMax();
 
-        if (workers > numProcs) {
-            workers = numProcs;
+        if (workers > maxWorkers) {
+            workers = maxWorkers;
             if (LOGGER.isInfoEnabled()) {
-                LOGGER.info("[connect]" + " Workers adjust to [{}]", numProcs);
+                LOGGER.info("[connect]" + " Workers adjust to [{}]", maxWorkers);
             }
         }
 
         int retry = 10;
         while (!isInitialized.get()) {
             if (this.msgExecutor == null) {
-                this.msgExecutor = new MsgExecutor(ApiUtils.PROTOCOL_VER, url, timeout, pubkey);
-                this.msgExecutor.start(workers);
+                this.msgExecutor =
+                        new MsgExecutor(ApiUtils.PROTOCOL_VER, url, timeout, pubkey, this.recon);
+                this.msgExecutor.start(workers, this.cfg.getWorker());
             }
 
             try {
@@ -143,6 +201,7 @@ public class ApiBase {
         }
 
         this.url = url;
+        this.asyncPool = newAsyncPool();
 
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("[connect]" + " Api connected");
@@ -158,9 +217,20 @@ public class ApiBase {
             return new ApiMsg(-1003, false, org.aion.api.type.ApiMsg.cast.BOOLEAN);
         }
 
+        ExecutorService pool = this.asyncPool;
+        this.asyncPool = null;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+
         this.msgExecutor.terminate();
         this.msgExecutor = null;
 
+        // the next connect may reach another chain.
+        if (this.chainCache != null) {
+            this.chainCache.clear();
+        }
+
         this.isInitialized.set(false);
 
         if (LOGGER.isInfoEnabled()) {
@@ -199,19 +269,92 @@ public class ApiBase {
         }
     }
 
+    CompletableFuture<MsgRsp> asyncTx(byte[] hash, byte[] req) {
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "[asyncTx] MsgHash: [{}], reqmsg: [{}]",
+                    IUtils.bytes2Hex(hash),
+                    IUtils.bytes2Hex(req));
+        }
+
+        // hold the caller back while the pending tx table is full.
+        return this.msgExecutor.aSyncSend(hash, req, true);
+    }
+
+    List<CompletableFuture<MsgRsp>> asyncTxs(List<byte[]> hashes, List<byte[]> reqs) {
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("[asyncTxs] batch size: [{}]", reqs.size());
+        }
+
+        return this.msgExecutor.aSyncSendAll(hashes, reqs);
+    }
+
     byte[] nbProcess(byte[] reqHdr) {
         this.nb = false;
-        this.msgExecutor.getNbSocket().send(reqHdr, ZMQ.DONTWAIT);
+        if (reqHdr.length < ApiUtils.REQ_HEADER_NOHASH_LEN || !READS[reqHdr[2] & 0xff]) {
+            return this.msgExecutor.syncSend(reqHdr);
+        }
 
-        while (this.msgExecutor.isInitialized.get()) {
-            byte[] data = this.msgExecutor.getNbSocket().recv(0);
+        // the same read asked by many threads at once goes to the kernel once.
+        return this.reads.run(
+                ByteArrayWrapper.wrap(reqHdr), () -> this.msgExecutor.syncSend(reqHdr));
+    }
 
-            if (data != null) {
-                return data;
+    /**
+     * Asynchronous variant of {@link #nbProcess(byte[])}. A function the kernel echoes the msg hash
+     * of is completed by the rpc reader, any other is sent from the api pool.
+     *
+     * @return a future of the response, completed with null if the call is not answered.
+     */
+    CompletableFuture<byte[]> nbProcessAsync(byte[] reqHdr) {
+        MsgExecutor executor = this.msgExecutor;
+        CompletableFuture<byte[]> rsp = executor != null ? executor.asyncSend(reqHdr) : null;
+        return rsp != null ? rsp : supplyAsync(() -> nbProcess(reqHdr));
+    }
+
+    /**
+     * Runs a blocking task on the api pool, bounded and shut down by {@link #destroyApiBase()}.
+     *
+     * @return a future of the task result, completed with null if the api is not connected.
+     */
+    <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        ExecutorService pool = this.asyncPool;
+        if (pool != null) {
+            try {
+                return CompletableFuture.supplyAsync(task, pool);
+            } catch (RejectedExecutionException e) {
+                // shut down by a concurrent destroy.
             }
         }
 
-        return null;
+        if (LOGGER.isErrorEnabled()) {
+            LOGGER.error("[supplyAsync] {}", ErrId.getErrString(-1003L));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static ExecutorService newAsyncPool() {
+        ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(
+                        ASYNC_THREADS,
+                        ASYNC_THREADS,
+                        ASYNC_IDLE_MS,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            Thread t = new Thread(r, "api-async");
+                            t.setDaemon(true);
+                            return t;
+                        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    List<byte[]> nbProcessAll(List<byte[]> reqs, int window) {
+        this.nb = false;
+        return this.msgExecutor.syncSendAll(reqs, window);
     }
 
     MsgRsp Process(byte[] hash, byte[] req) {
@@ -223,29 +366,19 @@ public class ApiBase {
                     IUtils.bytes2Hex(req));
         }
 
-        MsgRsp rsp = this.msgExecutor.send(hash, req);
-
-        if (rsp == null) {
+        Future<MsgRsp> future = this.msgExecutor.nbSend(hash, req);
+        try {
+            return future.get(10_000, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // not received yet, return the current status and let the user check it later.
+            return this.msgExecutor.getStatus(ByteArrayWrapper.wrap(hash));
+        } catch (Exception e) {
 
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("[Process]" + ErrId.getErrString(55L));
             }
             return new MsgRsp(55, null);
         }
-
-        long time = System.currentTimeMillis();
-        while ((rsp == null || rsp.getStatus() == 100)
-                && (System.currentTimeMillis() - time < 10000)) {
-            rsp = this.msgExecutor.getStatus(ByteArrayWrapper.wrap(hash));
-
-            try {
-                Thread.sleep(1);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        return rsp;
     }
 
     int validRspHeader(byte[] rsp) {
@@ -284,6 +417,16 @@ public class ApiBase {
         return 1;
     }
 
+    boolean isHealthy() {
+        MsgExecutor executor = this.msgExecutor;
+        return this.isInitialized.get() && executor != null && executor.isHealthy();
+    }
+
+    int outstanding() {
+        MsgExecutor executor = this.msgExecutor;
+        return executor != null ? executor.outstanding() : 0;
+    }
+
     public List<Event> getContractEvent(List<String> e) {
         return this.msgExecutor.getEvents(e);
     }
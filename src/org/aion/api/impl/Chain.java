@@ -2,19 +2,24 @@ package org.aion.api.impl;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.aion.api.IChain;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.impl.internal.Message;
 import org.aion.api.impl.internal.Message.Funcs;
 import org.aion.api.impl.internal.Message.Retcode;
+import org.aion.api.impl.internal.ViewFactory;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
 import org.aion.api.type.ApiMsg;
 import org.aion.api.type.ApiMsg.cast;
 import org.aion.api.type.Block;
+import org.aion.api.type.Transaction;
 import org.aion.base.type.AionAddress;
 import org.aion.base.type.Hash256;
 import org.aion.base.util.ByteArrayWrapper;
@@ -26,6 +31,8 @@ import org.slf4j.Logger;
 public final class Chain implements IChain {
 
     private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.CHN.name());
+    // the number of balance or nonce queries waiting for the kernel at a time.
+    private static final int BATCH_WINDOW = 256;
     AionAPIImpl apiInst;
 
     Chain(AionAPIImpl inst) {
@@ -49,11 +56,14 @@ public final class Chain implements IChain {
         }
 
         try {
-            return new ApiMsg(
+            long number =
                     Message.rsp_blockNumber
                             .parseFrom(ApiUtils.parseBody(rsp).getData())
-                            .getBlocknumber(),
-                    cast.OTHERS);
+                            .getBlocknumber();
+            if (this.apiInst.chainCache != null) {
+                this.apiInst.chainCache.updateHead(number);
+            }
+            return new ApiMsg(number, cast.OTHERS);
         } catch (InvalidProtocolBufferException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error(
@@ -82,19 +92,7 @@ public final class Chain implements IChain {
             return new ApiMsg(-129);
         }
 
-        Message.req_getBalance reqBody =
-                Message.req_getBalance
-                        .newBuilder()
-                        .setAddress(ByteString.copyFrom(address.toBytes()))
-                        .setBlockNumber(blockNumber)
-                        .build();
-
-        byte[] reqHead =
-                ApiUtils.toReqHeader(
-                        ApiUtils.PROTOCOL_VER, Message.Servs.s_chain, Message.Funcs.f_getBalance);
-        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
-
-        byte[] rsp = this.apiInst.nbProcess(reqMsg);
+        byte[] rsp = this.apiInst.nbProcess(toBalanceReq(address, blockNumber));
         int code = this.apiInst.validRspHeader(rsp);
         if (code != 1) {
             return new ApiMsg(code);
@@ -134,17 +132,15 @@ public final class Chain implements IChain {
             return new ApiMsg(-129);
         }
 
-        Message.req_getBlockByNumber body =
-                Message.req_getBlockByNumber.newBuilder().setBlockNumber(blockNumber).build();
-
-        byte[] header =
-                ApiUtils.toReqHeader(
-                        ApiUtils.PROTOCOL_VER,
-                        Message.Servs.s_chain,
-                        Message.Funcs.f_getBlockByNumber);
-        byte[] reqMsg = ByteUtil.merge(header, body.toByteArray());
+        ChainCache cache = this.apiInst.chainCache;
+        if (cache != null) {
+            Block block = cache.getBlock(blockNumber);
+            if (block != null) {
+                return new ApiMsg(block, cast.OTHERS);
+            }
+        }
 
-        byte[] rsp = this.apiInst.nbProcess(reqMsg);
+        byte[] rsp = this.apiInst.nbProcess(toBlockByNumberReq(blockNumber));
         int code = this.apiInst.validRspHeader(rsp);
 
         if (code != 1) {
@@ -152,9 +148,13 @@ public final class Chain implements IChain {
         }
 
         try {
-            return new ApiMsg(
-                    toBlock(Message.rsp_getBlock.parseFrom(ApiUtils.parseBody(rsp).getData())),
-                    cast.OTHERS);
+            Block block =
+                    ApiUtils.toBlock(
+                            Message.rsp_getBlock.parseFrom(ApiUtils.parseBody(rsp).getData()));
+            if (cache != null) {
+                cache.putBlock(block);
+            }
+            return new ApiMsg(block, cast.OTHERS);
         } catch (InvalidProtocolBufferException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[getBlockByNumber] {}", ErrId.getErrString(-104L) + e.getMessage());
@@ -324,6 +324,14 @@ public final class Chain implements IChain {
             return new ApiMsg(-1003);
         }
 
+        ChainCache cache = this.apiInst.chainCache;
+        if (cache != null) {
+            Transaction tx = cache.getTransaction(transactionHash);
+            if (tx != null) {
+                return new ApiMsg(tx, cast.OTHERS);
+            }
+        }
+
         Message.req_getTransactionByHash reqBody =
                 Message.req_getTransactionByHash
                         .newBuilder()
@@ -344,11 +352,14 @@ public final class Chain implements IChain {
         }
 
         try {
-            return new ApiMsg(
+            Transaction tx =
                     ApiUtils.toTransaction(
                             Message.rsp_getTransaction.parseFrom(
-                                    ApiUtils.parseBody(rsp).getData())),
-                    cast.OTHERS);
+                                    ApiUtils.parseBody(rsp).getData()));
+            if (cache != null) {
+                cache.putTransaction(tx);
+            }
+            return new ApiMsg(tx, cast.OTHERS);
         } catch (InvalidProtocolBufferException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error(
@@ -365,20 +376,15 @@ public final class Chain implements IChain {
             return new ApiMsg(-1003);
         }
 
-        Message.req_getBlockByHash reqBody =
-                Message.req_getBlockByHash
-                        .newBuilder()
-                        .setBlockHash(ByteString.copyFrom(blockHash.toBytes()))
-                        .build();
-
-        byte[] reqHead =
-                ApiUtils.toReqHeader(
-                        ApiUtils.PROTOCOL_VER,
-                        Message.Servs.s_chain,
-                        Message.Funcs.f_getBlockByHash);
-        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
+        ChainCache cache = this.apiInst.chainCache;
+        if (cache != null) {
+            Block block = cache.getBlock(blockHash);
+            if (block != null) {
+                return new ApiMsg(block, cast.OTHERS);
+            }
+        }
 
-        byte[] rsp = this.apiInst.nbProcess(reqMsg);
+        byte[] rsp = this.apiInst.nbProcess(toBlockByHashReq(blockHash));
 
         int code = this.apiInst.validRspHeader(rsp);
         if (code != 1) {
@@ -386,9 +392,13 @@ public final class Chain implements IChain {
         }
 
         try {
-            return new ApiMsg(
-                    toBlock(Message.rsp_getBlock.parseFrom(ApiUtils.parseBody(rsp).getData())),
-                    cast.OTHERS);
+            Block block =
+                    ApiUtils.toBlock(
+                            Message.rsp_getBlock.parseFrom(ApiUtils.parseBody(rsp).getData()));
+            if (cache != null) {
+                cache.putBlock(block);
+            }
+            return new ApiMsg(block, cast.OTHERS);
         } catch (InvalidProtocolBufferException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error(
@@ -400,18 +410,153 @@ public final class Chain implements IChain {
         }
     }
 
-    public ApiMsg getTransactionCount(Address address, long blockNumber) {
-        if (!this.apiInst.isConnected()) {
+    public ApiMsg getBalances(List<Address> addresses) {
+        ApiMsg head = blockNumber();
+        if (head.getErrorCode() != 1) {
+            return head;
+        }
+        return getBalances(addresses, (long) head.getObject());
+    }
+
+    public ApiMsg getBalances(List<Address> addresses, long blockNumber) {
+        ApiMsg msg = checkBatch("[getBalances]", addresses, blockNumber);
+        if (msg != null) {
+            return msg;
+        }
+
+        List<byte[]> reqs = new ArrayList<>(addresses.size());
+        for (Address address : addresses) {
+            reqs.add(toBalanceReq(address, blockNumber));
+        }
+        List<byte[]> rsps = this.apiInst.nbProcessAll(reqs, BATCH_WINDOW);
+
+        Map<Address, BigInteger> balances = new LinkedHashMap<>(addresses.size() << 1);
+        try {
+            for (int i = 0; i < rsps.size(); i++) {
+                byte[] rsp = rsps.get(i);
+                int code = this.apiInst.validRspHeader(rsp);
+                if (code != 1) {
+                    return new ApiMsg(code);
+                }
+
+                Message.rsp_getBalance resp =
+                        Message.rsp_getBalance.parseFrom(ApiUtils.bodyInput(rsp));
+                balances.put(addresses.get(i), new BigInteger(1, resp.getBalance().toByteArray()));
+            }
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[getBalances] {}", ErrId.getErrString(-104L) + e.getMessage());
+            }
+            return new ApiMsg(-104, e.getMessage(), cast.OTHERS);
+        }
+
+        return new ApiMsg(balances, cast.OTHERS);
+    }
+
+    public ApiMsg getNonces(List<Address> addresses) {
+        ApiMsg head = blockNumber();
+        if (head.getErrorCode() != 1) {
+            return head;
+        }
+        return getNonces(addresses, (long) head.getObject());
+    }
+
+    public ApiMsg getNonces(List<Address> addresses, long blockNumber) {
+        ApiMsg msg = checkBatch("[getNonces]", addresses, blockNumber);
+        if (msg != null) {
+            return msg;
+        }
+
+        // the nonce at a given block is the transaction count of the account at that block.
+        boolean latest = blockNumber == -1L;
+        List<byte[]> reqs = new ArrayList<>(addresses.size());
+        for (Address address : addresses) {
+            reqs.add(latest ? toNonceReq(address) : toTxCountReq(address, blockNumber));
+        }
+        List<byte[]> rsps = this.apiInst.nbProcessAll(reqs, BATCH_WINDOW);
+
+        Map<Address, BigInteger> nonces = new LinkedHashMap<>(addresses.size() << 1);
+        try {
+            for (int i = 0; i < rsps.size(); i++) {
+                byte[] rsp = rsps.get(i);
+                int code = this.apiInst.validRspHeader(rsp);
+                if (code != 1) {
+                    return new ApiMsg(code);
+                }
+
+                BigInteger nonce =
+                        latest
+                                ? new BigInteger(
+                                        1,
+                                        Message.rsp_getNonce
+                                                .parseFrom(ApiUtils.bodyInput(rsp))
+                                                .getNonce()
+                                                .toByteArray())
+                                : BigInteger.valueOf(
+                                        Message.rsp_getTransactionCount
+                                                .parseFrom(ApiUtils.bodyInput(rsp))
+                                                .getTxCount());
+                nonces.put(addresses.get(i), nonce);
+            }
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[getNonces] {}", ErrId.getErrString(-104L) + e.getMessage());
+            }
+            return new ApiMsg(-104, e.getMessage(), cast.OTHERS);
+        }
+
+        return new ApiMsg(nonces, cast.OTHERS);
+    }
+
+    private ApiMsg checkBatch(String method, List<Address> addresses, long blockNumber) {
+        if (!this.apiInst.isInitialized.get()) {
             return new ApiMsg(-1003);
         }
 
+        if (addresses == null || addresses.contains(null)) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("{} {}", method, ErrId.getErrString(-315L));
+            }
+            return new ApiMsg(-315);
+        }
+
         if (blockNumber < -1L) {
             if (LOGGER.isErrorEnabled()) {
-                LOGGER.error("[getTxCount] {}", ErrId.getErrString(-310L));
+                LOGGER.error("{} {}", method, ErrId.getErrString(-129L));
             }
-            return new ApiMsg(-310);
+            return new ApiMsg(-129);
         }
+        return null;
+    }
+
+    private static byte[] toBalanceReq(Address address, long blockNumber) {
+        Message.req_getBalance reqBody =
+                Message.req_getBalance
+                        .newBuilder()
+                        .setAddress(ByteString.copyFrom(address.toBytes()))
+                        .setBlockNumber(blockNumber)
+                        .build();
+
+        byte[] reqHead =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER, Message.Servs.s_chain, Message.Funcs.f_getBalance);
+        return ByteUtil.merge(reqHead, reqBody.toByteArray());
+    }
+
+    private static byte[] toNonceReq(Address address) {
+        Message.req_getNonce reqBody =
+                Message.req_getNonce
+                        .newBuilder()
+                        .setAddress(ByteString.copyFrom(address.toBytes()))
+                        .build();
+
+        byte[] reqHead =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER, Message.Servs.s_chain, Message.Funcs.f_getNonce);
+        return ByteUtil.merge(reqHead, reqBody.toByteArray());
+    }
 
+    private static byte[] toTxCountReq(Address address, long blockNumber) {
         Message.req_getTransactionCount reqBody =
                 Message.req_getTransactionCount
                         .newBuilder()
@@ -424,9 +569,94 @@ public final class Chain implements IChain {
                         ApiUtils.PROTOCOL_VER,
                         Message.Servs.s_chain,
                         Message.Funcs.f_getTransactionCount);
-        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
+        return ByteUtil.merge(reqHead, reqBody.toByteArray());
+    }
 
-        byte[] rsp = this.apiInst.nbProcess(reqMsg);
+    public ApiMsg getBlockViewByNumber(long blockNumber) {
+        if (!apiInst.isInitialized.get()) {
+            return new ApiMsg(-1003);
+        }
+
+        if (blockNumber < -1L) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[getBlockViewByNumber] {}", ErrId.getErrString(-129L));
+            }
+            return new ApiMsg(-129);
+        }
+
+        return toBlockView(
+                "[getBlockViewByNumber]", this.apiInst.nbProcess(toBlockByNumberReq(blockNumber)));
+    }
+
+    public ApiMsg getBlockViewByHash(Hash256 blockHash) {
+        if (!this.apiInst.isConnected()) {
+            return new ApiMsg(-1003);
+        }
+
+        return toBlockView(
+                "[getBlockViewByHash]", this.apiInst.nbProcess(toBlockByHashReq(blockHash)));
+    }
+
+    private ApiMsg toBlockView(String method, byte[] rsp) {
+        int code = this.apiInst.validRspHeader(rsp);
+        if (code != 1) {
+            return new ApiMsg(code);
+        }
+
+        try {
+            return new ApiMsg(
+                    ViewFactory.toBlockView(
+                            Message.rsp_getBlock.parseFrom(ApiUtils.bodyInput(rsp))),
+                    cast.OTHERS);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(
+                        "{} {} exception: [{}]", method, ErrId.getErrString(-104L), e.getMessage());
+            }
+            return new ApiMsg(-104, e.getMessage(), cast.OTHERS);
+        }
+    }
+
+    private static byte[] toBlockByNumberReq(long blockNumber) {
+        Message.req_getBlockByNumber body =
+                Message.req_getBlockByNumber.newBuilder().setBlockNumber(blockNumber).build();
+
+        byte[] header =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_chain,
+                        Message.Funcs.f_getBlockByNumber);
+        return ByteUtil.merge(header, body.toByteArray());
+    }
+
+    private static byte[] toBlockByHashReq(Hash256 blockHash) {
+        Message.req_getBlockByHash reqBody =
+                Message.req_getBlockByHash
+                        .newBuilder()
+                        .setBlockHash(ByteString.copyFrom(blockHash.toBytes()))
+                        .build();
+
+        byte[] reqHead =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_chain,
+                        Message.Funcs.f_getBlockByHash);
+        return ByteUtil.merge(reqHead, reqBody.toByteArray());
+    }
+
+    public ApiMsg getTransactionCount(Address address, long blockNumber) {
+        if (!this.apiInst.isConnected()) {
+            return new ApiMsg(-1003);
+        }
+
+        if (blockNumber < -1L) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[getTxCount] {}", ErrId.getErrString(-310L));
+            }
+            return new ApiMsg(-310);
+        }
+
+        byte[] rsp = this.apiInst.nbProcess(toTxCountReq(address, blockNumber));
 
         int code = this.apiInst.validRspHeader(rsp);
         if (code != 1) {
@@ -565,40 +795,6 @@ public final class Chain implements IChain {
     //    }
     // }
 
-    /**
-     * A helper function intended to provide easy copying from response type to {@link
-     * org.aion.api.type.Block}, intended for internal usage
-     */
-    private static Block toBlock(Message.rsp_getBlock rsp) {
-
-        Block.BlockBuilder builder = new Block.BlockBuilder();
-
-        List<Hash256> txs = new ArrayList<>();
-        for (ByteString bs : rsp.getTxHashList()) {
-            txs.add(Hash256.wrap(bs.toByteArray()));
-        }
-
-        return builder.bloom(ByteArrayWrapper.wrap(rsp.getLogsBloom().toByteArray()))
-                .difficulty(new BigInteger(1, rsp.getDifficulty().toByteArray()))
-                .extraData(ByteArrayWrapper.wrap(rsp.getExtraData().toByteArray()))
-                .nonce(new BigInteger(1, rsp.getNonce().toByteArray()))
-                .miner(AionAddress.wrap(rsp.getMinerAddress().toByteArray()))
-                .nrgConsumed(rsp.getNrgConsumed())
-                .nrgLimit(rsp.getNrgLimit())
-                .txTrieRoot(Hash256.wrap(rsp.getTxTrieRoot().toByteArray()))
-                .stateRoot(Hash256.wrap(rsp.getStateRoot().toByteArray()))
-                .timestamp(rsp.getTimestamp())
-                .receiptTxRoot(Hash256.wrap(rsp.getReceiptTrieRoot().toByteArray()))
-                .number(rsp.getBlockNumber())
-                .txHash(txs)
-                .hash(Hash256.wrap(rsp.getHash().toByteArray()))
-                .parentHash(Hash256.wrap(rsp.getParentHash().toByteArray()))
-                .solution(ByteArrayWrapper.wrap(rsp.getSolution().toByteArray()))
-                .size(rsp.getSize())
-                .totalDifficulty(new BigInteger(1, rsp.getTotalDifficulty().toByteArray()))
-                .createBlock();
-    }
-
     /**
      * GetNonce returns a BigInteger representing the nonce of the account address at the latest
      * block number.
@@ -611,18 +807,7 @@ public final class Chain implements IChain {
             return new ApiMsg(-1003);
         }
 
-        Message.req_getNonce reqBody =
-                Message.req_getNonce
-                        .newBuilder()
-                        .setAddress(ByteString.copyFrom(address.toBytes()))
-                        .build();
-
-        byte[] reqHead =
-                ApiUtils.toReqHeader(
-                        ApiUtils.PROTOCOL_VER, Message.Servs.s_chain, Message.Funcs.f_getNonce);
-        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
-
-        byte[] rsp = this.apiInst.nbProcess(reqMsg);
+        byte[] rsp = this.apiInst.nbProcess(toNonceReq(address));
         int code = this.apiInst.validRspHeader(rsp);
         if (code != 1) {
             return new ApiMsg(code);
@@ -0,0 +1,173 @@
+package org.aion.api.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import org.aion.api.cfg.CfgCache;
+import org.aion.api.impl.internal.LruCache;
+import org.aion.api.type.Block;
+import org.aion.api.type.CacheStats;
+import org.aion.api.type.Transaction;
+import org.aion.api.type.TxLog;
+import org.aion.api.type.TxReceipt;
+import org.aion.base.type.Hash256;
+import org.aion.base.util.ByteArrayWrapper;
+
+/**
+ * Cache of the blocks, transactions and receipts deep enough below the chain head to be final.
+ * The cached objects are shared by every reader, they are immutable.
+ */
+final class ChainCache {
+
+    // the head is refreshed in the background when it is older than this and not tracked.
+    private static final long HEAD_TTL_MS = 10_000;
+
+    private static final byte BLOCK_NUMBER = 0;
+    private static final byte BLOCK_HASH = 1;
+    private static final byte TX = 2;
+    private static final byte RECEIPT = 3;
+
+    private final LruCache<Key, Object> cache;
+    private final int confirmations;
+    private final Runnable headRefresh;
+    private final BooleanSupplier headTracked;
+    private final AtomicLong head = new AtomicLong(-1);
+    private volatile long headAt;
+
+    /**
+     * @param cfg the cache bounds and the confirmation depth.
+     * @param headRefresh starts fetching the block number of the head off the reader thread, the
+     *     fetch records it with {@link #updateHead(long)}.
+     * @param headTracked true while the head tracker keeps the head up to date.
+     */
+    ChainCache(CfgCache cfg, Runnable headRefresh, BooleanSupplier headTracked) {
+        this.cache = new LruCache<>(cfg.getMaxEntries(), cfg.getMaxBytes(), ChainCache::weigh);
+        this.confirmations = cfg.getConfirmations();
+        this.headRefresh = headRefresh;
+        this.headTracked = headTracked;
+    }
+
+    Block getBlock(long number) {
+        return (Block) this.cache.get(new Key(BLOCK_NUMBER, number));
+    }
+
+    Block getBlock(Hash256 hash) {
+        return (Block) this.cache.get(new Key(BLOCK_HASH, hash));
+    }
+
+    Transaction getTransaction(Hash256 txHash) {
+        return (Transaction) this.cache.get(new Key(TX, txHash));
+    }
+
+    TxReceipt getTxReceipt(Hash256 txHash) {
+        return (TxReceipt) this.cache.get(new Key(RECEIPT, txHash));
+    }
+
+    void putBlock(Block block) {
+        if (isFinal(block.getNumber())) {
+            this.cache.put(new Key(BLOCK_NUMBER, block.getNumber()), block);
+            this.cache.put(new Key(BLOCK_HASH, block.getHash()), block);
+        }
+    }
+
+    void putTransaction(Transaction tx) {
+        if (isFinal(tx.getBlockNumber())) {
+            this.cache.put(new Key(TX, tx.getTxHash()), tx);
+        }
+    }
+
+    void putTxReceipt(TxReceipt receipt) {
+        if (isFinal(receipt.getBlockNumber())) {
+            this.cache.put(new Key(RECEIPT, receipt.getTxHash()), receipt);
+        }
+    }
+
+    /** Records a block number known to be on the chain, the head only moves forward. */
+    void updateHead(long number) {
+        this.head.accumulateAndGet(number, Math::max);
+        this.headAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Drops every entry when a reorg rolled back a block the cache treated as final, the depth
+     * check only admits blocks deeper than the usual reorgs.
+     */
+    void rollback(long fromNumber) {
+        if (fromNumber <= this.head.get() - this.confirmations) {
+            this.cache.clear();
+        }
+    }
+
+    CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    void clear() {
+        this.cache.clear();
+    }
+
+    private boolean isFinal(long number) {
+        if (number < 0) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - this.headAt > HEAD_TTL_MS && !this.headTracked.getAsBoolean()) {
+            // keeps the other readers from refreshing it at the same time. The stale head only
+            // admits fewer blocks, the reader doesn't wait for the kernel.
+            this.headAt = now;
+            this.headRefresh.run();
+        }
+
+        long h = this.head.get();
+        return h >= 0 && number <= h - this.confirmations;
+    }
+
+    // estimated sizes, close enough to bound the memory held by the cache.
+    private static int weigh(Object val) {
+        if (val instanceof Block) {
+            Block b = (Block) val;
+            return 512
+                    + 48 * b.getTxHash().size()
+                    + length(b.getBloom())
+                    + length(b.getExtraData())
+                    + length(b.getSolution());
+        } else if (val instanceof Transaction) {
+            return 384 + length(((Transaction) val).getData());
+        } else if (val instanceof TxReceipt) {
+            int size = 384;
+            for (TxLog log : ((TxReceipt) val).getTxLogs()) {
+                size += 128 + length(log.getData()) + 80 * log.getTopics().size();
+            }
+            return size;
+        }
+        return 256;
+    }
+
+    private static int length(ByteArrayWrapper data) {
+        return data == null ? 0 : data.getData().length;
+    }
+
+    private static final class Key {
+        private final byte kind;
+        private final Object id;
+
+        Key(byte kind, Object id) {
+            this.kind = kind;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return this.kind == k.kind && this.id.equals(k.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.id.hashCode() + this.kind;
+        }
+    }
+}
@@ -1,33 +1,32 @@
 package org.aion.api.impl;
 
-import static org.aion.api.sol.impl.SolidityValue.SolidityTypeEnum.ADDRESS;
-import static org.aion.api.sol.impl.SolidityValue.SolidityTypeEnum.BOOL;
-import static org.aion.api.sol.impl.SolidityValue.SolidityTypeEnum.BYTES;
-
 import java.lang.reflect.Type;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import org.aion.api.IAionAPI;
 import org.aion.api.IContract;
+import org.aion.api.IContractCall;
+import org.aion.api.IHeadTracker;
 import org.aion.api.IUtils;
+import org.aion.api.impl.internal.AbiCallData;
+import org.aion.api.impl.internal.AbiCodecPlan;
 import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.CallResultCache;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
 import org.aion.api.sol.ISolidityArg;
-import org.aion.api.sol.impl.Bool;
-import org.aion.api.sol.impl.Bytes;
-import org.aion.api.sol.impl.DynamicBytes;
-import org.aion.api.sol.impl.Int;
-import org.aion.api.sol.impl.SString;
-import org.aion.api.sol.impl.SolidityValue;
-import org.aion.api.sol.impl.Uint;
 import org.aion.api.type.ApiMsg;
+import org.aion.api.type.CacheStats;
 import org.aion.api.type.CompileResponse;
 import org.aion.api.type.ContractAbiEntry;
 import org.aion.api.type.ContractAbiIOParam;
@@ -37,10 +36,12 @@ import org.aion.api.type.ContractResponse;
 import org.aion.api.type.DeployResponse;
 import org.aion.api.type.JsonFmt;
 import org.aion.api.type.MsgRsp;
+import org.aion.api.type.PreparedTx;
 import org.aion.api.type.TxArgs;
 import org.aion.base.type.AionAddress;
 import org.aion.base.type.Hash256;
 import org.aion.base.util.ByteArrayWrapper;
+import org.aion.base.util.ByteUtil;
 import org.aion.vm.api.interfaces.Address;
 import org.apache.commons.collections4.map.LRUMap;
 import org.slf4j.Logger;
@@ -60,6 +61,8 @@ public final class Contract implements IContract {
     private static final String REGEX_SC_PATT = "\\[([0-9]*)\\]";
     private static final String ALLEVENTS = "ALLEVENTS";
     private static final String REGEX_NUMERIC = "-?\\d+(\\.\\d+)?";
+    // the head of a call whose result is not kept by the call cache.
+    private static final long NOT_CACHED = -2L;
 
     private static boolean nonBlock = false;
 
@@ -74,6 +77,10 @@ public final class Contract implements IContract {
     private final Address contractAddress;
     private final List<ContractAbiEntry> abiDefinition;
     private final Map<String, List<ContractAbiEntry>> funcParams;
+    // codec plans of the entries, built with funcParams and read only afterwards.
+    private final Map<ContractAbiEntry, AbiCodecPlan> inputPlans = new IdentityHashMap<>();
+    private final Map<ContractAbiEntry, AbiCodecPlan> outputPlans = new IdentityHashMap<>();
+    private final Map<String, AbiCodecPlan> eventPlans = new HashMap<>();
     private final String abiDefStr;
     private final String contractCode;
     private final String contractSource;
@@ -90,6 +97,11 @@ public final class Contract implements IContract {
     private long txNrgPrice;
     private BigInteger txValue;
     private TxArgs txArgs;
+    private PreparedTx preparedTx;
+
+    // constant call settings
+    private CallResultCache callCache;
+    private Set<String> pureFuncs = Collections.emptySet();
 
     // event relative settings
     private final List<String> eventsName;
@@ -263,45 +275,32 @@ public final class Contract implements IContract {
                 key = entry.name;
             }
 
-            List<ContractAbiEntry> l = functionMap.get(key);
-            if (l == null) {
-                functionMap.put(key, Collections.singletonList(entry));
-            } else {
-                l.add(entry);
-                functionMap.put(key, l);
+            functionMap.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+
+            if (!entry.isEvent()) {
+                String hashed = entry.isConstructor() ? null : entry.getHashed();
+                this.inputPlans.put(entry, AbiCodecPlan.of(hashed, entry.inputs));
+                this.outputPlans.put(entry, AbiCodecPlan.of(null, entry.outputs));
             }
         }
 
-        return functionMap;
-    }
-
-    private static SolidityValue.SolidityTypeEnum getSolType(String type) {
-
-        if (type == null) {
-            throw new NullPointerException();
+        // the data of an event is decoded with the inputs of every entry of its name.
+        for (Map.Entry<String, List<ContractAbiEntry>> e : functionMap.entrySet()) {
+            List<ContractAbiIOParam> params = null;
+            for (ContractAbiEntry entry : e.getValue()) {
+                if (entry.isEvent()) {
+                    if (params == null) {
+                        params = new ArrayList<>();
+                    }
+                    params.addAll(entry.inputs);
+                }
+            }
+            if (params != null) {
+                this.eventPlans.put(e.getKey(), AbiCodecPlan.of(null, params));
+            }
         }
 
-        if (ApiUtils.isTypeAddress(type)) {
-            return ADDRESS;
-        } else if (ApiUtils.isTypeBoolean(type)) {
-            return BOOL;
-        } else if (ApiUtils.isTypeBytes(type)) {
-            return BYTES;
-        } else if (ApiUtils.isTypeDynamicBytes(type)) {
-            return SolidityValue.SolidityTypeEnum.DYNAMICBYTES;
-        } else if (ApiUtils.isTypeInt(type)) {
-            return SolidityValue.SolidityTypeEnum.INT;
-        } else if (ApiUtils.isTypeReal(type)) {
-            return SolidityValue.SolidityTypeEnum.REAL;
-        } else if (ApiUtils.isTypeString(type)) {
-            return SolidityValue.SolidityTypeEnum.STRING;
-        } else if (ApiUtils.isTypeUint(type)) {
-            return SolidityValue.SolidityTypeEnum.UINT;
-        } else if (ApiUtils.isTypeUreal(type)) {
-            return SolidityValue.SolidityTypeEnum.UREAL;
-        } else {
-            throw new IllegalArgumentException("unknown solidity type#" + type);
-        }
+        return functionMap;
     }
 
     // END SETTERS & GETTERS
@@ -379,36 +378,11 @@ public final class Contract implements IContract {
             throw new NullPointerException();
         }
 
-        StringBuilder assembled = new StringBuilder();
-        if (!this.isConstructor) {
-            assembled.append(func.getHashed());
-        }
-
-        // offset
-        int dynamicOffset = 0;
-        int index = 0;
-
-        for (ISolidityArg abs : inputParams) {
-            abs.setDynamicParameters(func.inputs.get(index).getParamLengths());
-            abs.setType(func.inputs.get(index).getType());
-            dynamicOffset += abs.getStaticPartLength();
-            index++;
-        }
-
-        for (ISolidityArg abs : inputParams) {
-            if (abs.getIsDynamic()) {
-                assembled.append(ApiUtils.toHexPadded16(ApiUtils.toBytes(dynamicOffset)));
-                dynamicOffset += abs.getDynamicOffset();
-            } else {
-                assembled.append(abs.getInputFormat());
-            }
-        }
-
-        for (ISolidityArg abs : inputParams) {
-            if (abs.getIsDynamic()) {
-                assembled.append(abs.getInputFormat());
-                dynamicOffset += abs.getDynamicOffset();
-            }
+        AbiCodecPlan plan = this.inputPlans.get(func);
+        byte[] selector = this.isConstructor ? new byte[0] : plan.getSelector();
+        byte[] encoded = AbiCallData.encode(selector, plan, func.inputs, this.inputParams);
+        if (encoded == null) {
+            return null;
         }
 
         TxArgs.TxArgsBuilder builder =
@@ -420,9 +394,9 @@ public final class Contract implements IContract {
                         .to(isConstructor ? AionAddress.EMPTY_ADDRESS() : this.contractAddress)
                         .data(
                                 isConstructor
-                                        ? ByteArrayWrapper.wrap(assembled.toString().getBytes())
-                                        : ByteArrayWrapper.wrap(
-                                                ApiUtils.hex2Bytes(assembled.toString())))
+                                        ? ByteArrayWrapper.wrap(
+                                                IUtils.bytes2Hex(encoded).getBytes())
+                                        : ByteArrayWrapper.wrap(encoded))
                         .nonce(BigInteger.ZERO);
 
         this.txArgs = builder.createTxArgs();
@@ -676,18 +650,10 @@ public final class Contract implements IContract {
             this.errorCode = -131;
             return this;
         } else {
-            // check parameter type have performance issue. Cause function isType using Regular
-            // Expression method.
-            // replace to type enum compare in later version.
-            Boolean sameParams = true;
+            // the types of the overloads are resolved once in their codec plans.
+            boolean sameParams = true;
             for (Integer anAl : al) {
-                sameParams = true;
-                for (int k = 0; k < func.get(anAl).inputs.size(); ++k) {
-                    if (!inputParams.get(k).isType(func.get(anAl).inputs.get(k).getType())) {
-                        sameParams = false;
-                        break;
-                    }
-                }
+                sameParams = this.inputPlans.get(func.get(anAl)).matches(inputParams);
 
                 if (sameParams) {
                     matched_func = anAl;
@@ -713,7 +679,14 @@ public final class Contract implements IContract {
 
         if (this.functionBuilt) {
             this.txArgs = encodeParams(this.abiFunc);
-            api.getTx().fastTxbuild(this.txArgs, this.abiFunc.constant);
+            if (this.txArgs == null) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[build] {}", ErrId.getErrString(-114L));
+                }
+                this.errorCode = -114;
+                return this;
+            }
+            this.preparedTx = this.isConstant ? null : api.getTx().prepareTransaction(this.txArgs);
         }
 
         return this;
@@ -740,151 +713,247 @@ public final class Contract implements IContract {
         // execute
         if (this.isConstant) {
             // call
-            ApiMsg apiMsg = this.api.getTx().call(this.txArgs);
-
-            if (apiMsg.isError()) {
-                return apiMsg;
-            }
-
-            byte[] rsp = apiMsg.getObject();
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("[execute] Contract msg: [{}]", IUtils.bytes2Hex(rsp));
-            }
-            List out = decodeParams(ByteArrayWrapper.wrap(rsp));
-
-            ContractResponse.ContractResponseBuilder builder =
-                    new ContractResponse.ContractResponseBuilder()
-                            .data(out)
-                            .constant(true)
-                            .msgHash(ByteArrayWrapper.wrap(new byte[ApiUtils.MSG_HASH_LEN]))
-                            .status((byte) 0)
-                            .txHash(Hash256.ZERO_HASH());
-
-            return apiMsg.set(
-                    builder.createContractResponse(), org.aion.api.type.ApiMsg.cast.OTHERS);
+            return toCallResponse(
+                    constantCall(this.txArgs, this.abiFunc), this.abiFunc, this.outputParams);
         } else {
             // send transaction
             ApiMsg apiMsg =
                     (nonBlock
-                            ? api.getTx().nonBlock().sendTransaction(null)
-                            : api.getTx().sendTransaction(null));
+                            ? api.getTx().nonBlock().sendPreparedTransaction(this.preparedTx)
+                            : api.getTx().sendPreparedTransaction(this.preparedTx));
+
+            return toTxResponse(apiMsg, this.abiFunc, this.outputParams);
+        }
+    }
+
+    public CompletableFuture<ApiMsg> executeAsync() {
+
+        if (this.error()) {
+            return CompletableFuture.completedFuture(new ApiMsg(this.errorCode));
+        }
+
+        if (!this.functionBuilt) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[executeAsync] {}", ErrId.getErrString(-113L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-113));
+        }
+
+        // the contract may be rebuilt before the response arrives, keep what this call needs.
+        ContractAbiEntry func = this.abiFunc;
+        TxArgs args = this.txArgs;
+        PreparedTx tx = this.preparedTx;
+        if (this.isConstant) {
+            return constantCallAsync(args, func)
+                    .thenApply(apiMsg -> toCallResponse(apiMsg, func, new ArrayList<>()));
+        } else {
+            return this.api
+                    .getTx()
+                    .sendPreparedTransactionAsync(tx)
+                    .thenApply(apiMsg -> toTxResponse(apiMsg, func, new ArrayList<>()));
+        }
+    }
 
-            if (apiMsg.isError()) {
-                return apiMsg;
+    public IContractCall prepareCall() {
+        if (this.error()) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[prepareCall] {}", ErrId.getErrString(this.errorCode));
             }
+            return null;
+        }
+
+        if (!this.functionBuilt) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[prepareCall] {}", ErrId.getErrString(-113L));
+            }
+            return null;
+        }
+
+        return new ContractCall(
+                this,
+                this.api,
+                this.abiFunc,
+                this.inputPlans.get(this.abiFunc),
+                this.inputParams,
+                this.txArgs,
+                this.isConstant,
+                nonBlock);
+    }
+
+    public Contract setCallCache(int maxEntries) {
+        this.callCache = maxEntries > 0 ? new CallResultCache(maxEntries) : null;
+        return this;
+    }
+
+    public Contract setPureFunctions(String... names) {
+        if (names == null) {
+            throw new NullPointerException();
+        }
 
-            MsgRsp msgRsp = apiMsg.getObject();
+        Set<String> funcs = new HashSet<>();
+        for (String name : names) {
+            List<ContractAbiEntry> entries = this.funcParams.get(name);
+            if (entries == null) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error(
+                            "[setPureFunctions] {} function#{}", ErrId.getErrString(-110L), name);
+                }
+                this.errorCode = -110;
+                return this;
+            }
 
-            List data = null;
-            if (msgRsp.getTxResult() != null) {
-                data = decodeParams(msgRsp.getTxResult());
+            if (!entries.get(0).constant) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error(
+                            "[setPureFunctions] {} function#{}", ErrId.getErrString(-331L), name);
+                }
+                this.errorCode = -331;
+                return this;
             }
+            funcs.add(name);
+        }
+
+        this.pureFuncs = Collections.unmodifiableSet(funcs);
+        return this;
+    }
 
-            ContractResponse.ContractResponseBuilder builder =
-                    new ContractResponse.ContractResponseBuilder()
-                            .data(data)
-                            .constant(false)
-                            .msgHash(msgRsp.getMsgHash())
-                            .status(msgRsp.getStatus())
-                            .txHash(msgRsp.getTxHash())
-                            .error(msgRsp.getError());
+    public CacheStats getCallCacheStats() {
+        CallResultCache cache = this.callCache;
+        return cache != null ? cache.stats() : new CacheStats(0, 0, 0, 0, 0);
+    }
+
+    // sends a constant call, or reads its result from the call cache when it is enabled.
+    ApiMsg constantCall(TxArgs args, ContractAbiEntry func) {
+        CallResultCache cache = this.callCache;
+        long head = cacheHead(cache, func);
+        if (head == NOT_CACHED) {
+            return this.api.getTx().call(args);
+        }
 
-            return apiMsg.set(
-                    builder.createContractResponse(), org.aion.api.type.ApiMsg.cast.OTHERS);
+        boolean pure = head < 0;
+        byte[] call = ByteUtil.merge(args.getFrom().toBytes(), args.getData().toBytes());
+        byte[] result = cache.get(call, head, pure);
+        if (result != null) {
+            return new ApiMsg(result, ApiMsg.cast.OTHERS);
         }
+
+        ApiMsg apiMsg = this.api.getTx().call(args);
+        if (!apiMsg.isError()) {
+            cache.put(call, head, pure, apiMsg.getObject());
+        }
+        return apiMsg;
+    }
+
+    /** Asynchronous variant of {@link #constantCall}, a cached result completes the future. */
+    CompletableFuture<ApiMsg> constantCallAsync(TxArgs args, ContractAbiEntry func) {
+        CallResultCache cache = this.callCache;
+        long head = cacheHead(cache, func);
+        Tx tx = (Tx) this.api.getTx();
+        if (head == NOT_CACHED) {
+            return tx.callAsync(args);
+        }
+
+        boolean pure = head < 0;
+        byte[] call = ByteUtil.merge(args.getFrom().toBytes(), args.getData().toBytes());
+        byte[] result = cache.get(call, head, pure);
+        if (result != null) {
+            return CompletableFuture.completedFuture(new ApiMsg(result, ApiMsg.cast.OTHERS));
+        }
+
+        return tx.callAsync(args)
+                .thenApply(
+                        apiMsg -> {
+                            if (!apiMsg.isError()) {
+                                cache.put(call, head, pure, apiMsg.getObject());
+                            }
+                            return apiMsg;
+                        });
     }
 
-    // TODO: ArrayList<Integer> vs int[]?
-    private int[] getOffsets() {
-        int[] ret = new int[this.outputParams.size()];
+    /**
+     * The head a call result is kept at, read from the head tracker alone: asking the kernel for
+     * it would cost the round trip the cache saves.
+     *
+     * @return -1 for a pure function, or NOT_CACHED if the result is not kept.
+     */
+    private long cacheHead(CallResultCache cache, ContractAbiEntry func) {
+        if (cache == null) {
+            return NOT_CACHED;
+        }
 
-        for (int i = 1; i < this.outputParams.size(); i++) {
-            ret[i] += ret[i - 1] + this.outputParams.get(i - 1).getStaticPartLength();
+        if (this.pureFuncs.contains(func.name)) {
+            return -1L;
         }
 
-        return ret;
+        IHeadTracker tracker = this.api.getHeadTracker();
+        long head = tracker.isRunning() ? tracker.getBlockNumber() : -1L;
+        return head >= 0 ? head : NOT_CACHED;
     }
 
-    private List decodeParams(ByteArrayWrapper data) {
-        this.outputParams.clear();
+    ApiMsg toCallResponse(ApiMsg apiMsg, ContractAbiEntry func, List<ISolidityArg> outputs) {
+        if (apiMsg.isError()) {
+            return apiMsg;
+        }
 
-        for (ContractAbiIOParam io : this.abiFunc.outputs) {
-            switch (getSolType(io.getType())) {
-                case ADDRESS:
-                    org.aion.api.sol.impl.Address addressVal =
-                            org.aion.api.sol.impl.Address.createForDecode();
-                    addressVal.setDynamicParameters(io.getParamLengths());
-                    addressVal.setType(io.getType());
-                    this.outputParams.add(addressVal);
-                    break;
-                case BOOL:
-                    Bool boolVal = Bool.createForDecode();
-                    boolVal.setDynamicParameters(io.getParamLengths());
-                    boolVal.setType(io.getType());
-                    this.outputParams.add(boolVal);
-                    break;
-                case BYTES:
-                    Bytes bytesVal = Bytes.createForDecode();
-                    bytesVal.setDynamicParameters(io.getParamLengths());
-                    bytesVal.setType(io.getType());
-                    this.outputParams.add(bytesVal);
-                    break;
-                case DYNAMICBYTES:
-                    DynamicBytes dynamicBytesVal = DynamicBytes.createForDecode();
-                    dynamicBytesVal.setDynamicParameters(io.getParamLengths());
-                    dynamicBytesVal.setType(io.getType());
-                    this.outputParams.add(dynamicBytesVal);
-                    break;
-                case INT:
-                    Int intVal = Int.createForDecode();
-                    intVal.setDynamicParameters(io.getParamLengths());
-                    intVal.setType(io.getType());
-                    this.outputParams.add(intVal);
-                    break;
-                    // TODO: currently not support
-                    //            case REAL:
-                    //                Real realVal = Real.createForDecode();
-                    //                realVal.setDynamicParameters(io.getParamLengths());
-                    //                realVal.setType(io.getType());
-                    //                this.outputParams.add(realVal);
-                    //                break;
-                case STRING:
-                    SString stringVal = SString.createForDecode();
-                    stringVal.setDynamicParameters(io.getParamLengths());
-                    stringVal.setType(io.getType());
-                    this.outputParams.add(stringVal);
-                    break;
-                case UINT:
-                    Uint uintVal = Uint.createForDecode();
-                    uintVal.setDynamicParameters(io.getParamLengths());
-                    uintVal.setType(io.getType());
-                    this.outputParams.add(uintVal);
-                    break;
-                    // TODO: currently not support
-                    //            case UREAL:
-                    //                Ureal urealVal = Ureal.createForDecode();
-                    //                urealVal.setDynamicParameters(io.getParamLengths());
-                    //                urealVal.setType(io.getType());
-                    //                this.outputParams.add(urealVal);
-                    //                break;
-                default:
-                    if (LOGGER.isErrorEnabled()) {
-                        LOGGER.error("[decodeParams] {}", ErrId.getErrString(-125L));
-                    }
-                    throw new IllegalArgumentException("Unsupported solidity type");
-            }
+        byte[] rsp = apiMsg.getObject();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("[execute] Contract msg: [{}]", IUtils.bytes2Hex(rsp));
+        }
+        List out = decodeParams(func, ByteArrayWrapper.wrap(rsp), outputs);
+
+        ContractResponse.ContractResponseBuilder builder =
+                new ContractResponse.ContractResponseBuilder()
+                        .data(out)
+                        .constant(true)
+                        .msgHash(ByteArrayWrapper.wrap(new byte[ApiUtils.MSG_HASH_LEN]))
+                        .status((byte) 0)
+                        .txHash(Hash256.ZERO_HASH());
+
+        return apiMsg.set(builder.createContractResponse(), org.aion.api.type.ApiMsg.cast.OTHERS);
+    }
+
+    ApiMsg toTxResponse(ApiMsg apiMsg, ContractAbiEntry func, List<ISolidityArg> outputs) {
+        if (apiMsg.isError()) {
+            return apiMsg;
+        }
+
+        MsgRsp msgRsp = apiMsg.getObject();
+
+        List data = null;
+        if (msgRsp.getTxResult() != null) {
+            data = decodeParams(func, msgRsp.getTxResult(), outputs);
         }
 
-        int[] offsets = getOffsets();
-        ArrayList outArray = new ArrayList();
+        ContractResponse.ContractResponseBuilder builder =
+                new ContractResponse.ContractResponseBuilder()
+                        .data(data)
+                        .constant(false)
+                        .msgHash(msgRsp.getMsgHash())
+                        .status(msgRsp.getStatus())
+                        .txHash(msgRsp.getTxHash())
+                        .error(msgRsp.getError());
+
+        return apiMsg.set(builder.createContractResponse(), org.aion.api.type.ApiMsg.cast.OTHERS);
+    }
+
+    private List decodeParams(ByteArrayWrapper data) {
+        return decodeParams(this.abiFunc, data, this.outputParams);
+    }
+
+    private List decodeParams(
+            ContractAbiEntry func, ByteArrayWrapper data, List<ISolidityArg> outputs) {
+        outputs.clear();
 
-        int count = 0;
-        for (ISolidityArg out : outputParams) {
-            int offset = offsets[count++];
-            outArray.add(out.decode(offset, data));
+        AbiCodecPlan plan = this.outputPlans.get(func);
+        if (plan.getDecoders() == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[decodeParams] {}", ErrId.getErrString(-125L));
+            }
+            throw new IllegalArgumentException("Unsupported solidity type");
         }
 
-        return outArray;
+        outputs.addAll(plan.getDecoders());
+        return plan.decode(data);
     }
 
     private List decodeParams(String event, ByteArrayWrapper data) {
@@ -895,9 +964,9 @@ public final class Contract implements IContract {
         }
 
         this.outputParams.clear();
-        List<ContractAbiEntry> abi = this.funcParams.get(event);
+        AbiCodecPlan plan = this.eventPlans.get(event);
 
-        if (abi == null) {
+        if (plan == null) {
             if (LOGGER.isWarnEnabled()) {
                 LOGGER.warn("can't find the input event name.");
             }
@@ -905,82 +974,15 @@ public final class Contract implements IContract {
             return null;
         }
 
-        for (ContractAbiEntry e : abi) {
-            for (ContractAbiIOParam io : e.inputs) {
-                switch (getSolType(io.getType())) {
-                    case ADDRESS:
-                        org.aion.api.sol.impl.Address addressVal =
-                                org.aion.api.sol.impl.Address.createForDecode();
-                        addressVal.setDynamicParameters(io.getParamLengths());
-                        addressVal.setType(io.getType());
-                        this.outputParams.add(addressVal);
-                        break;
-                    case BOOL:
-                        Bool boolVal = Bool.createForDecode();
-                        boolVal.setDynamicParameters(io.getParamLengths());
-                        boolVal.setType(io.getType());
-                        this.outputParams.add(boolVal);
-                        break;
-                    case BYTES:
-                        Bytes BytesVal = Bytes.createForDecode();
-                        BytesVal.setDynamicParameters(io.getParamLengths());
-                        BytesVal.setType(io.getType());
-                        this.outputParams.add(BytesVal);
-                        break;
-                    case DYNAMICBYTES:
-                        DynamicBytes DynamicBytesVal = DynamicBytes.createForDecode();
-                        DynamicBytesVal.setDynamicParameters(io.getParamLengths());
-                        DynamicBytesVal.setType(io.getType());
-                        this.outputParams.add(DynamicBytesVal);
-                        break;
-                    case INT:
-                        Int IntVal = Int.createForDecode();
-                        IntVal.setDynamicParameters(io.getParamLengths());
-                        IntVal.setType(io.getType());
-                        this.outputParams.add(IntVal);
-                        break;
-                        //                case REAL:
-                        //                    Real RealVal = Real.createForDecode();
-                        //                    RealVal.setDynamicParameters(io.getParamLengths());
-                        //                    RealVal.setType(io.getType());
-                        //                    this.outputParams.add(RealVal);
-                        //                    break;
-                    case STRING:
-                        SString StringVal = SString.createForDecode();
-                        StringVal.setDynamicParameters(io.getParamLengths());
-                        StringVal.setType(io.getType());
-                        this.outputParams.add(StringVal);
-                        break;
-                    case UINT:
-                        Uint UintVal = Uint.createForDecode();
-                        UintVal.setDynamicParameters(io.getParamLengths());
-                        UintVal.setType(io.getType());
-                        this.outputParams.add(UintVal);
-                        break;
-                        //                case UREAL:
-                        //                    Ureal UrealVal = Ureal.createForDecode();
-                        //                    UrealVal.setDynamicParameters(io.getParamLengths());
-                        //                    UrealVal.setType(io.getType());
-                        //                    this.outputParams.add(UrealVal);
-                        //                    break;
-                    default:
-                        if (LOGGER.isErrorEnabled()) {
-                            LOGGER.error("[decodeParams] {}", ErrId.getErrString(-125L));
-                        }
-                        return null;
-                }
+        if (plan.getDecoders() == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[decodeParams] {}", ErrId.getErrString(-125L));
             }
+            return null;
         }
 
-        int[] offsets = getOffsets();
-        ArrayList outArray = new ArrayList();
-        int count = 0;
-        for (ISolidityArg arg : this.outputParams) {
-            int offset = offsets[count++];
-            outArray.add(arg.decode(offset, data));
-        }
-
-        return outArray;
+        this.outputParams.addAll(plan.getDecoders());
+        return plan.decode(data);
     }
 
     public Contract nonBlock() {
@@ -1267,7 +1269,10 @@ public final class Contract implements IContract {
         }
 
         // call
-        ApiMsg apiMsg = this.api.getTx().call(this.txArgs);
+        ApiMsg apiMsg =
+                this.isConstant
+                        ? constantCall(this.txArgs, this.abiFunc)
+                        : this.api.getTx().call(this.txArgs);
 
         if (apiMsg.isError()) {
             return apiMsg;
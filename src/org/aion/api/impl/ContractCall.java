@@ -0,0 +1,191 @@
+package org.aion.api.impl;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.aion.api.IContractCall;
+import org.aion.api.impl.internal.AbiCallData;
+import org.aion.api.impl.internal.AbiCodecPlan;
+import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.log.AionLoggerFactory;
+import org.aion.api.log.LogEnum;
+import org.aion.api.sol.ISolidityArg;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.ContractAbiEntry;
+import org.aion.api.type.PreparedTx;
+import org.aion.api.type.TxArgs;
+import org.aion.base.util.ByteArrayWrapper;
+import org.slf4j.Logger;
+
+/**
+ * A function of a {@link Contract} prepared for repeated calls. The call data is kept encoded, a
+ * static value is written over its slot in place and a dynamic one encodes the call data again.
+ * The request of a transaction is kept encoded the same way, it is only encoded again when the
+ * length of the call data changes.
+ */
+final class ContractCall implements IContractCall {
+
+    private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.CNT.name());
+
+    private final Contract contract;
+    private final AionAPIImpl api;
+    private final ContractAbiEntry func;
+    private final TxArgs settings;
+    private final boolean constant;
+    private final boolean nonBlock;
+
+    private final AbiCallData callData;
+    private final boolean[] unbound;
+    private int unboundCount;
+    private int errorCode;
+
+    // null once a value is bound, until the next call.
+    private TxArgs args;
+    private PreparedTx prepared;
+    // the last encoded request, its call data is overwritten by the next one of the same length.
+    private byte[] template;
+    private int templateDataOffset;
+    private int templateDataLength;
+
+    ContractCall(
+            Contract contract,
+            AionAPIImpl api,
+            ContractAbiEntry func,
+            AbiCodecPlan plan,
+            List<ISolidityArg> params,
+            TxArgs built,
+            boolean constant,
+            boolean nonBlock) {
+        this.contract = contract;
+        this.api = api;
+        this.func = func;
+        this.settings = built;
+        this.constant = constant;
+        this.nonBlock = nonBlock;
+        this.callData = new AbiCallData(plan, func.inputs, params, built.getData().toBytes());
+        this.unbound = new boolean[params.size()];
+        this.args = built;
+    }
+
+    public ContractCall setParam(int index, ISolidityArg val) {
+        int code = this.callData.bind(index, val);
+        if (code != 1) {
+            return unbound(index, code);
+        }
+
+        this.args = null;
+        this.prepared = null;
+        if (this.unbound[index]) {
+            this.unbound[index] = false;
+            if (--this.unboundCount == 0) {
+                this.errorCode = 0;
+            }
+        }
+        return this;
+    }
+
+    private ContractCall unbound(int index, int code) {
+        if (LOGGER.isErrorEnabled()) {
+            LOGGER.error("[setParam] {} index#{}", ErrId.getErrString(code), index);
+        }
+
+        if (!this.unbound[index]) {
+            this.unbound[index] = true;
+            this.unboundCount++;
+        }
+        this.errorCode = code;
+        return this;
+    }
+
+    public ApiMsg execute() {
+        if (this.error()) {
+            return new ApiMsg(this.errorCode);
+        }
+
+        if (this.constant) {
+            return this.contract.toCallResponse(
+                    this.contract.constantCall(txArgs(), this.func), this.func, new ArrayList<>());
+        }
+
+        Tx tx = (Tx) this.api.getTx();
+        return this.contract.toTxResponse(
+                tx.sendPreparedTransaction(preparedTx(tx), this.nonBlock),
+                this.func,
+                new ArrayList<>());
+    }
+
+    public CompletableFuture<ApiMsg> executeAsync() {
+        if (this.error()) {
+            return CompletableFuture.completedFuture(new ApiMsg(this.errorCode));
+        }
+
+        if (this.constant) {
+            return this.contract
+                    .constantCallAsync(txArgs(), this.func)
+                    .thenApply(
+                            apiMsg ->
+                                    this.contract.toCallResponse(
+                                            apiMsg, this.func, new ArrayList<>()));
+        }
+
+        Tx tx = (Tx) this.api.getTx();
+        return tx.sendPreparedTransactionAsync(preparedTx(tx))
+                .thenApply(
+                        apiMsg -> this.contract.toTxResponse(apiMsg, this.func, new ArrayList<>()));
+    }
+
+    // built once per bound values, a later bind writes into the call data so it gets a copy.
+    private TxArgs txArgs() {
+        if (this.args == null) {
+            this.args =
+                    new TxArgs.TxArgsBuilder()
+                            .value(this.settings.getValue())
+                            .nrgPrice(this.settings.getNrgPrice())
+                            .nrgLimit(this.settings.getNrgLimit())
+                            .from(this.settings.getFrom())
+                            .to(this.settings.getTo())
+                            .data(ByteArrayWrapper.wrap(this.callData.getData().clone()))
+                            .nonce(BigInteger.ZERO)
+                            .createTxArgs();
+        }
+        return this.args;
+    }
+
+    /**
+     * The request of the bound values. Call data of the length the template was encoded with is
+     * written over the data field of the template, any other length encodes the request again.
+     */
+    private PreparedTx preparedTx(Tx tx) {
+        if (this.prepared == null) {
+            TxArgs args = txArgs();
+            byte[] data = this.callData.getData();
+            if (this.template != null && data.length == this.templateDataLength) {
+                System.arraycopy(data, 0, this.template, this.templateDataOffset, data.length);
+                this.prepared = new PreparedTx(args, this.template);
+            } else {
+                this.prepared = tx.prepareTransaction(args);
+                this.template = this.prepared.toRequest(ApiUtils.EMPTY_MSG_HASH);
+                this.templateDataOffset = tx.dataOffset(args);
+                this.templateDataLength = data.length;
+            }
+        }
+        return this.prepared;
+    }
+
+    public ByteArrayWrapper getEncodedData() {
+        return ByteArrayWrapper.wrap(this.callData.getData().clone());
+    }
+
+    public ContractAbiEntry getAbiFunction() {
+        return this.func;
+    }
+
+    public int getErrorCode() {
+        return this.errorCode;
+    }
+
+    public boolean error() {
+        return this.unboundCount > 0;
+    }
+}
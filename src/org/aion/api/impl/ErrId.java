@@ -85,6 +85,10 @@ public final class ErrId {
         ERROR_CODES.put(-327L, "Empty contract deploy response!");
         ERROR_CODES.put(-328L, "Invalid rsp msg length!");
         ERROR_CODES.put(-329L, "No valid NBFT transactions!");
+        ERROR_CODES.put(-330L, "Non-positive poll interval!");
+        ERROR_CODES.put(-331L, "Not a constant function!");
+        ERROR_CODES.put(-332L, "Receipt waiter stopped!");
+        ERROR_CODES.put(-333L, "Private key of another account!");
 
         ERROR_CODES.put(-1001L, "DestroyApi exception!");
         ERROR_CODES.put(-1002L, "Can't recv heartbeat msg!");
@@ -127,6 +131,7 @@ public final class ErrId {
         ERROR_CODES.put(55L, "MsgExecutor send failed!");
         ERROR_CODES.put(56L, "Null message hash!");
         ERROR_CODES.put(57L, "Null or incorrect message hash length input!");
+        ERROR_CODES.put(58L, "Connection lost, the request may not have reached the kernel!");
 
         ERROR_CODES.put(101L, "Transaction received!");
         ERROR_CODES.put(102L, "Transaction been dropped!");
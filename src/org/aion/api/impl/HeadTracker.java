@@ -0,0 +1,180 @@
+package org.aion.api.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.aion.api.IHeadTracker;
+import org.aion.api.impl.internal.HeadLinker;
+import org.aion.api.log.AionLoggerFactory;
+import org.aion.api.log.LogEnum;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.Block;
+import org.aion.base.type.Hash256;
+import org.slf4j.Logger;
+
+/**
+ * Polls the head of the kernel on one scheduler thread and publishes what the {@link HeadLinker}
+ * links: the new head, and the blocks a reorg rolled back.
+ */
+final class HeadTracker implements IHeadTracker {
+
+    private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.CHN.name());
+
+    private final AionAPIImpl apiInst;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final HeadLinker linker;
+
+    private volatile Block head;
+    // guarded by this.
+    private ScheduledExecutorService scheduler;
+
+    HeadTracker(AionAPIImpl inst) {
+        this.apiInst = inst;
+        this.linker =
+                new HeadLinker(
+                        new HeadLinker.Source() {
+                            @Override
+                            public long blockNumber() {
+                                ApiMsg msg = inst.getChain().blockNumber();
+                                return msg.isError() ? -1 : (long) msg.getObject();
+                            }
+
+                            @Override
+                            public Block block(long number) {
+                                return fetch(inst.getChain().getBlockByNumber(number));
+                            }
+
+                            @Override
+                            public Block block(Hash256 hash) {
+                                return fetch(inst.getChain().getBlockByHash(hash));
+                            }
+                        });
+    }
+
+    @Override
+    public synchronized ApiMsg start(long intervalMs) {
+        if (intervalMs <= 0) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[start] {}", ErrId.getErrString(-330L));
+            }
+            return new ApiMsg(-330, false, ApiMsg.cast.BOOLEAN);
+        }
+
+        if (!this.apiInst.isInitialized.get()) {
+            return new ApiMsg(-1003, false, ApiMsg.cast.BOOLEAN);
+        }
+
+        if (this.scheduler == null) {
+            this.scheduler =
+                    Executors.newSingleThreadScheduledExecutor(
+                            r -> {
+                                Thread t = new Thread(r, "headTracker");
+                                t.setDaemon(true);
+                                return t;
+                            });
+            this.scheduler.scheduleWithFixedDelay(this::poll, 0, intervalMs, TimeUnit.MILLISECONDS);
+        }
+        return new ApiMsg(true, ApiMsg.cast.BOOLEAN);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return this.scheduler != null;
+    }
+
+    @Override
+    public long getBlockNumber() {
+        Block b = this.head;
+        return b == null ? -1 : b.getNumber();
+    }
+
+    @Override
+    public Hash256 getBlockHash() {
+        Block b = this.head;
+        return b == null ? null : b.getHash();
+    }
+
+    @Override
+    public Block getHead() {
+        return this.head;
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    // a poll of a stopped scheduler may still run when the next one starts, they take turns.
+    private void poll() {
+        synchronized (this.linker) {
+            try {
+                HeadLinker.Update u = this.linker.update();
+                if (u != null) {
+                    publish(u.getHead(), u.getFromNumber(), u.getToNumber());
+                }
+            } catch (Exception e) {
+                // an exception would cancel the next polls.
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[poll] exception: [{}]", e.toString());
+                }
+            }
+        }
+    }
+
+    private void publish(Block top, long fromNumber, long toNumber) {
+        this.head = top;
+
+        if (fromNumber >= 0) {
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("[poll] Reorg, blocks [{}] to [{}] rolled back", fromNumber, toNumber);
+            }
+
+            ChainCache cache = this.apiInst.chainCache;
+            if (cache != null) {
+                cache.rollback(fromNumber);
+            }
+
+            for (Listener l : this.listeners) {
+                try {
+                    l.onReorg(fromNumber, toNumber);
+                } catch (Exception e) {
+                    if (LOGGER.isErrorEnabled()) {
+                        LOGGER.error("[onReorg] listener exception: [{}]", e.toString());
+                    }
+                }
+            }
+        }
+
+        for (Listener l : this.listeners) {
+            try {
+                l.onNewHead(top);
+            } catch (Exception e) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[onNewHead] listener exception: [{}]", e.toString());
+                }
+            }
+        }
+    }
+
+    private static Block fetch(ApiMsg msg) {
+        return msg.isError() ? null : (Block) msg.getObject();
+    }
+}
@@ -15,20 +15,29 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import org.aion.api.IUtils;
 import org.aion.api.cfg.CfgApi;
+import org.aion.api.cfg.CfgWorker;
 import org.aion.api.impl.internal.ApiUtils;
-import org.aion.api.impl.internal.LRUTimeMap;
 import org.aion.api.impl.internal.Message;
+import org.aion.api.impl.internal.PendingTxTable;
+import org.aion.api.impl.internal.TimerWheel;
+import org.aion.api.impl.internal.WindowedCalls;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
 import org.aion.api.type.ContractEvent;
@@ -55,29 +64,62 @@ public class MsgExecutor implements Runnable {
     private final String WK_BIND_ADDR = "inproc://apiWkTh";
     private final String CB_BIND_ADDR = "inproc://apicbTh";
     private final String HB_BIND_ADDR = "inproc://apihbTh";
+    private final String RPC_BIND_ADDR = "inproc://apirpcTh";
 
     private static final int HB_TOLERANCE = 3;
     private static final int HB_POLL_MS = 500;
     private static final int RECVTIMEOUT = 3000;
+    private static final int WORKER_POLL_MS = 5;
+    private static final int WORKER_IDLE_MS = 30_000;
+    private static final int RECONNECT_MIN_MS = 500;
+    private static final int RECONNECT_MAX_MS = 30_000;
+    // calls with side effects on the kernel, they are failed rather than replayed on a reconnect.
+    private static final Set<Integer> NON_IDEMPOTENT =
+            Set.of(
+                    Message.Funcs.f_sendTransaction_VALUE,
+                    Message.Funcs.f_contractDeploy_VALUE,
+                    Message.Funcs.f_submitWork_VALUE,
+                    Message.Funcs.f_accountCreate_VALUE,
+                    Message.Funcs.f_importAccounts_VALUE);
     private static String ServerPubkeyString;
 
     private byte[] serverPubKey;
-    // = If api is unresponsive for more than ~2 seconds, kill the api.
-    // TODO: implement auto-reconnect on kernel failure
+    // = If api is unresponsive for more than ~2 seconds, kill the api, or reconnect when enabled.
+    private final boolean reconnect;
+    // set by the heartbeat thread, the msg thread reopens the kernel socket and clears it.
+    private volatile boolean linkDown = false;
 
     // TODO: update kernel api privilege then remove this flag
     private final boolean PRIVILEGE = true; // temp flag
-    private Socket nbSocket;
     AtomicBoolean isInitialized = new AtomicBoolean(false);
-    private Map<ByteArrayWrapper, MsgRsp> hashMap;
+    private final PendingTxTable<PendingTx> txTable = new PendingTxTable<>(maxPenddingTx << 1);
+
+    // Synchronous calls in flight, keyed by the msg hash tagged onto each request.
+    private final Map<ByteArrayWrapper, RpcCall> rpcMap = new ConcurrentHashMap<>();
+    private final BlockingQueue<byte[]> rpcQueue = new LinkedBlockingQueue<>(qSize);
+    // (serv << 8 | func) -> whether the kernel echoes the msg hash in the response of the call.
+    // Calls not known to echo are serialized, so an untagged response has exactly one owner.
+    private final Map<Integer, Boolean> rpcEcho = new ConcurrentHashMap<>();
+    private final Semaphore rpcSerial = new Semaphore(1);
+    private volatile RpcCall rpcSerialCall;
+    private int timeout = 300_000;
     private Map<String, BlockingQueue<Event>> eventMap;
-    private AtomicInteger penddingTx = new AtomicInteger(0);
+    // One permit per transaction that has not reached an end state yet.
+    private final Semaphore penddingTx = new Semaphore(maxPenddingTx);
     private BlockingQueue<MsgReq> queue = new LinkedBlockingQueue<>(qSize);
     private int ver;
     private String url;
     private volatile boolean running = true;
     private Thread msgThread;
+    // worker threads kept alive, more are started up to maxWorkers when autoScale is on.
     private int workers = 1;
+    private int maxWorkers = 1;
+    private int outstanding = 1;
+    private boolean autoScale = false;
+    private final AtomicInteger activeWorkers = new AtomicInteger(0);
+    private final AtomicInteger wkSeq = new AtomicInteger(0);
+    // tx requests sent by the workers and not answered yet.
+    private final AtomicInteger inFlight = new AtomicInteger(0);
     private String addrBindNumber;
     private Map<String, Boolean> privilege;
 
@@ -96,18 +138,23 @@ public class MsgExecutor implements Runnable {
     MsgExecutor(int protocolVer, String url) {
         this.ver = protocolVer;
         this.url = url;
+        this.reconnect = false;
         this.addrBindNumber = Arrays.toString(ApiUtils.genHash(8));
-        this.hashMap = Collections.synchronizedMap(new LRUTimeMap<>(maxPenddingTx << 1));
         this.eventMap = Collections.synchronizedMap(new LRUMap<>(100));
         initPriviege();
     }
 
     MsgExecutor(int protocolVer, String url, int timeout, String pubkey) {
+        this(protocolVer, url, timeout, pubkey, false);
+    }
+
+    MsgExecutor(int protocolVer, String url, int timeout, String pubkey, boolean reconnect) {
         this.ver = protocolVer;
         this.url = url;
         this.addrBindNumber = Arrays.toString(ApiUtils.genHash(8));
-        this.hashMap = Collections.synchronizedMap(new LRUTimeMap<>(maxPenddingTx << 1, timeout));
         this.eventMap = Collections.synchronizedMap(new LRUMap<>(100));
+        this.timeout = timeout;
+        this.reconnect = reconnect;
         ServerPubkeyString = pubkey;
         initPriviege();
     }
@@ -127,54 +174,66 @@ public class MsgExecutor implements Runnable {
         return this.privilege;
     }
 
-    private void update(ByteArrayWrapper msgHash, ByteArrayWrapper rsp, int status)
+    // true while the heartbeat gets through.
+    boolean isHealthy() {
+        return this.running && this.isInitialized.get() && !this.linkDown;
+    }
+
+    // requests waiting for the kernel, the sync calls and the transactions not ended yet.
+    int outstanding() {
+        return this.rpcMap.size() + this.maxPenddingTx - this.penddingTx.availablePermits();
+    }
+
+    private void update(long msgHash, ByteArrayWrapper rsp, int status)
             throws CloneNotSupportedException {
 
-        if (msgHash == null || rsp == null) {
-            throw new NullPointerException(
-                    "msgHash#" + String.valueOf(msgHash) + " rsp#" + String.valueOf(rsp));
+        if (rsp == null) {
+            throw new NullPointerException("rsp#null");
         }
 
-        MsgRsp newRsp = this.hashMap.get(msgHash);
-        if (newRsp == null) {
+        PendingTx tx = this.txTable.get(msgHash);
+        if (tx == null) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[update] Can not find the msgHash in the msgMap.");
             }
             return;
         }
 
-        MsgRsp msgRsp = MsgRsp.copy(newRsp);
+        String error = null;
+        ByteArrayWrapper txResult = null;
+        ByteArrayWrapper txDeploy = null;
+        Hash256 txHash = null;
         boolean update = false;
 
         if (rsp.getData().length > 0) {
             try {
                 if (status != 101) {
                     if (rsp.getData()[0] > 0 && rsp.getData().length > rsp.getData()[0]) {
-                        msgRsp.setError(new String(rsp.getData(), 1, rsp.getData()[0]));
+                        error = new String(rsp.getData(), 1, rsp.getData()[0]);
                     }
 
                     if (status == 105) {
-                        msgRsp.setTxResult(
+                        txResult =
                                 ByteArrayWrapper.wrap(
                                         Arrays.copyOfRange(
                                                 rsp.getData(),
                                                 rsp.getData()[0] + 1,
-                                                rsp.getData().length)));
+                                                rsp.getData().length));
                     }
                 } else {
                     // if response message = 68, that is a contract deploy
                     if (rsp.getData().length == 68) {
                         Message.rsp_contractDeploy result =
                                 Message.rsp_contractDeploy.parseFrom(rsp.getData());
-                        msgRsp.setTxHash(Hash256.wrap(result.getTxHash().toByteArray()));
-                        msgRsp.setTxDeploy(ByteArrayWrapper.wrap(rsp.getData()));
+                        txHash = Hash256.wrap(result.getTxHash().toByteArray());
+                        txDeploy = ByteArrayWrapper.wrap(rsp.getData());
                     } else {
-                        msgRsp.setTxHash(
+                        txHash =
                                 Hash256.wrap(
                                         Message.rsp_sendTransaction
                                                 .parseFrom(rsp.getData())
                                                 .getTxHash()
-                                                .toByteArray()));
+                                                .toByteArray());
                     }
                 }
 
@@ -186,28 +245,65 @@ public class MsgExecutor implements Runnable {
             }
         }
 
-        if ((byte) status > msgRsp.getStatus() || status < 1) {
-            msgRsp.setPreStatus(msgRsp.getStatus());
-            msgRsp.setStatus((byte) status);
-            this.hashMap.replace(msgHash, msgRsp);
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(
-                        "[update] Msg: [{}] Msgbody: [{}]",
-                        msgHash.toString(),
-                        msgRsp.getTxHash().toString());
+        // callbacks of one transaction can be handled by different workers, every update is
+        // applied as a whole on the latest status.
+        for (; ; ) {
+            MsgRsp cur = tx.rsp.get();
+            boolean transit = (byte) status > cur.getStatus() || status < 1;
+            if (!transit && !update) {
+                return;
             }
-        } else if (update) {
-            this.hashMap.replace(msgHash, msgRsp);
+
+            MsgRsp msgRsp = MsgRsp.copy(cur);
+            if (error != null) {
+                msgRsp.setError(error);
+            }
+            if (txResult != null) {
+                msgRsp.setTxResult(txResult);
+            }
+            if (txHash != null) {
+                msgRsp.setTxHash(txHash);
+            }
+            if (txDeploy != null) {
+                msgRsp.setTxDeploy(txDeploy);
+            }
+            if (transit) {
+                msgRsp.setPreStatus(cur.getStatus());
+                msgRsp.setStatus((byte) status);
+            }
+
+            if (!tx.rsp.compareAndSet(cur, msgRsp)) {
+                continue;
+            }
+
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(
-                        "[update] late update Msg: [{}] Msgbody: [{}]",
-                        msgHash.toString(),
+                        transit
+                                ? "[update] Msg: [{}] Msgbody: [{}]"
+                                : "[update] late update Msg: [{}] Msgbody: [{}]",
+                        msgRsp.getMsgHash().toString(),
                         msgRsp.getTxHash().toString());
             }
+
+            if (this.endState(msgRsp.getStatus()) && tx.settled.compareAndSet(false, true)) {
+                clearTx(tx, msgHash, status);
+            }
+            notifyWaiter(tx, msgRsp);
+            return;
+        }
+    }
+
+    private void notifyWaiter(PendingTx tx, MsgRsp msgRsp) throws CloneNotSupportedException {
+        if (msgRsp.getStatus() != Message.Retcode.r_tx_Init_VALUE) {
+            tx.recved.complete(MsgRsp.copy(msgRsp));
+        }
+
+        if (this.endState(msgRsp.getStatus())) {
+            tx.done.complete(MsgRsp.copy(msgRsp));
         }
     }
 
-    private synchronized void process(final byte[] rsp) {
+    private void process(final byte[] rsp) {
         if (rsp == null) {
             return;
         }
@@ -240,7 +336,10 @@ public class MsgExecutor implements Runnable {
             updatePrivilege(ApiUtils.parseBody(rsp));
         } else {
             try {
-                update(ApiUtils.parseHash(rsp), ApiUtils.parseBody(rsp), (int) rsp[1]);
+                update(
+                        PendingTxTable.toKey(rsp, ApiUtils.RSP_HEADER_NOHASH_LEN),
+                        ApiUtils.parseBody(rsp),
+                        (int) rsp[1]);
             } catch (CloneNotSupportedException e) {
                 if (LOGGER.isErrorEnabled()) {
                     LOGGER.error(
@@ -324,48 +423,7 @@ public class MsgExecutor implements Runnable {
         Socket feSocket = null;
         try {
             Context ctx = ZMQ.context(1);
-            feSocket = ctx.socket(ZMQ.DEALER);
-
-            if (CfgApi.inst().isSecureConnectEnabled()) {
-                if (ServerPubkeyString != null && !ServerPubkeyString.isEmpty()) {
-                    LOGGER.info(
-                            "Set secure connect with input server public key string! [{}]",
-                            ServerPubkeyString);
-                    ZMQ.Curve.KeyPair kp = ZMQ.Curve.generateKeyPair();
-                    if (kp != null) {
-                        feSocket.setCurvePublicKey(kp.publicKey.getBytes());
-                        feSocket.setCurveSecretKey(kp.secretKey.getBytes());
-                        feSocket.setCurveServerKey(ServerPubkeyString.getBytes());
-                        LOGGER.info("Secure connection enabled!");
-                    } else {
-                        LOGGER.error(
-                                "Can't generate client curve keypair. Secured connection disabled!");
-                    }
-                } else {
-                    LOGGER.info("Loading the connecting server's public key from the folder!");
-                    loadServerPubKey();
-                    if (serverPubKey != null) {
-                        LOGGER.info("Found the connecting server's public key in the folder!");
-                        ZMQ.Curve.KeyPair kp = ZMQ.Curve.generateKeyPair();
-                        if (kp != null) {
-                            feSocket.setCurvePublicKey(kp.publicKey.getBytes());
-                            feSocket.setCurveSecretKey(kp.secretKey.getBytes());
-                            feSocket.setCurveServerKey(serverPubKey);
-                            LOGGER.info("Secure connection enabled!");
-                        } else {
-                            LOGGER.error(
-                                    "Can't generate client curve keypair. Secure connection disabled!");
-                        }
-                    } else {
-                        LOGGER.info(
-                                "Can't find the connecting server's public key. Secured connection disabled!");
-                    }
-                }
-            } else {
-                LOGGER.info("Secured connection disabled due to config settings!");
-            }
-
-            feSocket.connect(this.url);
+            feSocket = openFeSocket(ctx);
 
             byte[] req = ApiUtils.toReqHeader(this.ver, Message.Servs.s_hb, Message.Funcs.f_NA);
 
@@ -430,51 +488,39 @@ public class MsgExecutor implements Runnable {
             Socket cbSocket = ctx.socket(ZMQ.DEALER);
             cbSocket.bind(CB_BIND_ADDR + addrBindNumber);
 
-            Socket nbDealer = ctx.socket(ZMQ.DEALER);
-            String NB_BIND_ADDR = "inproc://apinbTh";
-            nbDealer.bind(NB_BIND_ADDR + addrBindNumber);
+            Socket rpcDealer = ctx.socket(ZMQ.DEALER);
+            rpcDealer.bind(RPC_BIND_ADDR + addrBindNumber);
 
             Socket hbDealer = ctx.socket(ZMQ.DEALER);
             hbDealer.bind(HB_BIND_ADDR + addrBindNumber);
 
-            nbSocket = ctx.socket(ZMQ.DEALER);
-            nbSocket.setReceiveTimeOut(RECVTIMEOUT);
-            nbSocket.connect(NB_BIND_ADDR + addrBindNumber);
-
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("worker connected!");
             }
 
-            int thNum = workers + 2;
-            if (thNum < 3) {
-                thNum = 3;
-            }
-
-            ExecutorService es = Executors.newFixedThreadPool(thNum);
-            for (int i = 0; i < thNum; i++) {
-                if (i == 0) {
-                    es.execute(
-                            () -> {
-                                Thread.currentThread().setName("es_hb0");
-                                heartBeatRun(ctx);
-                            });
-                } else if (i == 1) {
-                    es.execute(
-                            () -> {
-                                Thread.currentThread().setName("ws_cb0");
-                                callbackRun(ctx);
-                            });
-                } else {
-                    int finalI = i;
-                    es.execute(
-                            () -> {
-                                Thread.currentThread().setName("es_wk" + (finalI - 2));
-                                workerRun(ctx);
-                            });
-                }
+            ExecutorService es = Executors.newCachedThreadPool();
+            es.execute(
+                    () -> {
+                        Thread.currentThread().setName("es_hb0");
+                        heartBeatRun(ctx);
+                    });
+            es.execute(
+                    () -> {
+                        Thread.currentThread().setName("ws_cb0");
+                        callbackRun(ctx);
+                    });
+            es.execute(
+                    () -> {
+                        Thread.currentThread().setName("es_rpc0");
+                        rpcRun(ctx);
+                    });
+
+            this.activeWorkers.set(this.workers);
+            for (int i = 0; i < this.workers; i++) {
+                startWorker(es, ctx);
             }
 
-            proxy(feSocket, beSocket, cbSocket, nbDealer, hbDealer);
+            feSocket = proxy(ctx, feSocket, beSocket, cbSocket, rpcDealer, hbDealer);
 
             // Shutdown ZmqSocket
             LOGGER.debug("shutting down ZmqSocket.");
@@ -482,11 +528,12 @@ public class MsgExecutor implements Runnable {
             sleep(3000L);
 
             hbDealer.close();
-            nbDealer.close();
+            rpcDealer.close();
             cbSocket.close();
             beSocket.close();
-            feSocket.close();
-            nbSocket.close();
+            if (feSocket != null) {
+                feSocket.close();
+            }
 
             es.shutdown();
 
@@ -513,10 +560,154 @@ public class MsgExecutor implements Runnable {
             }
         } finally {
             this.isInitialized.set(false);
+            failRpcs();
             LOGGER.info("socket disconnected!");
         }
     }
 
+    // the calls not waited for by a thread would only end with their timeout.
+    private void failRpcs() {
+        for (RpcCall call : this.rpcMap.values()) {
+            call.rsp.complete(null);
+        }
+    }
+
+    private Socket openFeSocket(Context ctx) {
+        Socket feSocket = ctx.socket(ZMQ.DEALER);
+
+        if (CfgApi.inst().isSecureConnectEnabled()) {
+            if (ServerPubkeyString != null && !ServerPubkeyString.isEmpty()) {
+                LOGGER.info(
+                        "Set secure connect with input server public key string! [{}]",
+                        ServerPubkeyString);
+                ZMQ.Curve.KeyPair kp = ZMQ.Curve.generateKeyPair();
+                if (kp != null) {
+                    feSocket.setCurvePublicKey(kp.publicKey.getBytes());
+                    feSocket.setCurveSecretKey(kp.secretKey.getBytes());
+                    feSocket.setCurveServerKey(ServerPubkeyString.getBytes());
+                    LOGGER.info("Secure connection enabled!");
+                } else {
+                    LOGGER.error(
+                            "Can't generate client curve keypair. Secured connection disabled!");
+                }
+            } else {
+                LOGGER.info("Loading the connecting server's public key from the folder!");
+                loadServerPubKey();
+                if (serverPubKey != null) {
+                    LOGGER.info("Found the connecting server's public key in the folder!");
+                    ZMQ.Curve.KeyPair kp = ZMQ.Curve.generateKeyPair();
+                    if (kp != null) {
+                        feSocket.setCurvePublicKey(kp.publicKey.getBytes());
+                        feSocket.setCurveSecretKey(kp.secretKey.getBytes());
+                        feSocket.setCurveServerKey(serverPubKey);
+                        LOGGER.info("Secure connection enabled!");
+                    } else {
+                        LOGGER.error(
+                                "Can't generate client curve keypair. Secure connection disabled!");
+                    }
+                } else {
+                    LOGGER.info(
+                            "Can't find the connecting server's public key. Secured connection disabled!");
+                }
+            }
+        } else {
+            LOGGER.info("Secured connection disabled due to config settings!");
+        }
+
+        feSocket.connect(this.url);
+        return feSocket;
+    }
+
+    /**
+     * Replaces a kernel socket which stopped answering the heartbeat. The connection is retried
+     * with an exponential backoff until a heartbeat gets through or the executor is terminated.
+     *
+     * @return the new socket, or null if the executor was terminated first.
+     */
+    private Socket reconnect(Context ctx, Socket feSocket) {
+        // requests still buffered by the old socket are replayed below.
+        feSocket.setLinger(0);
+        feSocket.close();
+
+        byte[] hbMsg = ApiUtils.toReqHeader(this.ver, Message.Servs.s_hb, Message.Funcs.f_NA);
+        long backoff = RECONNECT_MIN_MS;
+        while (this.running) {
+            Socket socket = openFeSocket(ctx);
+            socket.setReceiveTimeOut(RECVTIMEOUT);
+            if (socket.send(hbMsg, ZMQ.DONTWAIT) && !checkNotHbRspMsg(socket.recv(ZMQ.PAIR))) {
+                replay(socket);
+                this.linkDown = false;
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("[reconnect] connection restored!");
+                }
+                return socket;
+            }
+
+            socket.setLinger(0);
+            socket.close();
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("[reconnect] kernel unreachable, retry in [{}] ms", backoff);
+            }
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                break;
+            }
+            backoff = Math.min(backoff << 1, RECONNECT_MAX_MS);
+        }
+
+        return null;
+    }
+
+    /**
+     * Sends again what the old socket took and the kernel may never have seen. Reads and signed
+     * transactions not acknowledged yet are sent again; any other request is failed, its callbacks
+     * were bound to the old socket.
+     */
+    private void replay(Socket feSocket) {
+        int calls = 0;
+        int txs = 0;
+        int failed = 0;
+        for (RpcCall call : this.rpcMap.values()) {
+            if (!call.sent || call.rsp.isDone()) {
+                continue;
+            }
+
+            if (NON_IDEMPOTENT.contains((int) call.req[2]) || !feSocket.send(call.req, ZMQ.PAIR)) {
+                call.rsp.complete(null);
+                failed++;
+            } else {
+                calls++;
+            }
+        }
+
+        for (PendingTx tx : this.txTable.values()) {
+            if (!tx.sent || tx.settled.get()) {
+                continue;
+            }
+
+            MsgRsp rsp = tx.rsp.get();
+            if (tx.replay != null && rsp.getStatus() == Message.Retcode.r_tx_Init_VALUE) {
+                tx.sent = false;
+                if (this.queue.offer(new MsgReq(rsp.getMsgHash().getData(), tx.replay))) {
+                    txs++;
+                    continue;
+                }
+            }
+
+            abort(tx.key, tx, 58);
+            failed++;
+        }
+
+        // the answers of the requests in flight are lost with the old socket.
+        this.inFlight.set(0);
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("[replay] calls: [{}] txs: [{}] failed: [{}]", calls, txs, failed);
+        }
+    }
+
     private static List<File> getFiles() {
         File[] files = PATH.toFile().listFiles();
         return files != null ? Arrays.asList(files) : Collections.emptyList();
@@ -547,7 +738,29 @@ public class MsgExecutor implements Runnable {
         int hbTolerance = HB_TOLERANCE;
         byte[] hbMsg = ApiUtils.toReqHeader(this.ver, Message.Servs.s_hb, Message.Funcs.f_NA);
 
-        while (this.running && hbTolerance > 0) {
+        while (this.running) {
+            if (hbTolerance == 0) {
+                if (!this.reconnect) {
+                    break;
+                }
+
+                if (!this.linkDown) {
+                    LOGGER.warn("timeout, reconnect the connection!");
+                    this.linkDown = true;
+                }
+
+                // wait for the msg thread to bring the connection back.
+                try {
+                    Thread.sleep(HB_POLL_MS);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+                if (!this.linkDown) {
+                    hbTolerance = HB_TOLERANCE;
+                }
+                continue;
+            }
+
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("send hb!");
             }
@@ -611,54 +824,136 @@ public class MsgExecutor implements Runnable {
         LOGGER.info("closed!");
     }
 
-    private void workerRun(Context ctx) {
-        Socket worker = ctx.socket(ZMQ.DEALER);
-        worker.connect(WK_BIND_ADDR + addrBindNumber);
-        worker.setReceiveTimeOut(RECVTIMEOUT);
+    private void rpcRun(Context ctx) {
+        Socket rpcWorker = ctx.socket(ZMQ.DEALER);
+        rpcWorker.connect(RPC_BIND_ADDR + addrBindNumber);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("connected!");
         }
 
-        while (true) {
-            MsgReq msg = null;
+        while (this.running) {
+            byte[] req = null;
             try {
-                msg = queue.poll(RECVTIMEOUT, TimeUnit.MILLISECONDS);
+                req = rpcQueue.poll(RECVTIMEOUT, TimeUnit.MILLISECONDS);
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
 
-            if (!this.running) {
-                break;
-            }
+            if (req != null && !rpcWorker.send(req, ZMQ.PAIR)) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("send msg failed. Msg: [{}]", IUtils.bytes2Hex(req));
+                }
 
-            if (msg != null && msg.req != null) {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("poll q: [{}]", IUtils.bytes2Hex(msg.hash));
+                RpcCall call = this.rpcMap.get(rpcKey(req));
+                if (call != null) {
+                    call.rsp.complete(null);
                 }
+            }
+        }
 
-                if (!worker.send(msg.req, ZMQ.PAIR)) {
+        LOGGER.info("closing!");
+        rpcWorker.close();
+        LOGGER.info("closed!");
+    }
+
+    private void startWorker(ExecutorService es, Context ctx) {
+        int id = this.wkSeq.getAndIncrement();
+        es.execute(
+                () -> {
+                    Thread.currentThread().setName("es_wk" + id);
+                    workerRun(es, ctx);
+                });
+    }
+
+    /**
+     * Sends queued tx requests while fewer than {@code outstanding} per worker are unanswered. The
+     * proxy spreads the responses over the workers, so a worker may take the response of a
+     * request another worker sent; it never waits on the queue longer than {@code WORKER_POLL_MS}
+     * so a response routed to it is not held up.
+     */
+    private void workerRun(ExecutorService es, Context ctx) {
+        Socket worker = ctx.socket(ZMQ.DEALER);
+        worker.connect(WK_BIND_ADDR + addrBindNumber);
+        PollItem[] items = {new PollItem(worker, ZMQ.Poller.POLLIN)};
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("connected!");
+        }
+
+        long idleSince = System.currentTimeMillis();
+        long fullSince = 0;
+        while (this.running) {
+            if (recvAll(worker) > 0) {
+                fullSince = 0;
+            }
+
+            int window = this.activeWorkers.get() * this.outstanding;
+            if (this.inFlight.get() >= window) {
+                long now = System.currentTimeMillis();
+                if (fullSince == 0) {
+                    fullSince = now;
+                } else if (now - fullSince > RECVTIMEOUT) {
+                    // the kernel lost some requests, count again the ones still unanswered.
+                    int unanswered = unanswered();
                     if (LOGGER.isErrorEnabled()) {
-                        LOGGER.error("send msg failed. Msg: [{}]", IUtils.bytes2Hex(msg.req));
+                        LOGGER.error(
+                                "recv msg timeout, [{}] of [{}] requests unanswered",
+                                unanswered,
+                                window);
                     }
+                    this.inFlight.set(unanswered);
+                    fullSince = 0;
                     continue;
                 }
 
-                byte[] rsp = worker.recv(ZMQ.PAIR);
-                if (this.running) {
-                    if (rsp == null) {
-                        if (LOGGER.isErrorEnabled()) {
-                            LOGGER.error("recv msg: [null]");
-                        }
-                        return;
-                    }
+                ZMQ.poll(items, WORKER_POLL_MS);
+                continue;
+            }
+            fullSince = 0;
+
+            MsgReq msg = null;
+            try {
+                msg = queue.poll(WORKER_POLL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
 
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("recv msg: [{}]", IUtils.bytes2Hex(rsp));
+            if (msg == null || msg.req == null) {
+                if (this.autoScale
+                        && this.inFlight.get() == 0
+                        && System.currentTimeMillis() - idleSince > WORKER_IDLE_MS
+                        && retireWorker()) {
+                    // the replies already routed to this socket belong to other workers' requests.
+                    worker.disconnect(WK_BIND_ADDR + addrBindNumber);
+                    while (ZMQ.poll(items, WORKER_POLL_MS) > 0 && recvAll(worker) > 0) {
+                        // drain until nothing more arrives.
                     }
-                    process(rsp);
-                } else {
                     break;
                 }
+                continue;
+            }
+            idleSince = System.currentTimeMillis();
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("poll q: [{}]", IUtils.bytes2Hex(msg.hash));
+            }
+
+            if (!worker.send(msg.req, ZMQ.PAIR)) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("send msg failed. Msg: [{}]", IUtils.bytes2Hex(msg.req));
+                }
+                continue;
+            }
+            this.inFlight.incrementAndGet();
+            PendingTx tx = this.txTable.get(PendingTxTable.toKey(msg.hash));
+            if (tx != null) {
+                tx.dispatched = true;
+            }
+
+            if (this.autoScale && this.queue.size() > window && addWorker()) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("[workerRun] queue depth [{}], add a worker", this.queue.size());
+                }
+                startWorker(es, ctx);
             }
         }
 
@@ -667,18 +962,82 @@ public class MsgExecutor implements Runnable {
         LOGGER.info("closed!");
     }
 
-    private void proxy(
-            Socket feSocket, Socket beSocket, Socket cbSocket, Socket nbDealer, Socket hbDealer) {
+    // processes the responses waiting on the worker socket, returns how many there were.
+    private int recvAll(Socket worker) {
+        int n = 0;
+        byte[] rsp;
+        while ((rsp = worker.recv(ZMQ.DONTWAIT)) != null) {
+            this.inFlight.updateAndGet(i -> i > 0 ? i - 1 : 0);
+            n++;
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("recv msg: [{}]", IUtils.bytes2Hex(rsp));
+            }
+            process(rsp);
+        }
+        return n;
+    }
+
+    // tx requests handed to the kernel socket the kernel has not answered yet.
+    private int unanswered() {
+        int n = 0;
+        for (PendingTx tx : this.txTable.values()) {
+            if (tx.dispatched
+                    && !tx.settled.get()
+                    && tx.rsp.get().getStatus() == Message.Retcode.r_tx_Init_VALUE) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private boolean addWorker() {
+        int n;
+        do {
+            n = this.activeWorkers.get();
+            if (n >= this.maxWorkers) {
+                return false;
+            }
+        } while (!this.activeWorkers.compareAndSet(n, n + 1));
+        return true;
+    }
+
+    private boolean retireWorker() {
+        int n;
+        do {
+            n = this.activeWorkers.get();
+            if (n <= this.workers) {
+                return false;
+            }
+        } while (!this.activeWorkers.compareAndSet(n, n - 1));
+        return true;
+    }
+
+    /** @return the kernel socket in use when the proxy exits, null if it was lost. */
+    private Socket proxy(
+            Context ctx,
+            Socket feSocket,
+            Socket beSocket,
+            Socket cbSocket,
+            Socket rpcDealer,
+            Socket hbDealer) {
         PollItem[] items = new PollItem[4];
         items[0] = new PollItem(feSocket, ZMQ.Poller.POLLIN);
         items[1] = new PollItem(beSocket, ZMQ.Poller.POLLIN);
-        items[2] = new PollItem(nbDealer, ZMQ.Poller.POLLIN);
+        items[2] = new PollItem(rpcDealer, ZMQ.Poller.POLLIN);
         items[3] = new PollItem(hbDealer, ZMQ.Poller.POLLIN);
 
         try {
             this.isInitialized.set(true);
 
             while (this.running) {
+                if (this.linkDown) {
+                    feSocket = reconnect(ctx, feSocket);
+                    if (feSocket == null) {
+                        break;
+                    }
+                    items[0] = new PollItem(feSocket, ZMQ.Poller.POLLIN);
+                }
+
                 //  Wait while there are either requests or replies to process.
                 int rc = ZMQ.poll(items, 3000);
                 if (rc < 1) {
@@ -691,7 +1050,7 @@ public class MsgExecutor implements Runnable {
                 //  Process a reply.
                 if (items[0].isReadable()) {
                     while (true) {
-                        if (!msgHandle(feSocket, beSocket, cbSocket, nbDealer, hbDealer)) {
+                        if (!msgHandle(feSocket, beSocket, cbSocket, hbDealer)) {
                             throw new Exception("ZMQ items[0] handle abnormal!");
                         }
                         break;
@@ -700,7 +1059,8 @@ public class MsgExecutor implements Runnable {
                 //  Process a request.
                 if (items[1].isReadable()) {
                     while (true) {
-                        if (invalidMsgHandle(beSocket, feSocket)) {
+                        if (invalidMsgHandle(
+                                beSocket, feSocket, this.reconnect ? this::txSent : null)) {
                             throw new Exception("ZMQ items[1] handle abnormal!");
                         }
                         break;
@@ -710,7 +1070,8 @@ public class MsgExecutor implements Runnable {
                 //  Process a request.
                 if (items[2].isReadable()) {
                     while (true) {
-                        if (invalidMsgHandle(nbDealer, feSocket)) {
+                        if (invalidMsgHandle(
+                                rpcDealer, feSocket, this.reconnect ? this::rpcSent : null)) {
                             throw new Exception("ZMQ items[2] handle abnormal!");
                         }
                         break;
@@ -735,10 +1096,35 @@ public class MsgExecutor implements Runnable {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("socket proxy exit!");
         }
+        return feSocket;
+    }
+
+    // marks the requests handed to the kernel socket, they are replayed if the socket is lost.
+    private void txSent(byte[] req) {
+        if (req.length >= ApiUtils.REQ_HEADER_LEN && req[3] == 1) {
+            PendingTx tx =
+                    this.txTable.get(PendingTxTable.toKey(req, ApiUtils.REQ_HEADER_NOHASH_LEN));
+            if (tx != null) {
+                tx.sent = true;
+            }
+        }
     }
 
-    private boolean msgHandle(
-            Socket receiver, Socket sender, Socket sender2, Socket sender3, Socket sender4) {
+    private void rpcSent(byte[] req) {
+        if (req.length >= ApiUtils.REQ_HEADER_LEN && req[3] == 1) {
+            RpcCall call = this.rpcMap.get(rpcKey(req));
+            if (call != null) {
+                call.sent = true;
+            }
+        }
+    }
+
+    private static ByteArrayWrapper rpcKey(byte[] req) {
+        return ByteArrayWrapper.wrap(
+                Arrays.copyOfRange(req, ApiUtils.REQ_HEADER_NOHASH_LEN, ApiUtils.REQ_HEADER_LEN));
+    }
+
+    private boolean msgHandle(Socket receiver, Socket sender, Socket sender2, Socket sender3) {
 
         byte[] msg = receiver.recv(ZMQ.PAIR);
         if (msg == null) {
@@ -771,22 +1157,20 @@ public class MsgExecutor implements Runnable {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("[msgHandle] forward to hbDealer.");
             }
-            if (!sender4.send(msg, ZMQ.PAIR)) {
+            if (!sender3.send(msg, ZMQ.PAIR)) {
                 if (LOGGER.isErrorEnabled()) {
                     LOGGER.error("[msgHandle] hbDealer{}", ErrId.getErrString(-323L));
                 }
                 return false;
             }
         } else {
-            if (msg[2] == 0) {
+            if (completeRpc(msg)) {
                 if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("[msgHandle] forward to nonBlockSender.");
+                    LOGGER.debug("[msgHandle] forward to rpcCaller.");
                 }
-                if (!sender3.send(msg, ZMQ.PAIR)) {
-                    if (LOGGER.isErrorEnabled()) {
-                        LOGGER.error("[msgHandle] nonBlockSender{}", ErrId.getErrString(-323L));
-                    }
-                    return false;
+            } else if (msg[2] == 0) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[msgHandle] Drop unmatched rsp: [{}]", IUtils.bytes2Hex(msg));
                 }
             } else {
                 if (LOGGER.isDebugEnabled()) {
@@ -804,7 +1188,31 @@ public class MsgExecutor implements Runnable {
         return true;
     }
 
+    private boolean completeRpc(byte[] msg) {
+        CompletableFuture<byte[]> rsp;
+        if (msg[2] == 1) {
+            if (msg.length < ApiUtils.RSP_HEADER_LEN) {
+                return false;
+            }
+            RpcCall call = this.rpcMap.get(ApiUtils.parseHash(msg));
+            rsp = call != null ? call.rsp : null;
+        } else {
+            // only a call of a function not known to echo the hash can own an untagged response.
+            RpcCall call = this.rpcSerialCall;
+            rsp =
+                    call != null && !Boolean.TRUE.equals(this.rpcEcho.get(call.func()))
+                            ? call.rsp
+                            : null;
+        }
+
+        return rsp != null && rsp.complete(msg);
+    }
+
     private boolean invalidMsgHandle(Socket receiver, Socket sender) {
+        return invalidMsgHandle(receiver, sender, null);
+    }
+
+    private boolean invalidMsgHandle(Socket receiver, Socket sender, Consumer<byte[]> onSent) {
 
         byte[] msg = receiver.recv(ZMQ.PAIR);
         if (msg == null) {
@@ -821,6 +1229,9 @@ public class MsgExecutor implements Runnable {
             return true;
         }
 
+        if (onSent != null) {
+            onSent.accept(msg);
+        }
         return false;
     }
 
@@ -856,60 +1267,308 @@ public class MsgExecutor implements Runnable {
         return false;
     }
 
-    Future<MsgRsp> aSyncSend(byte[] hash, byte[] req) {
-        new CompletableFuture();
-        return CompletableFuture.supplyAsync(
-                () -> {
-                    int code = this.put(hash, req);
-                    if (1 == code) {
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug(
-                                    "[aSyncSend] Req msg put: [{}] req: [{}]",
-                                    IUtils.bytes2Hex(hash),
-                                    IUtils.bytes2Hex(req));
-                        }
-                        MsgRsp msgRsp = this.getStatus(ByteArrayWrapper.wrap(hash));
-                        long start = System.currentTimeMillis();
-                        boolean timeout = false;
-                        while (msgRsp != null && !this.endState(msgRsp.getStatus())) {
-
-                            if (System.currentTimeMillis() - start > 180_000) {
-                                timeout = true;
-                                break;
-                            }
+    /** Queues a transaction request, failing fast when the pending tx limit is reached. */
+    CompletableFuture<MsgRsp> aSyncSend(byte[] hash, byte[] req) {
+        return aSyncSend(hash, req, false);
+    }
 
-                            msgRsp = this.getStatus(ByteArrayWrapper.wrap(hash));
-                            try {
-                                sleep(500);
-                            } catch (InterruptedException e) {
-                                if (LOGGER.isErrorEnabled()) {
-                                    LOGGER.error(
-                                            "[aSyncSend] {} Exception: [{}]",
-                                            ErrId.getErrString(50L),
-                                            e.getMessage());
-                                }
-                                return new MsgRsp(50, null);
-                            }
-                        }
+    /**
+     * Queues a transaction request and returns a future completed by the callback worker once the
+     * transaction reaches an end state.
+     *
+     * @param wait when true and the pending tx limit is reached, the caller is held back until a
+     *     pending transaction ends rather than failing right away.
+     */
+    CompletableFuture<MsgRsp> aSyncSend(byte[] hash, byte[] req, boolean wait) {
+        PendingTx tx = newTx(hash, req);
+        if ((wait ? this.putOrWait(hash, req, tx) : this.put(hash, req, tx)) != 1) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[aSyncSend]" + ErrId.getErrString(53L));
+            }
+            return CompletableFuture.completedFuture(new MsgRsp(53, null));
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                    "[aSyncSend] Req msg put: [{}] req: [{}]",
+                    IUtils.bytes2Hex(hash),
+                    IUtils.bytes2Hex(req));
+        }
+
+        return tx.done;
+    }
+
+    /**
+     * Queues a batch of transaction requests, each future behaves as the one of {@link
+     * #aSyncSend(byte[], byte[], boolean)}. Pending tx slots are taken for as many requests as are
+     * free at once, the caller only waits while none is left.
+     */
+    List<CompletableFuture<MsgRsp>> aSyncSendAll(List<byte[]> hashes, List<byte[]> reqs) {
+        List<CompletableFuture<MsgRsp>> rsps = new ArrayList<>(reqs.size());
+        int failed = 0;
+        int i = 0;
+        while (i < reqs.size()) {
+            int slots = acquireUpTo(reqs.size() - i);
+            if (slots == 0) {
+                break;
+            }
+
+            for (int end = i + slots; i < end; i++) {
+                PendingTx tx = newTx(hashes.get(i), reqs.get(i));
+                if (enqueue(hashes.get(i), reqs.get(i), tx) == 1) {
+                    rsps.add(tx.done);
+                } else {
+                    rsps.add(CompletableFuture.completedFuture(new MsgRsp(53, null)));
+                    failed++;
+                }
+            }
+        }
+
+        for (; i < reqs.size(); i++) {
+            rsps.add(CompletableFuture.completedFuture(new MsgRsp(53, null)));
+            failed++;
+        }
+
+        if (failed > 0) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(
+                        "[aSyncSendAll] {} of {} txs. {}",
+                        failed,
+                        reqs.size(),
+                        ErrId.getErrString(53L));
+            }
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("[aSyncSendAll] Req msgs put: [{}]", reqs.size());
+        }
+
+        return rsps;
+    }
+
+    // takes up to n free pending tx slots without waiting, or waits for one if none is free.
+    private int acquireUpTo(int n) {
+        for (int avail; (avail = this.penddingTx.availablePermits()) > 0; ) {
+            int slots = Math.min(avail, n);
+            if (this.penddingTx.tryAcquire(slots)) {
+                return slots;
+            }
+        }
+
+        try {
+            if (this.penddingTx.tryAcquire(this.timeout, TimeUnit.MILLISECONDS)) {
+                return 1;
+            }
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[acquireUpTo] The pending tx reached the tx pendding limit!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    /**
+     * Queues a transaction request and returns a future completed by the callback worker once the
+     * kernel received or rejected it.
+     */
+    CompletableFuture<MsgRsp> nbSend(byte[] hash, byte[] req) {
+        PendingTx tx = newTx(hash, req);
+        int code = this.put(hash, req, tx);
+        if (code != 1) {
+            if (code != -15) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[nbSend] {}", ErrId.getErrString(code));
+                }
+            }
+            return CompletableFuture.completedFuture(new MsgRsp(code, null));
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                    "[nbSend] Reqmsg hash: [{}] msg: [{}]",
+                    IUtils.bytes2Hex(hash),
+                    IUtils.bytes2Hex(req));
+        }
+        return tx.recved;
+    }
+
+    /**
+     * Sends calls of one function with up to window of them waiting for the kernel at a time.
+     * The calls are tagged by msg hash like the concurrent {@link #syncSend} calls, falling back
+     * to one call after another when the kernel does not echo the hash.
+     *
+     * @return the responses in the order of the requests, null for a call not answered.
+     */
+    List<byte[]> syncSendAll(List<byte[]> reqs, int window) {
+        byte[][] rsps = new byte[reqs.size()][];
+        if (reqs.isEmpty()) {
+            return Arrays.asList(rsps);
+        }
+
+        int first = 0;
+        int func = ((reqs.get(0)[1] & 0xff) << 8) | (reqs.get(0)[2] & 0xff);
+        if (!Boolean.TRUE.equals(this.rpcEcho.get(func))) {
+            // the first call tells whether the kernel echoes the msg hash of this function.
+            rsps[first] = syncSend(reqs.get(first));
+            first++;
+        }
+
+        if (!Boolean.TRUE.equals(this.rpcEcho.get(func))) {
+            // untagged responses only match one call at a time.
+            for (int i = first; i < rsps.length && this.isInitialized.get(); i++) {
+                rsps[i] = syncSend(reqs.get(i));
+            }
+            return Arrays.asList(rsps);
+        }
 
-                        if (timeout) {
+        List<byte[]> out = Arrays.asList(rsps);
+        try {
+            WindowedCalls.run(
+                    out,
+                    first,
+                    window,
+                    this.timeout,
+                    i -> {
+                        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+                        ByteArrayWrapper key = ByteArrayWrapper.wrap(hash);
+                        RpcCall call = new RpcCall(ApiUtils.toHashedReq(reqs.get(i), hash));
+                        this.rpcMap.put(key, call);
+                        call.rsp.whenComplete((r, e) -> this.rpcMap.remove(key));
+
+                        if (!this.rpcQueue.offer(call.req)) {
                             if (LOGGER.isErrorEnabled()) {
-                                LOGGER.error("[aSyncSend] Transaction timeout");
+                                LOGGER.error("[syncSendAll] {}", ErrId.getErrString(53L));
                             }
-                            return new MsgRsp(51, null);
+                            call.rsp.complete(null);
                         }
+                        return call.rsp;
+                    },
+                    this.isInitialized::get);
+        } catch (InterruptedException | ExecutionException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(
+                        "[syncSendAll] {} Exception: [{}]",
+                        ErrId.getErrString(52L),
+                        e.getMessage());
+            }
+        }
 
-                        return msgRsp;
-                    } else {
-                        if (LOGGER.isErrorEnabled()) {
-                            LOGGER.error("[aSyncSend]" + ErrId.getErrString(53L));
-                        }
-                        return new MsgRsp(53, null);
+        return out;
+    }
+
+    /**
+     * Sends a request through the rpc socket and waits for its own response. The request is tagged
+     * with a fresh msg hash so many calls can be in flight at once and each response is routed back
+     * to its caller.
+     *
+     * @param req request assembled by {@link ApiUtils#toReqHeader}.
+     * @return the response, or null if the connection is lost or the call times out.
+     */
+    byte[] syncSend(byte[] req) {
+        int func = ((req[1] & 0xff) << 8) | (req[2] & 0xff);
+        boolean serial = !Boolean.TRUE.equals(this.rpcEcho.get(func));
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        ByteArrayWrapper key = ByteArrayWrapper.wrap(hash);
+        RpcCall call = new RpcCall(ApiUtils.toHashedReq(req, hash));
+        CompletableFuture<byte[]> rsp = call.rsp;
+
+        if (serial) {
+            try {
+                this.rpcSerial.acquire();
+            } catch (InterruptedException e) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[syncSend] {}", ErrId.getErrString(50L));
+                }
+                return null;
+            }
+            this.rpcSerialCall = call;
+        }
+
+        try {
+            this.rpcMap.put(key, call);
+            if (!this.rpcQueue.offer(call.req)) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[syncSend] {}", ErrId.getErrString(53L));
+                }
+                return null;
+            }
+
+            long deadline = System.currentTimeMillis() + this.timeout;
+            while (this.isInitialized.get() && System.currentTimeMillis() < deadline) {
+                try {
+                    byte[] data = rsp.get(RECVTIMEOUT, TimeUnit.MILLISECONDS);
+                    if (data != null) {
+                        this.rpcEcho.put(func, data[2] == 1);
                     }
+                    return data;
+                } catch (TimeoutException e) {
+                    // keep waiting while the connection is alive.
+                }
+            }
+
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[syncSend] {}", ErrId.getErrString(-103L));
+            }
+            return null;
+        } catch (InterruptedException | ExecutionException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(
+                        "[syncSend] {} Exception: [{}]", ErrId.getErrString(52L), e.getMessage());
+            }
+            return null;
+        } finally {
+            this.rpcMap.remove(key);
+            if (serial) {
+                this.rpcSerialCall = null;
+                this.rpcSerial.release();
+            }
+        }
+    }
+
+    /**
+     * Sends a request through the rpc socket without waiting for it, the response completes the
+     * future from the rpc reader. Only a function known to echo the msg hash is sent this way, its
+     * response finds the call without holding a thread.
+     *
+     * @param req request assembled by {@link ApiUtils#toReqHeader}.
+     * @return the future of the response, completed with null if the connection is lost or the
+     *     call times out; or null if the function must be sent by {@link #syncSend}.
+     */
+    CompletableFuture<byte[]> asyncSend(byte[] req) {
+        int func = ((req[1] & 0xff) << 8) | (req[2] & 0xff);
+        if (!Boolean.TRUE.equals(this.rpcEcho.get(func))) {
+            return null;
+        }
+
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        ByteArrayWrapper key = ByteArrayWrapper.wrap(hash);
+        RpcCall call = new RpcCall(ApiUtils.toHashedReq(req, hash));
+        this.rpcMap.put(key, call);
+        TimerWheel.Timeout expiry =
+                TimerWheel.shared()
+                        .schedule(
+                                () -> {
+                                    if (call.rsp.complete(null) && LOGGER.isErrorEnabled()) {
+                                        LOGGER.error("[asyncSend] {}", ErrId.getErrString(-103L));
+                                    }
+                                },
+                                this.timeout,
+                                TimeUnit.MILLISECONDS);
+        call.rsp.whenComplete(
+                (r, e) -> {
+                    this.rpcMap.remove(key);
+                    expiry.cancel();
                 });
+
+        if (!this.isInitialized.get() || !this.rpcQueue.offer(call.req)) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[asyncSend] {}", ErrId.getErrString(53L));
+            }
+            call.rsp.complete(null);
+        }
+        return call.rsp;
     }
 
-    synchronized MsgRsp getStatus(ByteArrayWrapper msgHash) {
+    MsgRsp getStatus(ByteArrayWrapper msgHash) {
         if (msgHash == null || msgHash.getData().length != ApiUtils.MSG_HASH_LEN) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[getStatus] {}", ErrId.getErrString(57L));
@@ -918,7 +1577,7 @@ public class MsgExecutor implements Runnable {
         }
 
         MsgRsp msgStatus = null;
-        MsgRsp in = this.hashMap.get(msgHash);
+        PendingTx in = this.txTable.get(PendingTxTable.toKey(msgHash.getData()));
 
         if (in == null) {
             if (LOGGER.isErrorEnabled()) {
@@ -927,16 +1586,12 @@ public class MsgExecutor implements Runnable {
             return new MsgRsp(54, null);
         } else {
             try {
-                msgStatus = MsgRsp.copy(in);
+                msgStatus = MsgRsp.copy(in.rsp.get());
             } catch (CloneNotSupportedException e) {
                 e.printStackTrace();
             }
         }
 
-        if (msgStatus != null && !clearTx(msgHash.getData(), msgStatus.getStatus())) {
-            return new MsgRsp(56, null);
-        }
-
         return msgStatus;
     }
 
@@ -946,58 +1601,140 @@ public class MsgExecutor implements Runnable {
                 || status <= Message.Retcode.r_wallet_nullcb_VALUE;
     }
 
-    public synchronized int put(byte[] hash, byte[] payload) {
+    public int put(byte[] hash, byte[] payload) {
+        return put(hash, payload, newTx(hash, payload));
+    }
+
+    // only signed transactions are kept for a replay, the kernel sees the same transaction again.
+    private PendingTx newTx(byte[] hash, byte[] req) {
+        boolean replayable =
+                this.reconnect
+                        && (req[2] == Message.Funcs.f_signedTransaction_VALUE
+                                || req[2] == Message.Funcs.f_rawTransaction_VALUE);
+        return new PendingTx(hash, replayable ? req : null);
+    }
 
-        if (this.penddingTx.get() >= this.maxPenddingTx) {
+    private int put(byte[] hash, byte[] payload, PendingTx tx) {
+        if (!this.penddingTx.tryAcquire()) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[put] The pending tx reached the tx pendding limit!");
             }
             return Message.Retcode.r_fail_hit_pending_tx_limit_VALUE;
         }
 
+        return enqueue(hash, payload, tx);
+    }
+
+    /**
+     * Same as {@link #put(byte[], byte[])} but waits for a pending tx slot to free up instead of
+     * failing while the pending tx limit is reached.
+     */
+    private int putOrWait(byte[] hash, byte[] payload, PendingTx tx) {
         try {
-            this.hashMap.put(
-                    ByteArrayWrapper.wrap(hash),
-                    new MsgRsp(Message.Retcode.r_tx_Init_VALUE, ByteArrayWrapper.wrap(hash)));
-        } catch (Throwable e) {
-            e.printStackTrace();
+            if (!this.penddingTx.tryAcquire(this.timeout, TimeUnit.MILLISECONDS)) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[putOrWait] The pending tx reached the tx pendding limit!");
+                }
+                return Message.Retcode.r_fail_hit_pending_tx_limit_VALUE;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Message.Retcode.r_fail_txqueue_exception_VALUE;
+        }
+
+        return enqueue(hash, payload, tx);
+    }
+
+    // Caller holds a pending tx slot, which is given back if the request can't be queued.
+    private int enqueue(byte[] hash, byte[] payload, PendingTx tx) {
+        long msgHash = PendingTxTable.toKey(hash);
+        // make room with transactions already ended, they are only kept for status queries.
+        if (!this.txTable.putIfAbsent(msgHash, tx, this::ended)) {
+            this.penddingTx.release();
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(
+                        "[put] Can't put tx into the pending table [{}]", IUtils.bytes2Hex(hash));
+            }
+            return Message.Retcode.r_fail_txqueue_exception_VALUE;
         }
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("[put] Put tx into hashMap [{}]", IUtils.bytes2Hex(hash));
+            LOGGER.debug("[put] Put tx into the pending table [{}]", IUtils.bytes2Hex(hash));
         }
 
         try {
             this.queue.put(new MsgReq(hash, payload));
-            this.penddingTx.incrementAndGet();
         } catch (InterruptedException e) {
+            this.txTable.remove(msgHash);
+            this.penddingTx.release();
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[put] Transaction put in queue exception. {}", e.getMessage());
             }
             return Message.Retcode.r_fail_txqueue_exception_VALUE;
         }
 
+        tx.expiry =
+                TimerWheel.shared()
+                        .schedule(() -> expire(msgHash, tx), this.timeout, TimeUnit.MILLISECONDS);
+        if (tx.settled.get()) {
+            // settled before the handle was kept, the wheel must not hold on to it.
+            tx.expiry.cancel();
+        }
         return 1;
     }
 
-    private boolean clearTx(byte[] msgHash, int status) {
-        if (msgHash == null) {
+    /**
+     * Drops the entry once the api timeout is elapsed. A transaction the kernel hasn't finished by
+     * then gives back its pending slot and its waiters get the tx timeout status.
+     */
+    private void expire(long msgHash, PendingTx tx) {
+        abort(msgHash, tx, 51);
+    }
+
+    // ends a transaction the kernel won't report on anymore, unless it ended already.
+    private void abort(long msgHash, PendingTx tx, int code) {
+        if (!this.txTable.remove(msgHash, tx)) {
+            return;
+        }
+
+        if (tx.settled.compareAndSet(false, true)) {
+            cancelExpiry(tx);
+            this.penddingTx.release();
             if (LOGGER.isErrorEnabled()) {
-                LOGGER.error("[clearTx] Null msgHash.");
+                LOGGER.error(
+                        "[abort] {} MsgHash: [{}]",
+                        ErrId.getErrString(code),
+                        String.format("%016x", msgHash));
             }
-            return false;
+            tx.recved.complete(new MsgRsp(code, null));
+            tx.done.complete(new MsgRsp(code, null));
         }
+    }
 
+    private boolean ended(PendingTx tx) {
+        return this.endState(tx.rsp.get().getStatus());
+    }
+
+    private boolean clearTx(PendingTx tx, long msgHash, int status) {
+        cancelExpiry(tx);
         if (this.endState(status)) {
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("[clearTx] MsgHash: [{}]", IUtils.bytes2Hex(msgHash));
+                LOGGER.debug("[clearTx] MsgHash: [{}]", String.format("%016x", msgHash));
             }
-            this.penddingTx.decrementAndGet();
+            this.penddingTx.release();
         }
 
         return true;
     }
 
+    // a settled transaction is only kept by the pending table, not by the wheel.
+    private static void cancelExpiry(PendingTx tx) {
+        TimerWheel.Timeout expiry = tx.expiry;
+        if (expiry != null) {
+            expiry.cancel();
+        }
+    }
+
     public MsgRsp send(byte[] hash, byte[] req) {
         int code = this.put(hash, req);
         if (code == 1) {
@@ -1036,20 +1773,30 @@ public class MsgExecutor implements Runnable {
     }
 
     private void clear() {
-        this.hashMap.clear();
+        this.txTable.clear();
         this.queue.clear();
-        this.penddingTx.set(0);
+        this.rpcQueue.clear();
+        failRpcs();
+        this.penddingTx.drainPermits();
+        this.penddingTx.release(this.maxPenddingTx);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("[clear] Transaction cleared!");
         }
     }
 
     public void start(int workers) {
+        start(workers, CfgApi.inst().getWorker());
+    }
+
+    public void start(int workers, CfgWorker cfg) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("[start] Run MsgExecutor, start [{}] worker threads", workers);
         }
 
-        this.workers = workers;
+        this.workers = Math.max(workers, 1);
+        this.maxWorkers = Math.max(cfg.getMax(), this.workers);
+        this.outstanding = cfg.getOutstanding();
+        this.autoScale = cfg.isAutoScale();
         this.msgThread = new Thread(this, "msg-eq");
         this.msgThread.start();
     }
@@ -1097,8 +1844,52 @@ public class MsgExecutor implements Runnable {
         this.eventMap.clear();
     }
 
-    Socket getNbSocket() {
-        return nbSocket;
+    private static class PendingTx {
+        // latest status, replaced as a whole on every update.
+        final AtomicReference<MsgRsp> rsp;
+        // completed once the kernel received or rejected the request.
+        final CompletableFuture<MsgRsp> recved = new CompletableFuture<>();
+        // completed once the transaction reaches an end state.
+        final CompletableFuture<MsgRsp> done = new CompletableFuture<>();
+        // set by whichever of the end state update and the expiry comes first.
+        final AtomicBoolean settled = new AtomicBoolean(false);
+        final long key;
+        // the request sent again after a reconnect, null if it is not safe to send twice.
+        final byte[] replay;
+        // set once the request is handed to the kernel socket.
+        volatile boolean sent;
+        // set once a worker sent the request to the proxy.
+        volatile boolean dispatched;
+        // the expiry scheduled on the wheel, cancelled once the transaction is settled.
+        volatile TimerWheel.Timeout expiry;
+
+        PendingTx(byte[] hash, byte[] replay) {
+            this.key = PendingTxTable.toKey(hash);
+            this.replay = replay;
+            this.rsp =
+                    new AtomicReference<>(
+                            new MsgRsp(
+                                    Message.Retcode.r_tx_Init_VALUE, ByteArrayWrapper.wrap(hash)));
+        }
+    }
+
+    private static class RpcCall {
+        // the request tagged with its msg hash.
+        final byte[] req;
+        final CompletableFuture<byte[]> rsp = new CompletableFuture<>();
+        // set once the request is handed to the kernel socket.
+        volatile boolean sent;
+
+        RpcCall(byte[] req) {
+            this.req = req;
+        }
+
+        // (serv << 8 | func) of the request, -1 for a malformed one.
+        int func() {
+            return this.req.length < ApiUtils.REQ_HEADER_NOHASH_LEN
+                    ? -1
+                    : ((this.req[1] & 0xff) << 8) | (this.req[2] & 0xff);
+        }
     }
 
     public static class MsgReq {
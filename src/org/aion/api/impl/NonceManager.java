@@ -0,0 +1,160 @@
+package org.aion.api.impl;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.aion.api.INonceManager;
+import org.aion.api.impl.internal.NonceAllocator;
+import org.aion.api.log.AionLoggerFactory;
+import org.aion.api.log.LogEnum;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.TxArgs;
+import org.aion.base.util.ByteArrayWrapper;
+import org.aion.crypto.ECKey;
+import org.aion.crypto.ECKeyFac;
+import org.aion.vm.api.interfaces.Address;
+import org.slf4j.Logger;
+
+/**
+ * Hands out the nonces of one sender from a local {@link NonceAllocator NonceAllocator}. The
+ * kernel is only asked for the nonce on the first call and after a followed transaction failed;
+ * the end state of a send comes from the pending tx future completed by the callback worker.
+ */
+final class NonceManager implements INonceManager {
+
+    private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.TRX.name());
+
+    private final AionAPIImpl apiInst;
+    private final Address address;
+    private final NonceAllocator nonces = new NonceAllocator();
+    // set when a transaction failed, the next nonce is handed out after a resync.
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    NonceManager(AionAPIImpl inst, Address address) {
+        this.apiInst = inst;
+        this.address = address;
+    }
+
+    @Override
+    public Address getAddress() {
+        return this.address;
+    }
+
+    @Override
+    public ApiMsg next() {
+        if (this.stale.get() || !this.nonces.isSynced()) {
+            ApiMsg msg = resync();
+            if (msg.isError() && !this.nonces.isSynced()) {
+                return msg;
+            }
+        }
+        return new ApiMsg(BigInteger.valueOf(this.nonces.allocate()), ApiMsg.cast.OTHERS);
+    }
+
+    @Override
+    public void track(BigInteger nonce, CompletableFuture<ApiMsg> rsp) {
+        if (nonce == null || rsp == null) {
+            throw new NullPointerException();
+        }
+
+        long n = nonce.longValueExact();
+        rsp.whenComplete(
+                (msg, e) -> {
+                    if (e != null || msg == null || msg.isError()) {
+                        if (LOGGER.isDebugEnabled()) {
+                            LOGGER.debug(
+                                    "[track] nonce {} of {} failed, code [{}]",
+                                    n,
+                                    this.address,
+                                    msg == null ? null : msg.getErrorCode());
+                        }
+                        this.nonces.release(n);
+                        this.stale.set(true);
+                    } else {
+                        this.nonces.done(n);
+                    }
+                });
+    }
+
+    @Override
+    public void release(BigInteger nonce) {
+        if (nonce == null) {
+            throw new NullPointerException();
+        }
+        this.nonces.release(nonce.longValueExact());
+    }
+
+    @Override
+    public ApiMsg resync() {
+        // cleared first, a failure reported while the kernel is asked asks again.
+        this.stale.set(false);
+        ApiMsg msg = this.apiInst.getChain().getNonce(this.address);
+        if (msg.isError()) {
+            this.stale.set(true);
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[resync] {}", ErrId.getErrString((long) msg.getErrorCode()));
+            }
+            return msg;
+        }
+
+        BigInteger nonce = msg.getObject();
+        this.nonces.sync(nonce.longValueExact());
+        return msg;
+    }
+
+    @Override
+    public CompletableFuture<ApiMsg> sendSignedTransactionAsync(TxArgs args, ByteArrayWrapper key) {
+        if (args == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendSignedTransactionAsync] {}", ErrId.getErrString(-303L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-303));
+        }
+
+        if (key == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendSignedTransactionAsync] {}", ErrId.getErrString(-315L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-315));
+        }
+
+        ECKey ecKey = ECKeyFac.inst().create().fromPrivate(key.toBytes());
+        if (ecKey == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendSignedTransactionAsync] {}", ErrId.getErrString(-21L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-21));
+        }
+
+        // a nonce of this account must not be spent on a transaction signed by another one.
+        if (!Arrays.equals(ecKey.getAddress(), this.address.toBytes())) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendSignedTransactionAsync] {}", ErrId.getErrString(-333L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-333));
+        }
+
+        ApiMsg msg = next();
+        if (msg.isError()) {
+            return CompletableFuture.completedFuture(msg);
+        }
+
+        BigInteger nonce = msg.getObject();
+        TxArgs signed =
+                new TxArgs.TxArgsBuilder()
+                        .from(this.address)
+                        .to(args.getTo())
+                        .value(args.getValue())
+                        .nonce(nonce)
+                        .nrgLimit(args.getNrgLimit())
+                        .nrgPrice(args.getNrgPrice())
+                        .data(args.getData())
+                        .createTxArgs();
+
+        CompletableFuture<ApiMsg> rsp =
+                this.apiInst.getTx().sendSignedTransactionAsync(signed, key);
+        track(nonce, rsp);
+        return rsp;
+    }
+}
@@ -0,0 +1,179 @@
+package org.aion.api.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.aion.api.IHeadTracker;
+import org.aion.api.IReceiptWaiter;
+import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.Message;
+import org.aion.api.impl.internal.ReceiptScanner;
+import org.aion.api.log.AionLoggerFactory;
+import org.aion.api.log.LogEnum;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.Block;
+import org.aion.api.type.TxReceipt;
+import org.aion.base.type.Hash256;
+import org.slf4j.Logger;
+
+/**
+ * Waits for receipts as a listener of the {@link HeadTracker HeadTracker}, the waiting state is a
+ * {@link ReceiptScanner ReceiptScanner} driven by the head updates. The receipts looked up on one
+ * head are asked in one pipelined batch so a block of many waited hashes doesn't hold up the
+ * tracker thread for a round trip per hash.
+ */
+final class ReceiptWaiter implements IReceiptWaiter, IHeadTracker.Listener {
+
+    private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.TRX.name());
+
+    // the receipt requests waiting for the kernel at a time.
+    private static final int BATCH_WINDOW = 256;
+
+    private final AionAPIImpl apiInst;
+    private final ReceiptScanner scanner;
+    private volatile boolean running;
+
+    ReceiptWaiter(AionAPIImpl inst) {
+        this.apiInst = inst;
+        this.scanner =
+                new ReceiptScanner(
+                        new ReceiptScanner.Source() {
+                            @Override
+                            public List<TxReceipt> receipts(List<Hash256> txHashes) {
+                                return getTxReceipts(txHashes);
+                            }
+
+                            @Override
+                            public Block block(long number) {
+                                return fetch(number);
+                            }
+                        });
+    }
+
+    @Override
+    public synchronized ApiMsg start(long intervalMs) {
+        ApiMsg msg = this.apiInst.getHeadTracker().start(intervalMs);
+        if (msg.isError()) {
+            return msg;
+        }
+
+        if (!this.running) {
+            this.running = true;
+            this.apiInst.getHeadTracker().addListener(this);
+        }
+        return new ApiMsg(true, ApiMsg.cast.BOOLEAN);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+
+        this.running = false;
+        this.apiInst.getHeadTracker().removeListener(this);
+        this.scanner.failAll(-332);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public CompletableFuture<ApiMsg> waitFor(Hash256 txHash, int confirmations) {
+        CompletableFuture<ApiMsg> rsp = this.scanner.add(txHash, confirmations);
+
+        if (!this.running) {
+            // not running, nothing would complete the waits queued.
+            synchronized (this) {
+                if (!this.running) {
+                    this.scanner.failAll(-332);
+                }
+            }
+        }
+        return rsp;
+    }
+
+    @Override
+    public List<CompletableFuture<ApiMsg>> waitFor(List<Hash256> txHashes, int confirmations) {
+        if (txHashes == null) {
+            throw new NullPointerException();
+        }
+
+        List<CompletableFuture<ApiMsg>> rsps = new ArrayList<>(txHashes.size());
+        for (Hash256 txHash : txHashes) {
+            rsps.add(waitFor(txHash, confirmations));
+        }
+        return rsps;
+    }
+
+    @Override
+    public int getPending() {
+        return this.scanner.getPending();
+    }
+
+    @Override
+    public synchronized void onReorg(long fromNumber, long toNumber) {
+        if (this.running) {
+            this.scanner.onReorg(fromNumber, toNumber);
+        }
+    }
+
+    @Override
+    public synchronized void onNewHead(Block head) {
+        if (this.running) {
+            this.scanner.onNewHead(head);
+        }
+    }
+
+    // null where the kernel has no receipt, the cache is not used for receipts not final yet.
+    private List<TxReceipt> getTxReceipts(List<Hash256> txHashes) {
+        if (!this.apiInst.isConnected()) {
+            return null;
+        }
+
+        List<byte[]> reqs = new ArrayList<>(txHashes.size());
+        for (Hash256 txHash : txHashes) {
+            reqs.add(Tx.toTxReceiptReq(txHash));
+        }
+        List<byte[]> rsps = this.apiInst.nbProcessAll(reqs, BATCH_WINDOW);
+
+        List<TxReceipt> receipts = new ArrayList<>(rsps.size());
+        for (byte[] rsp : rsps) {
+            TxReceipt receipt = null;
+            if (this.apiInst.validRspHeader(rsp) == 1) {
+                try {
+                    receipt =
+                            ApiUtils.toTransactionReceipt(
+                                    Message.rsp_getTransactionReceipt.parseFrom(
+                                            ApiUtils.bodyInput(rsp)));
+                } catch (IOException e) {
+                    if (LOGGER.isErrorEnabled()) {
+                        LOGGER.error(
+                                "[getTxReceipts] {} exception: [{}]",
+                                ErrId.getErrString(-104L),
+                                e.getMessage());
+                    }
+                }
+            }
+            receipts.add(receipt);
+        }
+        return receipts;
+    }
+
+    private Block fetch(long number) {
+        ApiMsg msg = this.apiInst.getChain().getBlockByNumber(number);
+        if (msg.isError()) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(
+                        "[onNewHead] block#{} {}",
+                        number,
+                        ErrId.getErrString((long) msg.getErrorCode()));
+            }
+            return null;
+        }
+        return msg.getObject();
+    }
+}
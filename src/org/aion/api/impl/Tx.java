@@ -7,19 +7,24 @@ import com.google.gson.reflect.TypeToken;
 import com.google.protobuf.Api;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.aion.api.ITx;
+import org.aion.api.IUtils;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.impl.internal.Message;
 import org.aion.api.impl.internal.Message.Funcs;
 import org.aion.api.impl.internal.Message.Servs;
+import org.aion.api.impl.internal.ViewFactory;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
 import org.aion.api.type.ApiMsg;
@@ -31,8 +36,10 @@ import org.aion.api.type.ContractEventFilter;
 import org.aion.api.type.DeployResponse;
 import org.aion.api.type.JsonFmt;
 import org.aion.api.type.MsgRsp;
+import org.aion.api.type.PreparedTx;
 import org.aion.api.type.TxArgs;
 import org.aion.api.type.TxArgs.TxArgsBuilder;
+import org.aion.api.type.TxReceipt;
 import org.aion.api.type.core.tx.AionTransaction;
 import org.aion.base.type.AionAddress;
 import org.aion.base.type.Hash256;
@@ -50,8 +57,8 @@ public final class Tx implements ITx {
     private final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.TRX.name());
     final AionAPIImpl apiInst;
 
-    private ByteArrayWrapper fmsg;
-    private boolean fastbuild = false;
+    // request of the last fastTxbuild, sent by sendTransaction(null).
+    private volatile PreparedTx fmsg;
     private static final String ASCII = "ascii";
 
     Tx(AionAPIImpl inst) {
@@ -70,6 +77,30 @@ public final class Tx implements ITx {
             return new ApiMsg(-306);
         }
 
+        ByteArrayWrapper hash = ByteArrayWrapper.wrap(ApiUtils.genHash(ApiUtils.MSG_HASH_LEN));
+        MsgRsp rsp = this.apiInst.blockTx(hash.getData(), toContractDeployReq(cd, hash.getData()));
+        return toDeployMsg(rsp);
+    }
+
+    public CompletableFuture<ApiMsg> contractDeployAsync(ContractDeploy cd) {
+        if (!this.apiInst.isConnected()) {
+            return CompletableFuture.completedFuture(new ApiMsg(-1003));
+        }
+
+        if (cd == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[contractDeployAsync] {}", ErrId.getErrString(-306L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-306));
+        }
+
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        return this.apiInst
+                .asyncTx(hash, toContractDeployReq(cd, hash))
+                .thenApplyAsync(this::toDeployMsg);
+    }
+
+    private byte[] toContractDeployReq(ContractDeploy cd, byte[] hash) {
         byte[] code =
                 cd.isConstructor()
                         ? ByteUtil.merge(
@@ -91,17 +122,16 @@ public final class Tx implements ITx {
                         .setValue(ByteString.copyFrom(cd.getValue().toByteArray()))
                         .build();
 
-        ByteArrayWrapper hash = ByteArrayWrapper.wrap(ApiUtils.genHash(ApiUtils.MSG_HASH_LEN));
         byte[] reqHead =
                 ApiUtils.toReqHeader(
                         ApiUtils.PROTOCOL_VER,
                         Message.Servs.s_tx,
                         Message.Funcs.f_contractDeploy,
-                        hash);
-        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
-
-        MsgRsp rsp = this.apiInst.blockTx(hash.getData(), reqMsg);
+                        ByteArrayWrapper.wrap(hash));
+        return ByteUtil.merge(reqHead, reqBody.toByteArray());
+    }
 
+    private ApiMsg toDeployMsg(MsgRsp rsp) {
         if (rsp == null) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[contractDeploy] {}", ErrId.getErrString(-103L));
@@ -134,6 +164,22 @@ public final class Tx implements ITx {
             return new ApiMsg(-1003);
         }
 
+        return toCallMsg(this.apiInst.nbProcess(toCallReq(args)));
+    }
+
+    /**
+     * Asynchronous variant of {@link #call(TxArgs)}, the calling thread is not held by the round
+     * trip.
+     */
+    CompletableFuture<ApiMsg> callAsync(TxArgs args) {
+        if (!this.apiInst.isConnected()) {
+            return CompletableFuture.completedFuture(new ApiMsg(-1003));
+        }
+
+        return this.apiInst.nbProcessAsync(toCallReq(args)).thenApplyAsync(this::toCallMsg);
+    }
+
+    private byte[] toCallReq(TxArgs args) {
         Message.req_call reqBody =
                 Message.req_call
                         .newBuilder()
@@ -152,9 +198,10 @@ public final class Tx implements ITx {
         byte[] reqHead =
                 ApiUtils.toReqHeader(
                         ApiUtils.PROTOCOL_VER, Message.Servs.s_tx, Message.Funcs.f_call);
-        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
-        byte[] rsp = this.apiInst.nbProcess(reqMsg);
+        return ByteUtil.merge(reqHead, reqBody.toByteArray());
+    }
 
+    private ApiMsg toCallMsg(byte[] rsp) {
         if (rsp == null) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[call] {}", ErrId.getErrString(-103L));
@@ -183,20 +230,15 @@ public final class Tx implements ITx {
             return new ApiMsg(-1003);
         }
 
-        Message.req_getTransactionReceipt reqBody =
-                Message.req_getTransactionReceipt
-                        .newBuilder()
-                        .setTxHash(ByteString.copyFrom(txHash.toBytes()))
-                        .build();
-
-        byte[] reqHead =
-                ApiUtils.toReqHeader(
-                        ApiUtils.PROTOCOL_VER,
-                        Message.Servs.s_tx,
-                        Message.Funcs.f_getTransactionReceipt);
-        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
+        ChainCache cache = this.apiInst.chainCache;
+        if (cache != null) {
+            TxReceipt receipt = cache.getTxReceipt(txHash);
+            if (receipt != null) {
+                return new ApiMsg(receipt, ApiMsg.cast.OTHERS);
+            }
+        }
 
-        byte[] rsp = this.apiInst.nbProcess(reqMsg);
+        byte[] rsp = this.apiInst.nbProcess(toTxReceiptReq(txHash));
         int code = this.apiInst.validRspHeader(rsp);
         if (code != 1) {
             return new ApiMsg(code);
@@ -205,7 +247,11 @@ public final class Tx implements ITx {
         try {
             Message.rsp_getTransactionReceipt mrsp =
                     Message.rsp_getTransactionReceipt.parseFrom(ApiUtils.parseBody(rsp).getData());
-            return new ApiMsg(ApiUtils.toTransactionReceipt(mrsp), ApiMsg.cast.OTHERS);
+            TxReceipt receipt = ApiUtils.toTransactionReceipt(mrsp);
+            if (cache != null) {
+                cache.putTxReceipt(receipt);
+            }
+            return new ApiMsg(receipt, ApiMsg.cast.OTHERS);
         } catch (InvalidProtocolBufferException e) {
             // Todo : kernel return message change
             if (LOGGER.isErrorEnabled()) {
@@ -219,65 +265,105 @@ public final class Tx implements ITx {
     }
 
     @Override
-    // when using stream,   this method need better sync.
-    // synchronized public byte[] sendTransaction(Types.TxArgs args) {
-    public ApiMsg sendTransaction(TxArgs args) {
+    public ApiMsg getTxReceiptView(Hash256 txHash) {
         if (!this.apiInst.isConnected()) {
             return new ApiMsg(-1003);
         }
 
-        byte[] reqMsg;
-        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        byte[] rsp = this.apiInst.nbProcess(toTxReceiptReq(txHash));
+        int code = this.apiInst.validRspHeader(rsp);
+        if (code != 1) {
+            return new ApiMsg(code);
+        }
 
-        if (this.fastbuild) {
-            if (args == null) {
-                if (fmsg == null) {
-                    throw new IllegalArgumentException("Null fmsg");
-                }
+        try {
+            return new ApiMsg(
+                    ViewFactory.toTxReceiptView(
+                            Message.rsp_getTransactionReceipt.parseFrom(ApiUtils.bodyInput(rsp))),
+                    ApiMsg.cast.OTHERS);
+        } catch (IOException e) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error(
+                        "[getTxReceiptView] {} exception: [{}]",
+                        ErrId.getErrString(-104L),
+                        e.getMessage());
+            }
+            return new ApiMsg(-104, e.getMessage(), ApiMsg.cast.OTHERS);
+        }
+    }
 
-                int msglen = fmsg.getData().length;
-                reqMsg = new byte[msglen];
+    static byte[] toTxReceiptReq(Hash256 txHash) {
+        Message.req_getTransactionReceipt reqBody =
+                Message.req_getTransactionReceipt
+                        .newBuilder()
+                        .setTxHash(ByteString.copyFrom(txHash.toBytes()))
+                        .build();
 
-                System.arraycopy(fmsg.getData(), 0, reqMsg, 0, msglen);
-                System.arraycopy(
-                        hash, 0, reqMsg, ApiUtils.REQ_HEADER_NOHASH_LEN, ApiUtils.MSG_HASH_LEN);
-            } else {
-                throw new IllegalArgumentException();
-            }
-        } else {
-            if (args == null) {
+        byte[] reqHead =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_tx,
+                        Message.Funcs.f_getTransactionReceipt);
+        return ByteUtil.merge(reqHead, reqBody.toByteArray());
+    }
+
+    @Override
+    // when using stream,   this method need better sync.
+    // synchronized public byte[] sendTransaction(Types.TxArgs args) {
+    public ApiMsg sendTransaction(TxArgs args) {
+        if (!this.apiInst.isConnected()) {
+            return new ApiMsg(-1003);
+        }
+
+        if (args == null) {
+            PreparedTx prepared = this.fmsg;
+            if (prepared == null) {
                 if (LOGGER.isErrorEnabled()) {
                     LOGGER.error("[sendTransaction] {}", ErrId.getErrString(-303L));
                 }
                 return new ApiMsg(-303);
             }
 
-            byte[] reqHead =
-                    ApiUtils.toReqHeader(
-                            ApiUtils.PROTOCOL_VER,
-                            Message.Servs.s_tx,
-                            Message.Funcs.f_sendTransaction,
-                            ByteArrayWrapper.wrap(hash));
-
-            Message.req_sendTransaction reqBody =
-                    Message.req_sendTransaction
-                            .newBuilder()
-                            .setFrom(
-                                    ByteString.copyFrom(
-                                            args.getFrom() == null
-                                                    ? apiInst.defaultAccount.toBytes()
-                                                    : args.getFrom().toBytes()))
-                            .setTo(ByteString.copyFrom(args.getTo().toBytes()))
-                            .setData(ByteString.copyFrom(args.getData().toBytes()))
-                            .setNonce(ByteString.copyFrom(args.getNonce().toByteArray()))
-                            .setValue(ByteString.copyFrom(args.getValue().toByteArray()))
-                            .setNrg(args.getNrgLimit())
-                            .setNrgPrice(args.getNrgPrice())
-                            .build();
-
-            reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
+            return sendPreparedTransaction(prepared);
+        }
+
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        return sendTx(hash, toSendTxReq(args, hash));
+    }
+
+    @Override
+    public ApiMsg sendPreparedTransaction(PreparedTx tx) {
+        if (!this.apiInst.isConnected()) {
+            return new ApiMsg(-1003);
+        }
+
+        if (tx == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendPreparedTransaction] {}", ErrId.getErrString(-303L));
+            }
+            return new ApiMsg(-303);
         }
 
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        return sendTx(hash, tx.toRequest(hash));
+    }
+
+    /**
+     * Sends a prepared transaction as {@link #sendPreparedTransaction(PreparedTx)}, blocking or not
+     * as asked by the caller; the shared flag set by {@link #nonBlock()} is neither read nor reset.
+     */
+    ApiMsg sendPreparedTransaction(PreparedTx tx, boolean nonBlock) {
+        if (!this.apiInst.isConnected()) {
+            return new ApiMsg(-1003);
+        }
+
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        byte[] reqMsg = tx.toRequest(hash);
+        return toTxMsg(
+                nonBlock ? this.apiInst.Process(hash, reqMsg) : this.apiInst.blockTx(hash, reqMsg));
+    }
+
+    private ApiMsg sendTx(byte[] hash, byte[] reqMsg) {
         MsgRsp msgRsp;
         if (this.apiInst.nb) {
             msgRsp = this.apiInst.Process(hash, reqMsg);
@@ -286,6 +372,152 @@ public final class Tx implements ITx {
             msgRsp = this.apiInst.blockTx(hash, reqMsg);
         }
 
+        return toTxMsg(msgRsp);
+    }
+
+    @Override
+    public CompletableFuture<ApiMsg> sendTransactionAsync(TxArgs args) {
+        if (!this.apiInst.isConnected()) {
+            return CompletableFuture.completedFuture(new ApiMsg(-1003));
+        }
+
+        if (args == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendTransactionAsync] {}", ErrId.getErrString(-303L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-303));
+        }
+
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        return this.apiInst.asyncTx(hash, toSendTxReq(args, hash)).thenApplyAsync(this::toTxMsg);
+    }
+
+    @Override
+    public CompletableFuture<ApiMsg> sendPreparedTransactionAsync(PreparedTx tx) {
+        if (!this.apiInst.isConnected()) {
+            return CompletableFuture.completedFuture(new ApiMsg(-1003));
+        }
+
+        if (tx == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendPreparedTransactionAsync] {}", ErrId.getErrString(-303L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-303));
+        }
+
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        return this.apiInst.asyncTx(hash, tx.toRequest(hash)).thenApplyAsync(this::toTxMsg);
+    }
+
+    @Override
+    public PreparedTx prepareTransaction(TxArgs args) {
+        if (args == null) {
+            throw new NullPointerException();
+        }
+
+        PreparedTx tx = new PreparedTx(args, toSendTxReq(args, ApiUtils.EMPTY_MSG_HASH));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                    "[prepareTransaction] msg: {}",
+                    IUtils.bytes2Hex(tx.toRequest(ApiUtils.EMPTY_MSG_HASH)));
+        }
+        return tx;
+    }
+
+    /**
+     * @return the offset of the call data in the request {@link #prepareTransaction(TxArgs)}
+     *     encodes from the arguments.
+     */
+    int dataOffset(TxArgs args) {
+        return ApiUtils.toSendTxDataOffset(
+                toSendTxBody(args, Message.req_sendTransaction.newBuilder()));
+    }
+
+    private byte[] toSendTxReq(TxArgs args, byte[] hash) {
+        return toSendTxReq(args, hash, Message.req_sendTransaction.newBuilder());
+    }
+
+    // the builder is cleared first, so a batch can encode all of its requests with one builder.
+    private byte[] toSendTxReq(
+            TxArgs args, byte[] hash, Message.req_sendTransaction.Builder builder) {
+        return ApiUtils.toReqMsg(
+                ApiUtils.PROTOCOL_VER,
+                Message.Servs.s_tx,
+                Message.Funcs.f_sendTransaction,
+                hash,
+                toSendTxBody(args, builder));
+    }
+
+    private Message.req_sendTransaction toSendTxBody(
+            TxArgs args, Message.req_sendTransaction.Builder builder) {
+        return builder.clear()
+                .setFrom(
+                        ByteString.copyFrom(
+                                args.getFrom() == null
+                                        ? apiInst.defaultAccount.toBytes()
+                                        : args.getFrom().toBytes()))
+                .setTo(ByteString.copyFrom(args.getTo().toBytes()))
+                .setData(ByteString.copyFrom(args.getData().toBytes()))
+                .setNonce(ByteString.copyFrom(args.getNonce().toByteArray()))
+                .setValue(ByteString.copyFrom(args.getValue().toByteArray()))
+                .setNrg(args.getNrgLimit())
+                .setNrgPrice(args.getNrgPrice())
+                .build();
+    }
+
+    @Override
+    public List<CompletableFuture<ApiMsg>> sendTransactions(List<TxArgs> args) {
+        if (args == null) {
+            throw new NullPointerException();
+        }
+
+        if (!this.apiInst.isConnected()) {
+            return toFailedMsgs(args.size(), -1003);
+        }
+
+        List<CompletableFuture<ApiMsg>> rsps = new ArrayList<>(args.size());
+        List<byte[]> hashes = new ArrayList<>(args.size());
+        List<byte[]> reqs = new ArrayList<>(args.size());
+        Message.req_sendTransaction.Builder builder = Message.req_sendTransaction.newBuilder();
+        for (TxArgs arg : args) {
+            if (arg == null) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[sendTransactions] {}", ErrId.getErrString(-303L));
+                }
+                rsps.add(CompletableFuture.completedFuture(new ApiMsg(-303)));
+                continue;
+            }
+
+            byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+            hashes.add(hash);
+            reqs.add(toSendTxReq(arg, hash, builder));
+            rsps.add(null);
+        }
+
+        return sendTxs(rsps, hashes, reqs);
+    }
+
+    // fills the free slots of rsps, in order, with the futures of the queued requests.
+    private List<CompletableFuture<ApiMsg>> sendTxs(
+            List<CompletableFuture<ApiMsg>> rsps, List<byte[]> hashes, List<byte[]> reqs) {
+        Iterator<CompletableFuture<MsgRsp>> it = this.apiInst.asyncTxs(hashes, reqs).iterator();
+        for (int i = 0; i < rsps.size(); i++) {
+            if (rsps.get(i) == null) {
+                rsps.set(i, it.next().thenApplyAsync(this::toTxMsg));
+            }
+        }
+        return rsps;
+    }
+
+    private static List<CompletableFuture<ApiMsg>> toFailedMsgs(int size, int code) {
+        List<CompletableFuture<ApiMsg>> rsps = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rsps.add(CompletableFuture.completedFuture(new ApiMsg(code)));
+        }
+        return rsps;
+    }
+
+    private ApiMsg toTxMsg(MsgRsp msgRsp) {
         if (msgRsp == null) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.error("[sendTransaction] {}", ErrId.getErrString(-103L));
@@ -323,13 +555,6 @@ public final class Tx implements ITx {
             return new ApiMsg(-315);
         }
 
-        byte[] reqHead =
-                ApiUtils.toReqHeader(
-                        ApiUtils.PROTOCOL_VER,
-                        Message.Servs.s_tx,
-                        Message.Funcs.f_signedTransaction,
-                        ByteArrayWrapper.wrap(hash));
-
         ECKey ecKey = ECKeyFac.inst().create().fromPrivate(key.toBytes());
         if (ecKey == null) {
             if (LOGGER.isErrorEnabled()) {
@@ -338,44 +563,56 @@ public final class Tx implements ITx {
             return new ApiMsg(-21);
         }
 
-        AionTransaction tx =
-                new AionTransaction(
-                        args.getNonce().toByteArray(),
-                        args.getTo(),
-                        args.getValue().toByteArray(),
-                        args.getData().getData(),
-                        args.getNrgLimit(),
-                        args.getNrgPrice());
-        tx.sign(ecKey);
+        reqMsg = toRawTxReq(signTx(args, ecKey), hash);
 
-        Message.req_rawTransaction reqBody =
-                Message.req_rawTransaction
-                        .newBuilder()
-                        .setEncodedTx(ByteString.copyFrom(tx.getEncoded()))
-                        .build();
+        return sendTx(hash, reqMsg);
+    }
 
-        reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
+    @Override
+    public CompletableFuture<ApiMsg> sendSignedTransactionAsync(TxArgs args, ByteArrayWrapper key) {
+        if (!this.apiInst.isConnected()) {
+            return CompletableFuture.completedFuture(new ApiMsg(-1003));
+        }
 
-        MsgRsp msgRsp;
-        if (this.apiInst.nb) {
-            msgRsp = this.apiInst.Process(hash, reqMsg);
-            this.apiInst.nb = false;
-        } else {
-            msgRsp = this.apiInst.blockTx(hash, reqMsg);
+        if (args == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendSignedTransactionAsync] {}", ErrId.getErrString(-303L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-303));
         }
 
-        if (msgRsp == null) {
+        if (key == null) {
             if (LOGGER.isErrorEnabled()) {
-                LOGGER.error("[sendTransaction] {}", ErrId.getErrString(-103L));
+                LOGGER.error("[sendSignedTransactionAsync] {}", ErrId.getErrString(-315L));
             }
-            return new ApiMsg(-103);
+            return CompletableFuture.completedFuture(new ApiMsg(-315));
         }
 
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("[sendTransaction] TxRsp.status [{}]", msgRsp.getStatus());
+        ECKey ecKey = ECKeyFac.inst().create().fromPrivate(key.toBytes());
+        if (ecKey == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[sendSignedTransactionAsync] {}", ErrId.getErrString(-21L));
+            }
+            return CompletableFuture.completedFuture(new ApiMsg(-21));
         }
 
-        return new ApiMsg((int) msgRsp.getStatus(), msgRsp, ApiMsg.cast.OTHERS);
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        return this.apiInst
+                .asyncTx(hash, toRawTxReq(signTx(args, ecKey), hash))
+                .thenApplyAsync(this::toTxMsg);
+    }
+
+    private static byte[] signTx(TxArgs args, ECKey ecKey) {
+        AionTransaction tx =
+                new AionTransaction(
+                        args.getNonce().toByteArray(),
+                        args.getTo(),
+                        args.getValue().toByteArray(),
+                        args.getData().getData(),
+                        args.getNrgLimit(),
+                        args.getNrgPrice());
+        tx.sign(ecKey);
+        return tx.getEncoded();
     }
 
     @Override
@@ -394,41 +631,77 @@ public final class Tx implements ITx {
             return new ApiMsg(-315);
         }
 
-        byte[] reqHead =
-                ApiUtils.toReqHeader(
-                        ApiUtils.PROTOCOL_VER,
-                        Message.Servs.s_tx,
-                        Message.Funcs.f_signedTransaction,
-                        ByteArrayWrapper.wrap(hash));
-
-        Message.req_rawTransaction reqBody =
-                Message.req_rawTransaction
-                        .newBuilder()
-                        .setEncodedTx(ByteString.copyFrom(tx.toBytes()))
-                        .build();
+        reqMsg = toRawTxReq(tx.toBytes(), hash);
 
-        reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
+        return sendTx(hash, reqMsg);
+    }
 
-        MsgRsp msgRsp;
-        if (this.apiInst.nb) {
-            msgRsp = this.apiInst.Process(hash, reqMsg);
-            this.apiInst.nb = false;
-        } else {
-            msgRsp = this.apiInst.blockTx(hash, reqMsg);
+    @Override
+    public CompletableFuture<ApiMsg> sendRawTransactionAsync(ByteArrayWrapper tx) {
+        if (!this.apiInst.isConnected()) {
+            return CompletableFuture.completedFuture(new ApiMsg(-1003));
         }
 
-        if (msgRsp == null) {
+        if (tx == null) {
             if (LOGGER.isErrorEnabled()) {
-                LOGGER.error("[sendTransaction] {}", ErrId.getErrString(-103L));
+                LOGGER.error("[sendRawTransactionAsync] {}", ErrId.getErrString(-315L));
             }
-            return new ApiMsg(-103);
+            return CompletableFuture.completedFuture(new ApiMsg(-315));
         }
 
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("[sendTransaction] TxRsp.status [{}]", msgRsp.getStatus());
+        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+        return this.apiInst
+                .asyncTx(hash, toRawTxReq(tx.toBytes(), hash))
+                .thenApplyAsync(this::toTxMsg);
+    }
+
+    @Override
+    public List<CompletableFuture<ApiMsg>> sendRawTransactions(List<ByteArrayWrapper> txs) {
+        if (txs == null) {
+            throw new NullPointerException();
         }
 
-        return new ApiMsg((int) msgRsp.getStatus(), msgRsp, ApiMsg.cast.OTHERS);
+        if (!this.apiInst.isConnected()) {
+            return toFailedMsgs(txs.size(), -1003);
+        }
+
+        List<CompletableFuture<ApiMsg>> rsps = new ArrayList<>(txs.size());
+        List<byte[]> hashes = new ArrayList<>(txs.size());
+        List<byte[]> reqs = new ArrayList<>(txs.size());
+        Message.req_rawTransaction.Builder builder = Message.req_rawTransaction.newBuilder();
+        for (ByteArrayWrapper tx : txs) {
+            if (tx == null) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[sendRawTransactions] {}", ErrId.getErrString(-315L));
+                }
+                rsps.add(CompletableFuture.completedFuture(new ApiMsg(-315)));
+                continue;
+            }
+
+            byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
+            hashes.add(hash);
+            reqs.add(toRawTxReq(tx.getData(), hash, builder));
+            rsps.add(null);
+        }
+
+        return sendTxs(rsps, hashes, reqs);
+    }
+
+    private static byte[] toRawTxReq(byte[] encodedTx, byte[] hash) {
+        return toRawTxReq(encodedTx, hash, Message.req_rawTransaction.newBuilder());
+    }
+
+    private static byte[] toRawTxReq(
+            byte[] encodedTx, byte[] hash, Message.req_rawTransaction.Builder builder) {
+        Message.req_rawTransaction reqBody =
+                builder.clear().setEncodedTx(ByteString.copyFrom(encodedTx)).build();
+
+        return ApiUtils.toReqMsg(
+                ApiUtils.PROTOCOL_VER,
+                Message.Servs.s_tx,
+                Message.Funcs.f_signedTransaction,
+                hash,
+                reqBody);
     }
 
     public ApiMsg compile(String code) {
@@ -657,45 +930,7 @@ public final class Tx implements ITx {
     }
 
     public void fastTxbuild(TxArgs args, boolean call) {
-        if (args == null) {
-            throw new NullPointerException();
-        }
-
-        byte[] reqHead =
-                call
-                        ? ApiUtils.toReqHeader(
-                                ApiUtils.PROTOCOL_VER,
-                                Message.Servs.s_tx,
-                                Message.Funcs.f_sendTransaction)
-                        : ApiUtils.toReqHeader(
-                                ApiUtils.PROTOCOL_VER,
-                                Message.Servs.s_tx,
-                                Message.Funcs.f_sendTransaction,
-                                ByteArrayWrapper.wrap(ApiUtils.EMPTY_MSG_HASH));
-
-        Message.req_sendTransaction reqBody =
-                Message.req_sendTransaction
-                        .newBuilder()
-                        .setFrom(
-                                ByteString.copyFrom(
-                                        args.getFrom() == null
-                                                ? apiInst.defaultAccount.toBytes()
-                                                : args.getFrom().toBytes()))
-                        .setTo(ByteString.copyFrom(args.getTo().toBytes()))
-                        .setData(ByteString.copyFrom(args.getData().toBytes()))
-                        .setNonce(ByteString.copyFrom(args.getNonce().toByteArray()))
-                        .setValue(ByteString.copyFrom(args.getValue().toByteArray()))
-                        .setNrg(args.getNrgLimit())
-                        .setNrgPrice(args.getNrgPrice())
-                        .build();
-
-        this.fmsg = ByteArrayWrapper.wrap(ByteUtil.merge(reqHead, reqBody.toByteArray()));
-
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("[fastTxbuild] msg: {}", fmsg.toString());
-        }
-
-        fastbuild = true;
+        this.fmsg = prepareTransaction(args);
     }
 
     public Tx nonBlock() {
@@ -737,52 +972,37 @@ public final class Tx implements ITx {
             return new ApiMsg(-1003);
         }
 
-        byte[] reqMsg;
-        byte[] hash = ApiUtils.genHash(ApiUtils.MSG_HASH_LEN);
-        if (this.fastbuild) {
-            if (args == null) {
-                if (fmsg == null) {
-                    throw new IllegalArgumentException("Null fmsg");
-                }
-
-                int msglen = fmsg.getData().length;
-                reqMsg = new byte[msglen];
-
-                System.arraycopy(fmsg.getData(), 0, reqMsg, 0, msglen);
-                System.arraycopy(
-                        hash, 0, reqMsg, ApiUtils.REQ_HEADER_NOHASH_LEN, ApiUtils.MSG_HASH_LEN);
-            } else {
-                throw new IllegalArgumentException();
-            }
-        } else {
-            if (args == null) {
+        if (args == null) {
+            PreparedTx prepared = this.fmsg;
+            if (prepared == null) {
                 if (LOGGER.isErrorEnabled()) {
-                    LOGGER.error("[sendTransaction] {}", ErrId.getErrString(-303L));
+                    LOGGER.error("[estimateNrg] {}", ErrId.getErrString(-303L));
                 }
                 return new ApiMsg(-303);
             }
+            args = prepared.getTxArgs();
+        }
 
-            byte[] reqHead =
-                    ApiUtils.toReqHeader(
-                            ApiUtils.PROTOCOL_VER, Message.Servs.s_tx, Message.Funcs.f_estimateNrg);
+        byte[] reqHead =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER, Message.Servs.s_tx, Message.Funcs.f_estimateNrg);
 
-            Message.req_estimateNrg reqBody =
-                    Message.req_estimateNrg
-                            .newBuilder()
-                            .setFrom(
-                                    ByteString.copyFrom(
-                                            args.getFrom() == null
-                                                    ? apiInst.defaultAccount.toBytes()
-                                                    : args.getFrom().toBytes()))
-                            .setTo(ByteString.copyFrom(args.getTo().toBytes()))
-                            .setData(ByteString.copyFrom(args.getData().toBytes()))
-                            .setValue(ByteString.copyFrom(args.getValue().toByteArray()))
-                            .setNrg(args.getNrgLimit())
-                            .setNrgPrice(args.getNrgPrice())
-                            .build();
+        Message.req_estimateNrg reqBody =
+                Message.req_estimateNrg
+                        .newBuilder()
+                        .setFrom(
+                                ByteString.copyFrom(
+                                        args.getFrom() == null
+                                                ? apiInst.defaultAccount.toBytes()
+                                                : args.getFrom().toBytes()))
+                        .setTo(ByteString.copyFrom(args.getTo().toBytes()))
+                        .setData(ByteString.copyFrom(args.getData().toBytes()))
+                        .setValue(ByteString.copyFrom(args.getValue().toByteArray()))
+                        .setNrg(args.getNrgLimit())
+                        .setNrgPrice(args.getNrgPrice())
+                        .build();
 
-            reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
-        }
+        byte[] reqMsg = ByteUtil.merge(reqHead, reqBody.toByteArray());
 
         byte[] rsp = this.apiInst.nbProcess(reqMsg);
         int code = this.apiInst.validRspHeader(rsp);
@@ -948,7 +1168,7 @@ public final class Tx implements ITx {
     }
 
     protected void reset() {
-        this.fastbuild = false;
+        this.fmsg = null;
     }
 
     // public ApiMsg queryEvents(ContractEventFilter ef, Address address) {
@@ -0,0 +1,159 @@
+package org.aion.api.impl.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.aion.api.sol.ISolidityArg;
+import org.aion.api.type.ContractAbiIOParam;
+
+/**
+ * Encoded call data of a function with the values bound to its parameters. A static value is
+ * written over its slot in place, a dynamic one encodes the call data again; a value not bound
+ * leaves the former one.
+ */
+public final class AbiCallData {
+
+    // the length of an encoded word, the offset of a dynamic parameter fills one.
+    private static final int ENCODE_UNIT = 16;
+
+    private final byte[] selector;
+    private final AbiCodecPlan plan;
+    private final List<ContractAbiIOParam> inputs;
+    private final List<ISolidityArg> params;
+    private byte[] data;
+
+    /**
+     * @param plan the codec plan of the inputs.
+     * @param inputs the inputs of the function.
+     * @param params the values bound, in the order of the inputs.
+     * @param data the call data of the values, as {@link #encode encode} gives.
+     */
+    public AbiCallData(
+            AbiCodecPlan plan,
+            List<ContractAbiIOParam> inputs,
+            List<ISolidityArg> params,
+            byte[] data) {
+        if (plan == null || inputs == null || params == null || data == null) {
+            throw new NullPointerException();
+        }
+
+        this.selector = plan.getSelector();
+        this.plan = plan;
+        this.inputs = inputs;
+        this.params = new ArrayList<>(params);
+        this.data = data.clone();
+    }
+
+    /**
+     * Binds a new value to a parameter.
+     *
+     * @return 1 if bound, -112 if the value has not the type of the parameter, -114 if it does not
+     *     match the structure of its type.
+     */
+    public int bind(int index, ISolidityArg val) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+
+        if (index < 0 || index >= this.params.size()) {
+            throw new IndexOutOfBoundsException("index#" + index);
+        }
+
+        if (!this.plan.matches(index, val)) {
+            return -112;
+        }
+
+        ContractAbiIOParam io = this.inputs.get(index);
+        val.setDynamicParameters(io.getParamLengths());
+        val.setType(io.getType());
+
+        int len = val.getEncodedLength();
+        if (len < 0) {
+            return -114;
+        }
+
+        if (!val.getIsDynamic()
+                && this.plan.getStaticLength() >= 0
+                && len == val.getStaticPartLength()) {
+            val.encode(
+                    ByteBuffer.wrap(
+                            this.data, this.selector.length + this.plan.getOffset(index), len));
+            this.params.set(index, val);
+        } else {
+            ISolidityArg former = this.params.set(index, val);
+            byte[] encoded = encode(this.selector, this.plan, this.inputs, this.params);
+            if (encoded == null) {
+                this.params.set(index, former);
+                return -114;
+            }
+            this.data = encoded;
+        }
+        return 1;
+    }
+
+    /** @return the call data, shared with later binds. */
+    public byte[] getData() {
+        return this.data;
+    }
+
+    /** @return the values bound. */
+    public List<ISolidityArg> getParams() {
+        return new ArrayList<>(this.params);
+    }
+
+    /**
+     * Encodes the selector and the parameters of the function, the types of the parameters are set
+     * from the inputs first.
+     *
+     * @return the call data, or null if a value does not match the structure of its type.
+     */
+    public static byte[] encode(
+            byte[] selector,
+            AbiCodecPlan plan,
+            List<ContractAbiIOParam> inputs,
+            List<ISolidityArg> params) {
+
+        // the lengths are known up front, the call data is encoded in place with no hex string.
+        int[] lengths = new int[params.size()];
+        int dynamicOffset = Math.max(plan.getStaticLength(), 0);
+        boolean planned = plan.getStaticLength() >= 0;
+        int total = selector.length;
+        int index = 0;
+
+        for (ISolidityArg abs : params) {
+            abs.setDynamicParameters(inputs.get(index).getParamLengths());
+            abs.setType(inputs.get(index).getType());
+            if (!planned) {
+                dynamicOffset += abs.getStaticPartLength();
+            }
+
+            int len = abs.getEncodedLength();
+            if (len < 0) {
+                return null;
+            }
+            lengths[index] = len;
+            total += abs.getIsDynamic() ? len + ENCODE_UNIT : len;
+            index++;
+        }
+
+        ByteBuffer encoded = ByteBuffer.allocate(total).put(selector);
+        index = 0;
+        for (ISolidityArg abs : params) {
+            if (abs.getIsDynamic()) {
+                encoded.position(encoded.position() + ENCODE_UNIT - Integer.BYTES);
+                encoded.putInt(dynamicOffset);
+                dynamicOffset += lengths[index];
+            } else {
+                abs.encode(encoded);
+            }
+            index++;
+        }
+
+        for (ISolidityArg abs : params) {
+            if (abs.getIsDynamic()) {
+                abs.encode(encoded);
+            }
+        }
+        return encoded.array();
+    }
+}
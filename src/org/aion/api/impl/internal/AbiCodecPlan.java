@@ -0,0 +1,216 @@
+package org.aion.api.impl.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.aion.api.sol.ISolidityArg;
+import org.aion.api.sol.impl.Address;
+import org.aion.api.sol.impl.Bool;
+import org.aion.api.sol.impl.Bytes;
+import org.aion.api.sol.impl.DynamicBytes;
+import org.aion.api.sol.impl.Int;
+import org.aion.api.sol.impl.SString;
+import org.aion.api.sol.impl.SolidityType;
+import org.aion.api.sol.impl.SolidityValue.SolidityTypeEnum;
+import org.aion.api.sol.impl.Uint;
+import org.aion.api.type.ContractAbiIOParam;
+import org.aion.base.util.ByteArrayWrapper;
+
+/**
+ * Codec plan of the parameters of one ABI entry. The types are resolved once, the decoders, static
+ * part lengths and offsets are kept and shared by every encode and decode; the plan is read only
+ * once built.
+ */
+public final class AbiCodecPlan {
+
+    private static final byte[] NO_SELECTOR = new byte[0];
+
+    private final byte[] selector;
+    private final String[] types;
+    // null where the type is unknown.
+    private final SolidityTypeEnum[] kinds;
+    // null if one of the types can't be decoded.
+    private final List<ISolidityArg> decoders;
+    private final int[] offsets;
+    private final int staticLength;
+
+    private AbiCodecPlan(byte[] selector, List<ContractAbiIOParam> params) {
+        int size = params.size();
+        this.selector = selector;
+        this.types = new String[size];
+        this.kinds = new SolidityTypeEnum[size];
+        this.offsets = new int[size];
+
+        List<ISolidityArg> decs = new ArrayList<>(size);
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            ContractAbiIOParam io = params.get(i);
+            this.types[i] = io.getType();
+            this.kinds[i] = getSolType(io.getType());
+
+            ISolidityArg dec = createForDecode(this.kinds[i]);
+            if (dec == null) {
+                decs = null;
+            } else if (decs != null) {
+                dec.setDynamicParameters(io.getParamLengths());
+                dec.setType(io.getType());
+                decs.add(dec);
+                this.offsets[i] = length;
+                length += dec.getStaticPartLength();
+            }
+        }
+
+        this.decoders = decs == null ? null : Collections.unmodifiableList(decs);
+        this.staticLength = decs == null ? -1 : length;
+    }
+
+    /**
+     * @param hashed the function selector in hex, null for a constructor or an event.
+     * @param params the inputs or the outputs of the entry.
+     */
+    public static AbiCodecPlan of(String hashed, List<ContractAbiIOParam> params) {
+        if (params == null) {
+            throw new NullPointerException();
+        }
+        return new AbiCodecPlan(hashed == null ? NO_SELECTOR : ApiUtils.hex2Bytes(hashed), params);
+    }
+
+    /** @return the function selector, empty for a constructor or an event. */
+    public byte[] getSelector() {
+        return this.selector.clone();
+    }
+
+    public int size() {
+        return this.types.length;
+    }
+
+    /**
+     * @return the length of the static part of the encoded parameters, or -1 if a type can't be
+     *     decoded.
+     */
+    public int getStaticLength() {
+        return this.staticLength;
+    }
+
+    /**
+     * @param index the index of the parameter.
+     * @return the offset of the parameter in the static part, valid if {@link #getStaticLength()}
+     *     is not -1.
+     */
+    public int getOffset(int index) {
+        return this.offsets[index];
+    }
+
+    /** @return true if every parameter has the type of the plan, in the same order. */
+    public boolean matches(List<ISolidityArg> args) {
+        if (args == null || args.size() != this.types.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.types.length; i++) {
+            if (!matches(i, args.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return true if the argument has the type of the parameter at index. */
+    public boolean matches(int index, ISolidityArg arg) {
+        SolidityTypeEnum kind = kindOf(arg);
+        if (kind == null || this.kinds[index] == null || kind == SolidityTypeEnum.ADDRESS) {
+            // not one of the known types, or an address argument which takes a single array
+            // dimension at most while address[][] still decodes; ask the argument itself.
+            return arg.isType(this.types[index]);
+        }
+        return kind == this.kinds[index];
+    }
+
+    /** @return the shared decoders of the parameters, or null if a type can't be decoded. */
+    public List<ISolidityArg> getDecoders() {
+        return this.decoders;
+    }
+
+    /**
+     * @param data the encoded parameters.
+     * @return the decoded parameters, or null if a type can't be decoded.
+     */
+    public List<Object> decode(ByteArrayWrapper data) {
+        if (data == null) {
+            throw new NullPointerException();
+        }
+
+        if (this.decoders == null) {
+            return null;
+        }
+
+        List<Object> out = new ArrayList<>(this.decoders.size());
+        for (int i = 0; i < this.decoders.size(); i++) {
+            out.add(this.decoders.get(i).decode(this.offsets[i], data));
+        }
+        return out;
+    }
+
+    /** @return the kind of the type, or null if the type is unknown. */
+    public static SolidityTypeEnum getSolType(String type) {
+        if (type == null) {
+            throw new NullPointerException();
+        }
+
+        SolidityType t = SolidityType.parse(type);
+        if (t == null) {
+            return null;
+        }
+
+        // the real types have a single array dimension at most.
+        boolean real =
+                t.getKind() == SolidityTypeEnum.REAL || t.getKind() == SolidityTypeEnum.UREAL;
+        return real && t.getDimensions() > 1 ? null : t.getKind();
+    }
+
+    private static SolidityTypeEnum kindOf(ISolidityArg arg) {
+        if (arg instanceof Address) {
+            return SolidityTypeEnum.ADDRESS;
+        } else if (arg instanceof Bool) {
+            return SolidityTypeEnum.BOOL;
+        } else if (arg instanceof Bytes) {
+            return SolidityTypeEnum.BYTES;
+        } else if (arg instanceof DynamicBytes) {
+            return SolidityTypeEnum.DYNAMICBYTES;
+        } else if (arg instanceof Int) {
+            return SolidityTypeEnum.INT;
+        } else if (arg instanceof SString) {
+            return SolidityTypeEnum.STRING;
+        } else if (arg instanceof Uint) {
+            return SolidityTypeEnum.UINT;
+        } else {
+            return null;
+        }
+    }
+
+    // the real types have no decoder yet.
+    private static ISolidityArg createForDecode(SolidityTypeEnum kind) {
+        if (kind == null) {
+            return null;
+        }
+
+        switch (kind) {
+            case ADDRESS:
+                return Address.createForDecode();
+            case BOOL:
+                return Bool.createForDecode();
+            case BYTES:
+                return Bytes.createForDecode();
+            case DYNAMICBYTES:
+                return DynamicBytes.createForDecode();
+            case INT:
+                return Int.createForDecode();
+            case STRING:
+                return SString.createForDecode();
+            case UINT:
+                return Uint.createForDecode();
+            default:
+                return null;
+        }
+    }
+}
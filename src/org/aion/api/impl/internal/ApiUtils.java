@@ -3,18 +3,25 @@ package org.aion.api.impl.internal;
 import static org.aion.api.IUtils.bytes2Hex;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.aion.api.impl.Utils;
 import org.aion.api.keccak.Keccak;
 import org.aion.api.keccak.Keccak256;
+import org.aion.api.sol.impl.SolidityType;
+import org.aion.api.sol.impl.SolidityValue.SolidityTypeEnum;
 import org.aion.api.type.AccountDetails;
 import org.aion.api.type.Block;
 import org.aion.api.type.BlockDetails;
@@ -84,6 +91,99 @@ public class ApiUtils {
         return result;
     }
 
+    /**
+     * Assembles a request carrying a msg hash, the body is encoded straight after the header so the
+     * request is built in one array without intermediate copies. Intended for internal usage
+     *
+     * @param vers
+     * @param serv
+     * @param func
+     * @param hash the msg hash
+     * @param body the request body
+     * @return the request message
+     */
+    public static byte[] toReqMsg(
+            int vers, Message.Servs serv, Message.Funcs func, byte[] hash, MessageLite body) {
+        if (hash.length != MSG_HASH_LEN) {
+            return ByteArrayWrapper.NULL_BYTE;
+        }
+
+        byte[] result = new byte[REQ_HEADER_LEN + body.getSerializedSize()];
+        result[0] = (byte) vers;
+        result[1] = (byte) serv.ordinal();
+        result[2] = (byte) func.ordinal();
+        result[3] = 1;
+        System.arraycopy(hash, 0, result, REQ_HEADER_NOHASH_LEN, MSG_HASH_LEN);
+
+        CodedOutputStream out =
+                CodedOutputStream.newInstance(
+                        result, REQ_HEADER_LEN, result.length - REQ_HEADER_LEN);
+        try {
+            body.writeTo(out);
+            out.checkNoSpaceLeft();
+        } catch (IOException e) {
+            // the array is sized from the body, writing it can't run out of space.
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the offset of the data field content in the sendTransaction request {@link #toReqMsg}
+     * encodes from the body. A request of other data of the same length only differs in those
+     * bytes. Intended for internal usage
+     *
+     * @param body the request body
+     * @return the offset in the request message
+     */
+    public static int toSendTxDataOffset(Message.req_sendTransaction body) {
+        // the fields are written in the order of their numbers, from, to and value come first.
+        Message.req_sendTransaction head =
+                Message.req_sendTransaction
+                        .newBuilder()
+                        .setFrom(body.getFrom())
+                        .setTo(body.getTo())
+                        .setValue(body.getValue())
+                        .build();
+        return REQ_HEADER_LEN
+                + head.getSerializedSize()
+                + CodedOutputStream.computeTagSize(Message.req_sendTransaction.DATA_FIELD_NUMBER)
+                + CodedOutputStream.computeUInt32SizeNoTag(body.getData().size());
+    }
+
+    /**
+     * Returns a copy of the request carrying the given msg hash in its header, so the response can
+     * be routed back to the caller. Intended for internal usage
+     *
+     * @param req request assembled with or without a msg hash
+     * @param hash the msg hash
+     * @return the tagged request
+     */
+    public static byte[] toHashedReq(byte[] req, byte[] hash) {
+        if (req.length < REQ_HEADER_NOHASH_LEN
+                || (req[3] == 1 && req.length < REQ_HEADER_LEN)
+                || hash.length != MSG_HASH_LEN) {
+            return ByteArrayWrapper.NULL_BYTE;
+        }
+
+        byte[] result;
+        if (req[3] == 1) {
+            result = Arrays.copyOf(req, req.length);
+        } else {
+            result = new byte[req.length + MSG_HASH_LEN];
+            System.arraycopy(req, 0, result, 0, REQ_HEADER_NOHASH_LEN);
+            System.arraycopy(
+                    req,
+                    REQ_HEADER_NOHASH_LEN,
+                    result,
+                    REQ_HEADER_LEN,
+                    req.length - REQ_HEADER_NOHASH_LEN);
+            result[3] = 1;
+        }
+        System.arraycopy(hash, 0, result, REQ_HEADER_NOHASH_LEN, MSG_HASH_LEN);
+        return result;
+    }
+
     /**
      * A helper function intended to provide easy copying from response type to {@link
      * org.aion.api.type.Transaction}, intended for internal usage
@@ -119,17 +219,7 @@ public class ApiUtils {
 
         TxReceipt.TxReceiptBuilder builder = new TxReceipt.TxReceiptBuilder();
 
-        List<TxLog> txLogList = new ArrayList<>();
-        for (Message.t_LgEle tl : rsp.getLogsList()) {
-
-            List<String> topics = new ArrayList<>(tl.getTopicsList());
-
-            txLogList.add(
-                    new TxLog(
-                            AionAddress.wrap(tl.getAddress().toByteArray()),
-                            ByteArrayWrapper.wrap(tl.getData().toByteArray()),
-                            topics));
-        }
+        List<TxLog> txLogList = toTxLogs(rsp.getLogsList());
 
         return builder.blockHash(Hash256.wrap(rsp.getBlockHash().toByteArray()))
                 .blockNumber(rsp.getBlockNumber())
@@ -384,39 +474,41 @@ public class ApiUtils {
 
     // Solidity Type Checkers
     public static boolean isTypeAddress(String in) {
-        return Pattern.matches("address((\\[([0-9]*)])+)?", in);
+        return SolidityType.isKind(in, SolidityTypeEnum.ADDRESS);
     }
 
     public static boolean isTypeBoolean(String in) {
-        return Pattern.matches("^bool(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityTypeEnum.BOOL);
     }
 
     public static boolean isTypeBytes(String in) {
-        return Pattern.matches("^bytes([0-9]{1,})(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityTypeEnum.BYTES);
     }
 
     public static boolean isTypeDynamicBytes(String in) {
-        return Pattern.matches("^bytes(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityTypeEnum.DYNAMICBYTES);
     }
 
     public static boolean isTypeInt(String in) {
-        return Pattern.matches("^int([0-9]*)?(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityTypeEnum.INT);
     }
 
     public static boolean isTypeReal(String in) {
-        return Pattern.matches("real([0-9]*)?(\\[([0-9]*)])?", in);
+        SolidityType t = SolidityType.parse(in);
+        return t != null && t.getKind() == SolidityTypeEnum.REAL && t.getDimensions() <= 1;
     }
 
     public static boolean isTypeString(String in) {
-        return Pattern.matches("^string(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityTypeEnum.STRING);
     }
 
     public static boolean isTypeUint(String in) {
-        return Pattern.matches("^uint([0-9]*)?(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityTypeEnum.UINT);
     }
 
     public static boolean isTypeUreal(String in) {
-        return Pattern.matches("ureal([0-9]*)?(\\[([0-9]*)])?", in);
+        SolidityType t = SolidityType.parse(in);
+        return t != null && t.getKind() == SolidityTypeEnum.UREAL && t.getDimensions() <= 1;
     }
 
     public static byte[] genHash(int hashlen) {
@@ -442,6 +534,19 @@ public class ApiUtils {
                         rsp, RSP_HEADER_NOHASH_LEN, RSP_HEADER_NOHASH_LEN + MSG_HASH_LEN));
     }
 
+    /**
+     * Reads the body of a response in place. The byte fields of a message parsed from it share the
+     * response array instead of copying their bytes.
+     */
+    public static CodedInputStream bodyInput(byte[] rsp) {
+        int offset = rsp[2] == 1 ? RSP_HEADER_LEN : RSP_HEADER_NOHASH_LEN;
+        // only an input over a buffer taken as immutable can alias it.
+        CodedInputStream input =
+                UnsafeByteOperations.unsafeWrap(rsp, offset, rsp.length - offset).newCodedInput();
+        input.enableAliasing(true);
+        return input;
+    }
+
     public static ByteArrayWrapper parseBody(byte[] rsp) {
         boolean hasHash = (rsp[2] == 1);
         int bodyLen = rsp.length - (hasHash ? RSP_HEADER_LEN : RSP_HEADER_NOHASH_LEN);
@@ -519,64 +624,116 @@ public class ApiUtils {
 
         List<BlockDetails> rtn = new ArrayList<>();
         for (Message.t_BlockDetail bd : blkDetails) {
-            BlockDetails.BlockDetailsBuilder bdBuilder =
-                    new BlockDetails.BlockDetailsBuilder()
-                            .bloom(ByteArrayWrapper.wrap(bd.getLogsBloom().toByteArray()))
-                            .difficulty(new BigInteger(1, bd.getDifficulty().toByteArray()))
-                            .extraData(ByteArrayWrapper.wrap(bd.getExtraData().toByteArray()))
-                            .miner(AionAddress.wrap(bd.getMinerAddress().toByteArray()))
-                            .nonce(new BigInteger(1, bd.getNonce().toByteArray()))
-                            .nrgConsumed(bd.getNrgConsumed())
-                            .nrgLimit(bd.getNrgLimit())
-                            .number(bd.getBlockNumber())
-                            .parentHash(Hash256.wrap(bd.getParentHash().toByteArray()))
-                            .hash(Hash256.wrap(bd.getHash().toByteArray()))
-                            .receiptTxRoot(Hash256.wrap(bd.getReceiptTrieRoot().toByteArray()))
-                            .size(bd.getSize())
-                            .solution(ByteArrayWrapper.wrap(bd.getSolution().toByteArray()))
-                            .stateRoot(Hash256.wrap(bd.getStateRoot().toByteArray()))
-                            .timestamp(bd.getTimestamp())
-                            .txTrieRoot(Hash256.wrap(bd.getTxTrieRoot().toByteArray()))
-                            .totalDifficulty(
-                                    new BigInteger(1, bd.getTotalDifficulty().toByteArray()))
-                            .blockTime(bd.getBlockTime());
-
-            List<TxDetails> txDetails = new ArrayList<>();
-            for (Message.t_TxDetail td : bd.getTxList()) {
-                ByteString bs = td.getType();
-                TxDetails.TxDetailsBuilder txBuilder =
-                        new TxDetails.TxDetailsBuilder()
-                                .data(ByteArrayWrapper.wrap(td.getData().toByteArray()))
-                                .from(AionAddress.wrap(td.getFrom().toByteArray()))
-                                .to(AionAddress.wrap(td.getTo().toByteArray()))
-                                .contract(AionAddress.wrap(td.getContract().toByteArray()))
-                                .txHash(Hash256.wrap(td.getTxHash().toByteArray()))
-                                .txIndex(td.getTxIndex())
-                                .nonce(new BigInteger(1, td.getNonce().toByteArray()))
-                                .value(new BigInteger(1, td.getValue().toByteArray()))
-                                .nrgConsumed(td.getNrgConsumed())
-                                .nrgPrice(td.getNrgPrice())
-                                .timestamp(td.getTimestamp())
-                                .type(bs == null || bs.isEmpty() ? 1 : bs.byteAt(0))
-                                .error(td.getError());
-
-                List<TxLog> txLogs = new ArrayList<>();
-                for (Message.t_LgEle log : td.getLogsList()) {
-                    TxLog txlog =
-                            new TxLog(
-                                    AionAddress.wrap(log.getAddress().toByteArray()),
-                                    ByteArrayWrapper.wrap(log.getData().toByteArray()),
-                                    log.getTopicsList());
-                    txLogs.add(txlog);
-                }
-                txDetails.add(txBuilder.logs(txLogs).createTxDetails());
-            }
-            rtn.add(bdBuilder.txDetails(txDetails).createBlockDetails());
+            rtn.add(toBlockDetails(bd, true));
         }
 
         return rtn;
     }
 
+    /**
+     * Lazy view of the block details, each block is converted when it is read and not kept by the
+     * view, so a reader going through the list only holds one converted block at a time.
+     *
+     * @param withTxLogs false leaves the transaction logs out of the converted blocks.
+     */
+    public static List<BlockDetails> toBlockDetailsView(
+            List<Message.t_BlockDetail> blkDetails, boolean withTxLogs) {
+        if (blkDetails == null) {
+            throw new NullPointerException();
+        }
+
+        return new ConvertingList<>(blkDetails, bd -> toBlockDetails(bd, withTxLogs));
+    }
+
+    public static BlockDetails toBlockDetails(Message.t_BlockDetail bd, boolean withTxLogs) {
+        BlockDetails.BlockDetailsBuilder bdBuilder =
+                new BlockDetails.BlockDetailsBuilder()
+                        .bloom(ByteArrayWrapper.wrap(bd.getLogsBloom().toByteArray()))
+                        .difficulty(new BigInteger(1, bd.getDifficulty().toByteArray()))
+                        .extraData(ByteArrayWrapper.wrap(bd.getExtraData().toByteArray()))
+                        .miner(AionAddress.wrap(bd.getMinerAddress().toByteArray()))
+                        .nonce(new BigInteger(1, bd.getNonce().toByteArray()))
+                        .nrgConsumed(bd.getNrgConsumed())
+                        .nrgLimit(bd.getNrgLimit())
+                        .number(bd.getBlockNumber())
+                        .parentHash(Hash256.wrap(bd.getParentHash().toByteArray()))
+                        .hash(Hash256.wrap(bd.getHash().toByteArray()))
+                        .receiptTxRoot(Hash256.wrap(bd.getReceiptTrieRoot().toByteArray()))
+                        .size(bd.getSize())
+                        .solution(ByteArrayWrapper.wrap(bd.getSolution().toByteArray()))
+                        .stateRoot(Hash256.wrap(bd.getStateRoot().toByteArray()))
+                        .timestamp(bd.getTimestamp())
+                        .txTrieRoot(Hash256.wrap(bd.getTxTrieRoot().toByteArray()))
+                        .totalDifficulty(new BigInteger(1, bd.getTotalDifficulty().toByteArray()))
+                        .blockTime(bd.getBlockTime());
+
+        List<TxDetails> txDetails = new ArrayList<>(bd.getTxCount());
+        for (Message.t_TxDetail td : bd.getTxList()) {
+            txDetails.add(toTxDetails(td, withTxLogs));
+        }
+        return bdBuilder.txDetails(txDetails).createBlockDetails();
+    }
+
+    public static TxDetails toTxDetails(Message.t_TxDetail td, boolean withTxLogs) {
+        ByteString bs = td.getType();
+        return new TxDetails.TxDetailsBuilder()
+                .data(ByteArrayWrapper.wrap(td.getData().toByteArray()))
+                .from(AionAddress.wrap(td.getFrom().toByteArray()))
+                .to(AionAddress.wrap(td.getTo().toByteArray()))
+                .contract(AionAddress.wrap(td.getContract().toByteArray()))
+                .txHash(Hash256.wrap(td.getTxHash().toByteArray()))
+                .txIndex(td.getTxIndex())
+                .nonce(new BigInteger(1, td.getNonce().toByteArray()))
+                .value(new BigInteger(1, td.getValue().toByteArray()))
+                .nrgConsumed(td.getNrgConsumed())
+                .nrgPrice(td.getNrgPrice())
+                .timestamp(td.getTimestamp())
+                .type(bs == null || bs.isEmpty() ? 1 : bs.byteAt(0))
+                .error(td.getError())
+                .logs(withTxLogs ? toTxLogs(td.getLogsList()) : Collections.emptyList())
+                .createTxDetails();
+    }
+
+    public static List<TxLog> toTxLogs(List<Message.t_LgEle> logs) {
+        List<TxLog> txLogs = new ArrayList<>(logs.size());
+        for (Message.t_LgEle log : logs) {
+            txLogs.add(
+                    new TxLog(
+                            AionAddress.wrap(log.getAddress().toByteArray()),
+                            ByteArrayWrapper.wrap(log.getData().toByteArray()),
+                            new ArrayList<>(log.getTopicsList())));
+        }
+        return txLogs;
+    }
+
+    public static Block toBlock(Message.rsp_getBlock rsp) {
+        List<Hash256> txs = new ArrayList<>(rsp.getTxHashCount());
+        for (ByteString bs : rsp.getTxHashList()) {
+            txs.add(Hash256.wrap(bs.toByteArray()));
+        }
+
+        return new Block.BlockBuilder()
+                .bloom(ByteArrayWrapper.wrap(rsp.getLogsBloom().toByteArray()))
+                .difficulty(new BigInteger(1, rsp.getDifficulty().toByteArray()))
+                .extraData(ByteArrayWrapper.wrap(rsp.getExtraData().toByteArray()))
+                .nonce(new BigInteger(1, rsp.getNonce().toByteArray()))
+                .miner(AionAddress.wrap(rsp.getMinerAddress().toByteArray()))
+                .nrgConsumed(rsp.getNrgConsumed())
+                .nrgLimit(rsp.getNrgLimit())
+                .txTrieRoot(Hash256.wrap(rsp.getTxTrieRoot().toByteArray()))
+                .stateRoot(Hash256.wrap(rsp.getStateRoot().toByteArray()))
+                .timestamp(rsp.getTimestamp())
+                .receiptTxRoot(Hash256.wrap(rsp.getReceiptTrieRoot().toByteArray()))
+                .number(rsp.getBlockNumber())
+                .txHash(txs)
+                .hash(Hash256.wrap(rsp.getHash().toByteArray()))
+                .parentHash(Hash256.wrap(rsp.getParentHash().toByteArray()))
+                .solution(ByteArrayWrapper.wrap(rsp.getSolution().toByteArray()))
+                .size(rsp.getSize())
+                .totalDifficulty(new BigInteger(1, rsp.getTotalDifficulty().toByteArray()))
+                .createBlock();
+    }
+
     public static List<BlockSql> toBlockSql(List<Message.t_BlockSql> blks) {
         List<BlockSql> rtn = new ArrayList<>();
 
@@ -585,20 +742,31 @@ public class ApiUtils {
         }
 
         for (Message.t_BlockSql b : blks) {
-            BlockSql built =
-                    new BlockSql.BlockSqlBuilder()
-                            .block(b.getBlock())
-                            .hash(b.getBlockHash())
-                            .parentHash(b.getParentHash())
-                            .number(b.getBlockNumber())
-                            .transactions(b.getTxList())
-                            .createBlockSql();
-            rtn.add(built);
+            rtn.add(toBlockSql(b));
         }
 
         return rtn;
     }
 
+    /** Lazy view of the blocks, each block is converted when it is read. */
+    public static List<BlockSql> toBlockSqlView(List<Message.t_BlockSql> blks) {
+        if (blks == null) {
+            return Collections.emptyList();
+        }
+
+        return new ConvertingList<>(blks, ApiUtils::toBlockSql);
+    }
+
+    public static BlockSql toBlockSql(Message.t_BlockSql b) {
+        return new BlockSql.BlockSqlBuilder()
+                .block(b.getBlock())
+                .hash(b.getBlockHash())
+                .parentHash(b.getParentHash())
+                .number(b.getBlockNumber())
+                .transactions(b.getTxList())
+                .createBlockSql();
+    }
+
     public static List<Block> toBlocks(List<Message.t_Block> blks) {
         if (blks == null) {
             throw new NullPointerException();
@@ -673,7 +841,28 @@ public class ApiUtils {
     }
 
     public static BigInteger toBigInteger(byte[] data, int offset, int encodeUnitLength) {
-        return new BigInteger(
-                ByteBuffer.allocate(encodeUnitLength).put(data, offset, encodeUnitLength).array());
+        return new BigInteger(data, offset, encodeUnitLength);
+    }
+
+    /**
+     * Reads a two's complement integer like {@link #toBigInteger(byte[], int, int) toBigInteger}
+     * with no BigInteger.
+     *
+     * @throws ArithmeticException if the value does not fit in a long
+     */
+    public static long toLongExact(byte[] data, int offset, int length) {
+        int low = Math.max(offset, offset + length - Long.BYTES);
+        long v = data[low] < 0 ? -1L : 0L;
+        for (int i = low; i < offset + length; i++) {
+            v = (v << 8) | (data[i] & 0xff);
+        }
+
+        byte sign = v < 0 ? (byte) 0xff : 0;
+        for (int i = offset; i < low; i++) {
+            if (data[i] != sign) {
+                throw new ArithmeticException("value out of long range");
+            }
+        }
+        return v;
     }
 }
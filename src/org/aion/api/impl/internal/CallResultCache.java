@@ -0,0 +1,70 @@
+package org.aion.api.impl.internal;
+
+import org.aion.api.type.CacheStats;
+import org.aion.base.util.ByteArrayWrapper;
+
+/**
+ * Results of the constant calls of one contract keyed by the encoded call. A result read at a head
+ * is only returned at that head, the first call seeing a newer head drops them all; the results of
+ * the pure functions do not depend on the state and are kept across heads.
+ */
+public final class CallResultCache {
+
+    private final LruCache<ByteArrayWrapper, byte[]> atHead;
+    private final LruCache<ByteArrayWrapper, byte[]> pure;
+    // the head of the results in atHead, guarded by this.
+    private long head = -1;
+
+    /** @param maxEntries the maximum number of results of each kind. */
+    public CallResultCache(int maxEntries) {
+        this.atHead = new LruCache<>(maxEntries, Long.MAX_VALUE, v -> v.length);
+        this.pure = new LruCache<>(maxEntries, Long.MAX_VALUE, v -> v.length);
+    }
+
+    /**
+     * @param call the sender and the encoded call data.
+     * @param head the block number the call would be read at, ignored for a pure function.
+     * @return the result, or null if the call must be sent.
+     */
+    public byte[] get(byte[] call, long head, boolean pure) {
+        if (pure) {
+            return this.pure.get(ByteArrayWrapper.wrap(call));
+        }
+
+        synchronized (this) {
+            if (head > this.head) {
+                this.atHead.clear();
+                this.head = head;
+            } else if (head < this.head) {
+                // a caller behind the head, or the head went back in a reorg.
+                return null;
+            }
+        }
+        return this.atHead.get(ByteArrayWrapper.wrap(call));
+    }
+
+    /** Keeps a result, a result read at another head than the current one is not kept. */
+    public void put(byte[] call, long head, boolean pure, byte[] result) {
+        if (pure) {
+            this.pure.put(ByteArrayWrapper.wrap(call), result);
+            return;
+        }
+
+        synchronized (this) {
+            if (head == this.head) {
+                this.atHead.put(ByteArrayWrapper.wrap(call), result);
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        CacheStats a = this.atHead.stats();
+        CacheStats p = this.pure.stats();
+        return new CacheStats(
+                a.getHits() + p.getHits(),
+                a.getMisses() + p.getMisses(),
+                a.getEvictions() + p.getEvictions(),
+                a.getEntries() + p.getEntries(),
+                a.getBytes() + p.getBytes());
+    }
+}
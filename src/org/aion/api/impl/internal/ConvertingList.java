@@ -0,0 +1,31 @@
+package org.aion.api.impl.internal;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Read only list converting the elements of another list on every read. Nothing converted is
+ * kept, reading an element twice converts it twice.
+ */
+public final class ConvertingList<S, T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<S> src;
+    private final Function<? super S, ? extends T> convert;
+
+    public ConvertingList(List<S> src, Function<? super S, ? extends T> convert) {
+        this.src = src;
+        this.convert = convert;
+    }
+
+    @Override
+    public T get(int index) {
+        return this.convert.apply(this.src.get(index));
+    }
+
+    @Override
+    public int size() {
+        return this.src.size();
+    }
+}
@@ -0,0 +1,163 @@
+package org.aion.api.impl.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.aion.api.type.Block;
+import org.aion.base.type.Hash256;
+
+/**
+ * Links the heads of the kernel to the chain known so far. The block at the head number is asked
+ * on every update so a reorg to a branch of the same height is seen; the new blocks are fetched
+ * walking back through their parent hashes until one links to a known block, that block is the
+ * fork point of a reorg. The updates are serialized, the state is guarded by this.
+ */
+public final class HeadLinker {
+
+    /** The number of recent block hashes kept to find the fork point of a reorg. */
+    public static final int WINDOW = 128;
+
+    /** The kernel calls of the linker. */
+    public interface Source {
+
+        /** @return the block number of the head, or -1 if it could not be asked. */
+        long blockNumber();
+
+        /** @return the block of the number, or null if it could not be fetched. */
+        Block block(long number);
+
+        /** @return the block of the hash, or null if it could not be fetched. */
+        Block block(Hash256 hash);
+    }
+
+    /** A new head, with the blocks it rolled back if any. */
+    public static final class Update {
+        private final Block head;
+        private final long fromNumber;
+        private final long toNumber;
+
+        private Update(Block head, long fromNumber, long toNumber) {
+            this.head = head;
+            this.fromNumber = fromNumber;
+            this.toNumber = toNumber;
+        }
+
+        public Block getHead() {
+            return this.head;
+        }
+
+        public boolean isReorg() {
+            return this.fromNumber >= 0;
+        }
+
+        /** @return the first block number rolled back, -1 if none. */
+        public long getFromNumber() {
+            return this.fromNumber;
+        }
+
+        /** @return the last block number rolled back, -1 if none. */
+        public long getToNumber() {
+            return this.toNumber;
+        }
+    }
+
+    private final Source source;
+
+    // the known chain from oldest to tip.
+    private final Hash256[] hashes = new Hash256[WINDOW];
+    private long oldest;
+    private long tip = -1;
+    private Block head;
+
+    public HeadLinker(Source source) {
+        if (source == null) {
+            throw new NullPointerException();
+        }
+        this.source = source;
+    }
+
+    /** @return the number of the last block linked, -1 if none. */
+    public synchronized long getTip() {
+        return this.tip;
+    }
+
+    /**
+     * Asks the head of the kernel and links it.
+     *
+     * @return the new head, or null if the head did not move or a block could not be fetched; the
+     *     next update retries.
+     */
+    public synchronized Update update() {
+        long number = this.source.blockNumber();
+        if (number < 0) {
+            return null;
+        }
+
+        Block top = this.source.block(number);
+        if (top == null) {
+            return null;
+        }
+
+        Block cur = this.head;
+        if (cur != null && cur.getNumber() == number && cur.getHash().equals(top.getHash())) {
+            return null;
+        }
+
+        if (this.tip < 0 || number > this.tip + WINDOW) {
+            // too far from the known chain to link the new blocks, start over from the head.
+            this.oldest = number;
+            this.tip = number;
+            this.hashes[slot(number)] = top.getHash();
+            this.head = top;
+            return new Update(top, -1, -1);
+        }
+
+        // the new blocks, from the head down.
+        List<Block> branch = new ArrayList<>();
+        Block b = top;
+        long fork;
+        while (true) {
+            long n = b.getNumber();
+            if (isKnown(n, b.getHash())) {
+                fork = n;
+                break;
+            }
+
+            branch.add(b);
+            if (n - 1 < this.oldest || isKnown(n - 1, b.getParentHash())) {
+                // the fork point is below the window when the parent is unknown.
+                fork = n - 1;
+                break;
+            }
+
+            b = this.source.block(b.getParentHash());
+            if (b == null) {
+                return null;
+            }
+        }
+
+        long rolledBack = this.tip;
+        this.tip = fork;
+        if (fork < this.oldest) {
+            this.oldest = fork + 1;
+        }
+        for (int i = branch.size() - 1; i >= 0; i--) {
+            Block nb = branch.get(i);
+            this.tip = nb.getNumber();
+            this.hashes[slot(this.tip)] = nb.getHash();
+            this.oldest = Math.max(this.oldest, this.tip - WINDOW + 1);
+        }
+
+        this.head = top;
+        return fork < rolledBack ? new Update(top, fork + 1, rolledBack) : new Update(top, -1, -1);
+    }
+
+    private boolean isKnown(long number, Hash256 hash) {
+        return number >= this.oldest
+                && number <= this.tip
+                && hash.equals(this.hashes[slot(number)]);
+    }
+
+    private static int slot(long number) {
+        return (int) Math.floorMod(number, (long) WINDOW);
+    }
+}
@@ -0,0 +1,106 @@
+package org.aion.api.impl.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import org.aion.api.type.CacheStats;
+
+/**
+ * Least recently used cache bounded both by the number of entries and by their estimated size.
+ * Entries are weighed once when they are added; the least recently read ones are evicted until
+ * both bounds hold.
+ */
+public final class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ToIntFunction<? super V> weigher;
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    // guarded by this.
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxEntries the maximum number of entries.
+     * @param maxBytes the maximum sum of the entry weights.
+     * @param weigher the estimated size of a value, in bytes.
+     */
+    public LruCache(int maxEntries, long maxBytes, ToIntFunction<? super V> weigher) {
+        if (maxEntries <= 0 || maxBytes <= 0 || weigher == null) {
+            throw new IllegalArgumentException();
+        }
+
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> e = this.map.get(key);
+        if (e == null) {
+            this.misses++;
+            return null;
+        }
+
+        this.hits++;
+        return e.val;
+    }
+
+    /** Adds or replaces an entry, a value heavier than the whole cache is not kept. */
+    public synchronized void put(K key, V val) {
+        if (key == null || val == null) {
+            throw new NullPointerException();
+        }
+
+        int weight = Math.max(this.weigher.applyAsInt(val), 0);
+        if (weight > this.maxBytes) {
+            return;
+        }
+
+        Entry<V> old = this.map.put(key, new Entry<>(val, weight));
+        if (old != null) {
+            this.bytes -= old.weight;
+        }
+        this.bytes += weight;
+
+        Iterator<Map.Entry<K, Entry<V>>> it = this.map.entrySet().iterator();
+        while ((this.map.size() > this.maxEntries || this.bytes > this.maxBytes) && it.hasNext()) {
+            this.bytes -= it.next().getValue().weight;
+            it.remove();
+            this.evictions++;
+        }
+    }
+
+    public synchronized V remove(K key) {
+        Entry<V> e = this.map.remove(key);
+        if (e == null) {
+            return null;
+        }
+
+        this.bytes -= e.weight;
+        return e.val;
+    }
+
+    public synchronized void clear() {
+        this.map.clear();
+        this.bytes = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(this.hits, this.misses, this.evictions, this.map.size(), this.bytes);
+    }
+
+    private static final class Entry<V> {
+        final V val;
+        final int weight;
+
+        Entry(V val, int weight) {
+            this.val = val;
+            this.weight = weight;
+        }
+    }
+}
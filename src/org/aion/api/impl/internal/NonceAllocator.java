@@ -0,0 +1,80 @@
+package org.aion.api.impl.internal;
+
+import java.util.TreeSet;
+
+/**
+ * Nonce counter of one account. The nonces given back are kept and handed out again lowest first
+ * before the counter moves on; the nonces handed out and not given back yet are counted so a sync
+ * with the chain knows whether the counter may go back to the chain nonce.
+ */
+public final class NonceAllocator {
+
+    // all guarded by this.
+    private final TreeSet<Long> gaps = new TreeSet<>();
+    private long next = -1;
+    private int inFlight;
+
+    public synchronized boolean isSynced() {
+        return this.next >= 0;
+    }
+
+    /** @return the next nonce, the lowest given back one if any. */
+    public synchronized long allocate() {
+        if (this.next < 0) {
+            throw new IllegalStateException("not synced");
+        }
+
+        Long gap = this.gaps.pollFirst();
+        this.inFlight++;
+        return gap != null ? gap : this.next++;
+    }
+
+    /** Marks a nonce as used by the chain. */
+    public synchronized void done(long nonce) {
+        if (this.inFlight > 0) {
+            this.inFlight--;
+        }
+    }
+
+    /** Gives back a nonce not used by the chain, it is handed out again. */
+    public synchronized void release(long nonce) {
+        if (this.inFlight > 0) {
+            this.inFlight--;
+        }
+
+        if (nonce < 0 || nonce >= this.next) {
+            return;
+        }
+
+        if (nonce == this.next - 1) {
+            this.next--;
+            while (!this.gaps.isEmpty() && this.gaps.last() == this.next - 1) {
+                this.next = this.gaps.pollLast();
+            }
+        } else {
+            this.gaps.add(nonce);
+        }
+    }
+
+    /**
+     * Syncs with the nonce of the account read from the chain. The given back nonces below it were
+     * used and are dropped; the counter only goes back to it while no nonce is in flight.
+     */
+    public synchronized void sync(long chainNonce) {
+        if (chainNonce < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        if (this.inFlight == 0) {
+            this.gaps.clear();
+            this.next = chainNonce;
+        } else {
+            this.gaps.headSet(chainNonce).clear();
+            this.next = Math.max(this.next, chainNonce);
+        }
+    }
+
+    public synchronized int inFlight() {
+        return this.inFlight;
+    }
+}
@@ -0,0 +1,270 @@
+package org.aion.api.impl.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Bounded table of the pending transactions, keyed by the 8-byte msg hash read as a long. The
+ * table is split into stripes, each an open addressing hash table guarded by its own lock, so
+ * callbacks and status polls of different transactions rarely contend and lookups allocate
+ * nothing.
+ */
+public final class PendingTxTable<V> {
+
+    private static final int STRIPES = 32;
+    private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPES);
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** @param capacity the maximum number of entries kept by the table. */
+    public PendingTxTable(int capacity) {
+        this.capacity = capacity;
+        int stripeCap = Math.max(8, (capacity + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe(stripeCap);
+        }
+    }
+
+    /** Reads the msg hash starting at {@code offset} of the given message as a table key. */
+    public static long toKey(byte[] msg, int offset) {
+        long key = 0;
+        for (int i = 0; i < ApiUtils.MSG_HASH_LEN; i++) {
+            key = (key << 8) | (msg[offset + i] & 0xFF);
+        }
+        return key;
+    }
+
+    public static long toKey(byte[] msgHash) {
+        return toKey(msgHash, 0);
+    }
+
+    public V get(long key) {
+        long h = mix(key);
+        Stripe s = stripe(h);
+        synchronized (s) {
+            return s.get(key, h);
+        }
+    }
+
+    /**
+     * Adds an entry unless the key is already in the table. When the table is full, one entry
+     * matching {@code evictable} is dropped to make room.
+     *
+     * @return false if the key is in the table or no room could be made.
+     */
+    public boolean putIfAbsent(long key, V val, Predicate<? super V> evictable) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+
+        long h = mix(key);
+        if (this.size.get() >= this.capacity) {
+            evictOne((int) (h >>> STRIPE_SHIFT), evictable);
+        }
+
+        Stripe s = stripe(h);
+        synchronized (s) {
+            if (s.get(key, h) != null) {
+                return false;
+            }
+
+            if (this.size.incrementAndGet() > this.capacity) {
+                this.size.decrementAndGet();
+                return false;
+            }
+
+            s.insert(key, h, val);
+            return true;
+        }
+    }
+
+    // holds one stripe lock at a time, starting from the stripe of the new key.
+    private void evictOne(int from, Predicate<? super V> evictable) {
+        if (evictable == null) {
+            return;
+        }
+
+        for (int i = 0; i < STRIPES; i++) {
+            Stripe s = this.stripes[(from + i) & (STRIPES - 1)];
+            synchronized (s) {
+                if (s.evict(evictable)) {
+                    this.size.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    public V remove(long key) {
+        long h = mix(key);
+        Stripe s = stripe(h);
+        synchronized (s) {
+            V val = s.remove(key, h);
+            if (val != null) {
+                this.size.decrementAndGet();
+            }
+            return val;
+        }
+    }
+
+    /** Removes the entry only if the key still maps to the given value. */
+    public boolean remove(long key, V val) {
+        long h = mix(key);
+        Stripe s = stripe(h);
+        synchronized (s) {
+            if (s.get(key, h) != val || s.remove(key, h) == null) {
+                return false;
+            }
+            this.size.decrementAndGet();
+            return true;
+        }
+    }
+
+    public int size() {
+        return this.size.get();
+    }
+
+    /** Returns a snapshot of the values, taken one stripe lock at a time. */
+    public List<V> values() {
+        List<V> vals = new ArrayList<>(this.size.get());
+        for (Stripe s : this.stripes) {
+            synchronized (s) {
+                s.collect(vals);
+            }
+        }
+        return vals;
+    }
+
+    public void clear() {
+        for (Stripe s : this.stripes) {
+            synchronized (s) {
+                this.size.addAndGet(-s.size);
+                s.clear();
+            }
+        }
+    }
+
+    // msg hashes are random, the mix only guards against poorly spread keys.
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private Stripe stripe(long h) {
+        return this.stripes[(int) (h >>> STRIPE_SHIFT)];
+    }
+
+    /** Linear probing table growing at half load, a null value marks a free slot. */
+    private static final class Stripe {
+        private int mask;
+        private long[] keys;
+        private Object[] vals;
+        private int size;
+
+        Stripe(int cap) {
+            int slots = Integer.highestOneBit(cap) << 2;
+            this.mask = slots - 1;
+            this.keys = new long[slots];
+            this.vals = new Object[slots];
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V get(long key, long h) {
+            for (int i = (int) h & this.mask; this.vals[i] != null; i = (i + 1) & this.mask) {
+                if (this.keys[i] == key) {
+                    return (V) this.vals[i];
+                }
+            }
+            return null;
+        }
+
+        void insert(long key, long h, Object val) {
+            if ((this.size + 1) << 1 > this.vals.length) {
+                grow();
+            }
+
+            int i = (int) h & this.mask;
+            while (this.vals[i] != null) {
+                i = (i + 1) & this.mask;
+            }
+            this.keys[i] = key;
+            this.vals[i] = val;
+            this.size++;
+        }
+
+        <V> V remove(long key, long h) {
+            for (int i = (int) h & this.mask; this.vals[i] != null; i = (i + 1) & this.mask) {
+                if (this.keys[i] == key) {
+                    @SuppressWarnings("unchecked")
+                    V val = (V) this.vals[i];
+                    delete(i);
+                    return val;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> boolean evict(Predicate<? super V> evictable) {
+            for (int i = 0; i < this.vals.length; i++) {
+                if (this.vals[i] != null && evictable.test((V) this.vals[i])) {
+                    delete(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> void collect(List<V> out) {
+            for (Object val : this.vals) {
+                if (val != null) {
+                    out.add((V) val);
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = this.keys;
+            Object[] oldVals = this.vals;
+            this.mask = (oldVals.length << 1) - 1;
+            this.keys = new long[oldVals.length << 1];
+            this.vals = new Object[oldVals.length << 1];
+            for (int i = 0; i < oldVals.length; i++) {
+                if (oldVals[i] != null) {
+                    int j = (int) mix(oldKeys[i]) & this.mask;
+                    while (this.vals[j] != null) {
+                        j = (j + 1) & this.mask;
+                    }
+                    this.keys[j] = oldKeys[i];
+                    this.vals[j] = oldVals[i];
+                }
+            }
+        }
+
+        // backward shift deletion, keeps every probe chain free of holes.
+        private void delete(int i) {
+            int hole = i;
+            for (int j = (i + 1) & this.mask; this.vals[j] != null; j = (j + 1) & this.mask) {
+                int home = (int) mix(this.keys[j]) & this.mask;
+                if (((j - home) & this.mask) >= ((j - hole) & this.mask)) {
+                    this.keys[hole] = this.keys[j];
+                    this.vals[hole] = this.vals[j];
+                    hole = j;
+                }
+            }
+            this.vals[hole] = null;
+            this.size--;
+        }
+
+        void clear() {
+            Arrays.fill(this.vals, null);
+            this.size = 0;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.aion.api.impl.internal;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.RangeIterator;
+
+/**
+ * Fetches a block range by chunks on its own threads and hands the items out in order. A new chunk
+ * is only requested when the reader takes a fetched one, so the reader sets the pace and at most
+ * the window of chunks is held at a time.
+ */
+public final class RangeFetcher<T> implements RangeIterator<T> {
+
+    private static final long IDLE_MS = 30_000;
+
+    /** Fetches the blocks [start, end], the list of the items wrapped into ApiMsg. */
+    @FunctionalInterface
+    public interface Chunk {
+        ApiMsg fetch(long start, long end);
+    }
+
+    private final Chunk chunk;
+    private final long end;
+    private final int chunkSize;
+    private final ExecutorService pool;
+    private final ArrayDeque<Future<ApiMsg>> inFlight;
+
+    // only used by the reader thread.
+    private long next;
+    private boolean submitted;
+    private Iterator<T> items = Collections.emptyIterator();
+    private int code = 1;
+    private boolean closed;
+
+    /**
+     * @param start the first block number.
+     * @param end the last block number, inclusive.
+     * @param chunkSize the number of blocks fetched by one request.
+     * @param window the number of chunks fetched at once, each on its own thread.
+     * @param chunk the request fetching one chunk.
+     */
+    public RangeFetcher(long start, long end, int chunkSize, int window, Chunk chunk) {
+        if (start > end || chunkSize <= 0 || window <= 0 || chunk == null) {
+            throw new IllegalArgumentException();
+        }
+
+        this.chunk = chunk;
+        this.end = end;
+        this.chunkSize = chunkSize;
+        this.next = start;
+        this.inFlight = new ArrayDeque<>(window);
+        ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(
+                        window,
+                        window,
+                        IDLE_MS,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            Thread t = new Thread(r, "rangeFetch");
+                            t.setDaemon(true);
+                            return t;
+                        });
+        // an iterator dropped without close does not keep its threads.
+        pool.allowCoreThreadTimeOut(true);
+        this.pool = pool;
+
+        for (int i = 0; i < window; i++) {
+            submitNext();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.items.hasNext()) {
+            if (this.closed || this.inFlight.isEmpty()) {
+                close();
+                return false;
+            }
+
+            ApiMsg msg;
+            try {
+                msg = this.inFlight.poll().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                msg = new ApiMsg(-1006);
+            } catch (ExecutionException e) {
+                msg = new ApiMsg(-1006);
+            }
+
+            if (msg.isError()) {
+                this.code = msg.getErrorCode();
+                close();
+                return false;
+            }
+
+            submitNext();
+            List<T> list = msg.getObject();
+            this.items = list.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.items.next();
+    }
+
+    @Override
+    public int getErrorCode() {
+        return this.code;
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.pool.shutdownNow();
+            this.inFlight.clear();
+        }
+    }
+
+    private void submitNext() {
+        if (this.submitted) {
+            return;
+        }
+
+        long s = this.next;
+        // written this way the last chunk can end at Long.MAX_VALUE.
+        long e = this.end - s < this.chunkSize ? this.end : s + this.chunkSize - 1;
+        if (e == this.end) {
+            this.submitted = true;
+        } else {
+            this.next = e + 1;
+        }
+        this.inFlight.add(this.pool.submit(() -> this.chunk.fetch(s, e)));
+    }
+}
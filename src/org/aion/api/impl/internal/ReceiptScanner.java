@@ -0,0 +1,270 @@
+package org.aion.api.impl.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.api.log.AionLoggerFactory;
+import org.aion.api.log.LogEnum;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.Block;
+import org.aion.api.type.TxReceipt;
+import org.aion.base.type.Hash256;
+import org.slf4j.Logger;
+
+/**
+ * Waiting state of the receipt waiter, driven by the head updates. Every new block is scanned once
+ * for the waited hashes; a hash added after its block was scanned is looked up by its receipt once,
+ * on the next head. The receipts found on one head are asked in one batch. The new waits are handed
+ * over through a queue, the rest of the state is guarded by this.
+ */
+public final class ReceiptScanner {
+
+    private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.TRX.name());
+
+    // the most blocks scanned on one head, a longer gap is bridged by asking every receipt.
+    private static final int MAX_SCAN = 128;
+
+    /** The kernel calls of the scanner. */
+    public interface Source {
+
+        /**
+         * @param txHashes the hashes of the transactions.
+         * @return the receipts in the order of the hashes, null for a transaction not included
+         *     yet; or null if none could be asked.
+         */
+        List<TxReceipt> receipts(List<Hash256> txHashes);
+
+        /** @return the block of the number, or null if it could not be fetched. */
+        Block block(long number);
+    }
+
+    private final Source source;
+    private final Queue<Waiter> added = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // in the order the hashes were added, the order they are asked in.
+    private final Map<Hash256, List<Waiter>> waiting = new LinkedHashMap<>();
+    private final Map<Hash256, Included> included = new HashMap<>();
+    private long scanned = -1;
+
+    public ReceiptScanner(Source source) {
+        if (source == null) {
+            throw new NullPointerException();
+        }
+        this.source = source;
+    }
+
+    /**
+     * Queues a wait, it is taken in by the next head update.
+     *
+     * @return a future of the class {@link TxReceipt TxReceipt} wrapped into ApiMsg, completed
+     *     once the transaction has the confirmations.
+     */
+    public CompletableFuture<ApiMsg> add(Hash256 txHash, int confirmations) {
+        if (txHash == null) {
+            throw new NullPointerException();
+        }
+
+        if (confirmations < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        Waiter w = new Waiter(txHash, confirmations);
+        this.pending.incrementAndGet();
+        w.rsp.whenComplete((r, e) -> this.pending.decrementAndGet());
+        this.added.add(w);
+        return w.rsp;
+    }
+
+    /** @return the number of futures not completed yet. */
+    public int getPending() {
+        return this.pending.get();
+    }
+
+    /** @return the number of the last block scanned, -1 if none. */
+    public synchronized long getScanned() {
+        return this.scanned;
+    }
+
+    /** The transactions of the rolled back blocks are waited for again. */
+    public synchronized void onReorg(long fromNumber, long toNumber) {
+        Iterator<Included> it = this.included.values().iterator();
+        while (it.hasNext()) {
+            Included inc = it.next();
+            if (inc.receipt.getBlockNumber() >= fromNumber) {
+                it.remove();
+                this.waiting
+                        .computeIfAbsent(inc.receipt.getTxHash(), h -> new ArrayList<>())
+                        .addAll(inc.waiters);
+            }
+        }
+        this.scanned = Math.min(this.scanned, fromNumber - 1);
+    }
+
+    public synchronized void onNewHead(Block head) {
+        long number = head.getNumber();
+        List<Waiter> fresh = drainAdded();
+        if (this.scanned < 0 || number - this.scanned > MAX_SCAN) {
+            // no scanned block to go on from, every receipt is asked once.
+            lookup(this.waiting.keySet());
+            this.scanned = number;
+        } else {
+            Set<Hash256> ask = new LinkedHashSet<>();
+            for (Waiter w : fresh) {
+                if (this.waiting.containsKey(w.txHash)) {
+                    ask.add(w.txHash);
+                }
+            }
+
+            while (this.scanned < number && !this.waiting.isEmpty()) {
+                long n = this.scanned + 1;
+                Block b = n == number ? head : this.source.block(n);
+                if (b == null) {
+                    // the next head goes on from here.
+                    break;
+                }
+
+                for (Hash256 txHash : b.getTxHash()) {
+                    if (this.waiting.containsKey(txHash)) {
+                        ask.add(txHash);
+                    }
+                }
+                this.scanned = n;
+            }
+
+            lookup(ask);
+            if (this.waiting.isEmpty()) {
+                this.scanned = number;
+            }
+        }
+
+        confirm(number);
+    }
+
+    /** Completes every wait, the queued ones included, with the error code and starts over. */
+    public synchronized void failAll(int code) {
+        drainAdded();
+        for (List<Waiter> ws : this.waiting.values()) {
+            fail(ws, code);
+        }
+        for (Included inc : this.included.values()) {
+            fail(inc.waiters, code);
+        }
+        this.waiting.clear();
+        this.included.clear();
+        this.scanned = -1;
+    }
+
+    private List<Waiter> drainAdded() {
+        List<Waiter> fresh = new ArrayList<>();
+        Waiter w;
+        while ((w = this.added.poll()) != null) {
+            Included inc = this.included.get(w.txHash);
+            if (inc != null) {
+                inc.waiters.add(w);
+            } else {
+                this.waiting.computeIfAbsent(w.txHash, h -> new ArrayList<>()).add(w);
+                fresh.add(w);
+            }
+        }
+        return fresh;
+    }
+
+    private void lookup(Collection<Hash256> txHashes) {
+        if (txHashes.isEmpty()) {
+            return;
+        }
+
+        List<Hash256> asked = new ArrayList<>(txHashes);
+        List<TxReceipt> receipts = this.source.receipts(asked);
+        if (receipts == null) {
+            // asked again when their block is scanned.
+            return;
+        }
+
+        for (int i = 0; i < asked.size(); i++) {
+            TxReceipt receipt = receipts.get(i);
+            if (receipt == null) {
+                // not included yet.
+                continue;
+            }
+
+            List<Waiter> ws = this.waiting.remove(asked.get(i));
+            if (ws != null) {
+                this.included.put(asked.get(i), new Included(receipt, ws));
+            }
+        }
+    }
+
+    private void confirm(long head) {
+        Iterator<Included> it = this.included.values().iterator();
+        while (it.hasNext()) {
+            Included inc = it.next();
+            long depth = head - inc.receipt.getBlockNumber();
+            inc.waiters.removeIf(
+                    w -> {
+                        if (w.rsp.isDone()) {
+                            return true;
+                        }
+                        if (depth >= w.confirmations) {
+                            w.rsp.complete(new ApiMsg(inc.receipt, ApiMsg.cast.OTHERS));
+                            return true;
+                        }
+                        return false;
+                    });
+            if (inc.waiters.isEmpty()) {
+                it.remove();
+            }
+        }
+
+        // the cancelled waits are dropped.
+        Iterator<List<Waiter>> wit = this.waiting.values().iterator();
+        while (wit.hasNext()) {
+            List<Waiter> ws = wit.next();
+            ws.removeIf(w -> w.rsp.isDone());
+            if (ws.isEmpty()) {
+                wit.remove();
+            }
+        }
+    }
+
+    private static void fail(List<Waiter> ws, int code) {
+        for (Waiter w : ws) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("[failAll] code [{}] tx#{}", code, w.txHash);
+            }
+            w.rsp.complete(new ApiMsg(code));
+        }
+    }
+
+    private static final class Waiter {
+        final Hash256 txHash;
+        final int confirmations;
+        final CompletableFuture<ApiMsg> rsp = new CompletableFuture<>();
+
+        Waiter(Hash256 txHash, int confirmations) {
+            this.txHash = txHash;
+            this.confirmations = confirmations;
+        }
+    }
+
+    private static final class Included {
+        final TxReceipt receipt;
+        final List<Waiter> waiters;
+
+        Included(TxReceipt receipt, List<Waiter> waiters) {
+            this.receipt = receipt;
+            this.waiters = waiters;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.aion.api.impl.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs one call per key at a time. A caller asking for a key already being loaded waits for that
+ * call and gets its result instead of running its own; the key is free again as soon as the call
+ * returns, so nothing is cached past it.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * @param key the identity of the call.
+     * @param call the call run if no other caller runs it, its exceptions are thrown to the caller
+     *     running it while the waiting callers get null.
+     * @return the result of the call, shared by every caller of the same flight.
+     */
+    public V run(K key, Supplier<V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> cur = this.calls.putIfAbsent(key, mine);
+        if (cur != null) {
+            return cur.join();
+        }
+
+        V val = null;
+        try {
+            val = call.get();
+            return val;
+        } finally {
+            this.calls.remove(key, mine);
+            mine.complete(val);
+        }
+    }
+
+    /** @return the number of keys being loaded. */
+    public int inFlight() {
+        return this.calls.size();
+    }
+}
@@ -0,0 +1,228 @@
+package org.aion.api.impl.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.api.log.AionLoggerFactory;
+import org.aion.api.log.LogEnum;
+import org.slf4j.Logger;
+
+/**
+ * Hashed timing wheel running delayed tasks on one daemon thread. Scheduling and cancelling are
+ * O(1) for the caller: new and cancelled timeouts are handed to the wheel thread through lock-free
+ * queues, and only the wheel thread touches the buckets. Every timeout keeps its own deadline, the
+ * task runs on the first tick at or after it.
+ */
+public final class TimerWheel {
+
+    private static final Logger LOGGER = AionLoggerFactory.getLogger(LogEnum.EXE.name());
+    private static final TimerWheel SHARED = new TimerWheel(100, 512);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final long startTime = System.nanoTime();
+    private long tick;
+
+    /**
+     * @param tickMs the wheel resolution in milliseconds.
+     * @param ticksPerWheel the number of buckets, rounded up to a power of 2.
+     */
+    public TimerWheel(long tickMs, int ticksPerWheel) {
+        if (tickMs <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheel = new Bucket[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket();
+        }
+    }
+
+    /** The wheel shared by every api instance of the process. */
+    public static TimerWheel shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs the task on the wheel thread once the delay is elapsed. The task must be short, it holds
+     * back every other timeout of the wheel.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+
+        if (this.started.compareAndSet(false, true)) {
+            Thread th = new Thread(this::run, "api-timer");
+            th.setDaemon(true);
+            th.start();
+        }
+
+        Timeout timeout =
+                new Timeout(this, task, System.nanoTime() - this.startTime + unit.toNanos(delay));
+        this.added.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        for (; ; ) {
+            long deadline = this.tickNanos * (this.tick + 1);
+            // round up, a task never runs before its deadline.
+            long sleepMs = (deadline - (System.nanoTime() - this.startTime) + 999_999) / 1_000_000;
+            if (sleepMs > 0) {
+                try {
+                    Thread.sleep(sleepMs);
+                } catch (InterruptedException e) {
+                    // the shared wheel lives as long as the process.
+                }
+                continue;
+            }
+
+            removeCancelled();
+            transferAdded();
+            this.wheel[(int) (this.tick & this.mask)].expire(deadline);
+            this.tick++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = this.cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = this.added.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+
+            long ticks = Math.max(timeout.deadline / this.tickNanos, this.tick);
+            timeout.rounds = (ticks - this.tick) / this.wheel.length;
+            this.wheel[(int) (ticks & this.mask)].add(timeout);
+        }
+    }
+
+    /** Handle of a scheduled task. */
+    public static final class Timeout {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimerWheel timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // owned by the wheel thread.
+        private long rounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimerWheel timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /** @return false if the task already ran or was cancelled. */
+        public boolean cancel() {
+            if (!this.state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            this.timer.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return this.state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!this.state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+
+            try {
+                this.task.run();
+            } catch (Throwable e) {
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error("[TimerWheel] task exception. {}", e.toString());
+                }
+            }
+        }
+    }
+
+    /** Doubly linked list of the timeouts falling on one tick of the wheel. */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.rounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state.get() == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                this.head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                this.tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.aion.api.impl.internal;
+
+import org.aion.api.type.BlockDetailsView;
+import org.aion.api.type.BlockView;
+import org.aion.api.type.TxDetailsView;
+import org.aion.api.type.TxReceiptView;
+
+/**
+ * Builds the views of {@code org.aion.api.type} over the kernel messages. The constructors of the
+ * views are package private so no public signature of the api names a message, their package hands
+ * them to this factory when {@link BlockView BlockView} is loaded.
+ */
+public final class ViewFactory {
+
+    /** The package private constructors of the views. */
+    public interface Constructors {
+
+        BlockView blockView(Message.rsp_getBlock blk);
+
+        BlockDetailsView blockDetailsView(Message.t_BlockDetail blk);
+
+        TxDetailsView txDetailsView(Message.t_TxDetail tx);
+
+        TxReceiptView txReceiptView(Message.rsp_getTransactionReceipt rcpt);
+    }
+
+    private static volatile Constructors constructors;
+
+    private ViewFactory() {}
+
+    /** Sets the constructors once, the later calls are ignored. */
+    public static synchronized void setConstructors(Constructors c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+
+        if (constructors == null) {
+            constructors = c;
+        }
+    }
+
+    public static BlockView toBlockView(Message.rsp_getBlock blk) {
+        return constructors().blockView(blk);
+    }
+
+    public static BlockDetailsView toBlockDetailsView(Message.t_BlockDetail blk) {
+        return constructors().blockDetailsView(blk);
+    }
+
+    public static TxDetailsView toTxDetailsView(Message.t_TxDetail tx) {
+        return constructors().txDetailsView(tx);
+    }
+
+    public static TxReceiptView toTxReceiptView(Message.rsp_getTransactionReceipt rcpt) {
+        return constructors().txReceiptView(rcpt);
+    }
+
+    private static Constructors constructors() {
+        Constructors c = constructors;
+        if (c == null) {
+            // the views set their constructors when BlockView is initialized.
+            try {
+                Class.forName(BlockView.class.getName(), true, BlockView.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            c = constructors;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,80 @@
+package org.aion.api.impl.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+
+/**
+ * Starts calls with up to a window of them unanswered at a time and collects the answers in the
+ * order the calls were started, whatever order they are answered in.
+ */
+public final class WindowedCalls {
+
+    // how often a waiting caller checks that the connection is still alive.
+    private static final long ALIVE_CHECK_MS = 1000;
+
+    private WindowedCalls() {}
+
+    /**
+     * Fills {@code out} from index {@code from} to its end with the answers of the calls of the
+     * same index. A call not answered is left null; the calls still unanswered when this returns
+     * are completed with null.
+     *
+     * @param out the answers, in the order of the calls.
+     * @param window the number of calls unanswered at a time.
+     * @param timeoutMs the time to wait for a free slot, and for each answer after the former one.
+     * @param call starts the call of an index, its future completes with the answer.
+     * @param alive false stops starting and waiting for calls.
+     */
+    public static <T> void run(
+            List<T> out,
+            int from,
+            int window,
+            long timeoutMs,
+            IntFunction<CompletableFuture<T>> call,
+            BooleanSupplier alive)
+            throws InterruptedException, ExecutionException {
+        Semaphore slots = new Semaphore(Math.max(window, 1));
+        List<CompletableFuture<T>> calls = new ArrayList<>(out.size() - from);
+        try {
+            for (int i = from; i < out.size() && alive.getAsBoolean(); i++) {
+                // no slot freed for a whole timeout means the peer stopped answering.
+                if (!slots.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+
+                CompletableFuture<T> f = call.apply(i);
+                f.whenComplete((r, e) -> slots.release());
+                calls.add(f);
+            }
+
+            for (int i = 0; i < calls.size(); i++) {
+                CompletableFuture<T> f = calls.get(i);
+                // every call answered before restarts the timeout of the next one.
+                long deadline = System.currentTimeMillis() + timeoutMs;
+                long left;
+                while (!f.isDone()
+                        && alive.getAsBoolean()
+                        && (left = deadline - System.currentTimeMillis()) > 0) {
+                    try {
+                        f.get(Math.min(left, ALIVE_CHECK_MS), TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        // keep waiting while the connection is alive.
+                    }
+                }
+                out.set(from + i, f.getNow(null));
+            }
+        } finally {
+            // the calls left are not waited for any more.
+            for (CompletableFuture<T> f : calls) {
+                f.complete(null);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.aion.api.sol;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import org.aion.base.util.ByteArrayWrapper;
 import org.aion.vm.api.interfaces.Address;
@@ -31,7 +32,13 @@ public interface ISolidityArg {
 
     String getInputFormat();
 
+    int getEncodedLength();
+
+    void encode(ByteBuffer out);
+
     boolean isType(String in);
 
     Object decode(int offset, ByteArrayWrapper data);
+
+    int decodeEntries(int offset, ByteArrayWrapper data, ISolidityEntrySink sink);
 }
@@ -0,0 +1,19 @@
+package org.aion.api.sol;
+
+/**
+ * Receives the entries of a decoded parameter without building the value objects, see {@link
+ * ISolidityArg#decodeEntries(int, org.aion.base.util.ByteArrayWrapper, ISolidityEntrySink)
+ * decodeEntries}. The slices share the response data and are only valid during the call; copy them
+ * to keep them.
+ */
+@FunctionalInterface
+public interface ISolidityEntrySink {
+
+    /**
+     * @param index the index of the entry, the entries of nested arrays are numbered in order.
+     * @param data the response data, or a shared block of zeros for an entry past its end.
+     * @param offset the offset of the entry in data.
+     * @param length the encoded length of a static entry, the content length of a dynamic one.
+     */
+    void entry(int index, byte[] data, int offset, int length);
+}
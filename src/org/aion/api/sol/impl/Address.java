@@ -1,9 +1,9 @@
 package org.aion.api.sol.impl;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 import org.aion.api.IUtils;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
@@ -164,7 +164,10 @@ public final class Address extends SolidityAbstractType implements IAddress {
             return false;
         }
 
-        return Pattern.matches("address(\\[([0-9]*)])?", in);
+        SolidityType t = SolidityType.parse(in);
+        return t != null
+                && t.getKind() == SolidityValue.SolidityTypeEnum.ADDRESS
+                && t.getDimensions() <= 1;
     }
 
     /**
@@ -205,6 +208,16 @@ public final class Address extends SolidityAbstractType implements IAddress {
         return Arrays.copyOfRange(data, offset, offset + encodeUnitLengthDouble);
     }
 
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, entry, encodeUnitLengthDouble);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return leftPaddedLength(entry, encodeUnitLengthDouble);
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return true;
@@ -1,9 +1,9 @@
 package org.aion.api.sol.impl;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.sol.IBool;
@@ -94,7 +94,6 @@ public final class Bool extends SolidityAbstractType implements IBool {
         return new Bool();
     }
 
-
     /**
      * Checks that inputted string is the correct type. To be used with ABI.
      *
@@ -108,7 +107,7 @@ public final class Bool extends SolidityAbstractType implements IBool {
             }
             return false;
         }
-        return Pattern.matches("^bool(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityValue.SolidityTypeEnum.BOOL);
     }
 
     /**
@@ -154,6 +153,16 @@ public final class Bool extends SolidityAbstractType implements IBool {
         return dat[dat.length - 1] == (byte) 0x01;
     }
 
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, entry, encodeUnitLength);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return leftPaddedLength(entry, encodeUnitLength);
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return false;
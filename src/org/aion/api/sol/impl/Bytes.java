@@ -1,10 +1,9 @@
 package org.aion.api.sol.impl;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.aion.api.IUtils;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
@@ -137,7 +136,7 @@ public final class Bytes extends SolidityAbstractType implements IBytes {
             }
             return false;
         }
-        return Pattern.matches("^bytes([0-9]{1,})(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityValue.SolidityTypeEnum.BYTES);
     }
 
     /**
@@ -188,12 +187,23 @@ public final class Bytes extends SolidityAbstractType implements IBytes {
         return Arrays.copyOfRange(data, offset, offset + encodeLen);
     }
 
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putRightPadded(out, entry, padUnit());
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return rightPaddedLength(entry, padUnit());
+    }
+
+    // formatToString pads the hex string to a multiple of the encode length in characters.
+    private int padUnit() {
+        return (isDoubleUnit() ? encodeUnitLengthDouble : encodeUnitLength) >> 1;
+    }
+
     @Override
     protected boolean isDoubleUnit() {
-        String t = this.type;
-        Matcher matcher = Pattern.compile("\\d+").matcher(t);
-        matcher.find();
-        int len = Integer.valueOf(matcher.group());
-        return len > 16;
+        return SolidityType.parse(this.type).getSize() > 16;
     }
 }
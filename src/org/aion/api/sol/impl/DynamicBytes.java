@@ -1,15 +1,16 @@
 package org.aion.api.sol.impl;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.regex.Pattern;
 import org.aion.api.IUtils;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.sol.IDynamicBytes;
+import org.aion.api.sol.ISolidityEntrySink;
 
 /** Created by yao on 20/09/16. */
 
@@ -94,7 +95,7 @@ public final class DynamicBytes extends SolidityAbstractType implements IDynamic
             }
             return false;
         }
-        return Pattern.matches("^bytes(\\[([0-9]*)\\])*$", in);
+        return SolidityType.isKind(in, SolidityValue.SolidityTypeEnum.DYNAMICBYTES);
     }
 
     /**
@@ -173,6 +174,34 @@ public final class DynamicBytes extends SolidityAbstractType implements IDynamic
         return Objects.requireNonNull(formatToString((byte[]) valArray.get(0))).length();
     }
 
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, BigInteger.valueOf(entry.length).toByteArray(), encodeUnitLength);
+        putRightPadded(out, entry, encodeUnitLength);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return encodeUnitLength + rightPaddedLength(entry, encodeUnitLength);
+    }
+
+    /** for contract internal encode/decode. */
+    @Override
+    public void encode(ByteBuffer out) {
+        encodeEntry((byte[]) valArray.get(0), out);
+    }
+
+    /** for contract internal encode/decode. */
+    @Override
+    public int getEncodedLength() {
+        return entryLength((byte[]) valArray.get(0));
+    }
+
+    @Override
+    protected void sliceEntry(byte[] data, int offset, int index, ISolidityEntrySink sink) {
+        sliceDynamicEntry(data, offset, index, sink);
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return false;
@@ -1,13 +1,14 @@
 package org.aion.api.sol.impl;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.sol.IInt;
+import org.aion.base.util.ByteArrayWrapper;
 
 /** Created by yao on 20/09/16. */
 
@@ -212,7 +213,7 @@ public final class Int extends SolidityAbstractType implements IInt {
             return false;
         }
 
-        return Pattern.matches("^int([0-9]*)?(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityValue.SolidityTypeEnum.INT);
     }
 
     /**
@@ -230,7 +231,7 @@ public final class Int extends SolidityAbstractType implements IInt {
             return null;
         }
 
-        if ((entry[entry.length - 1] >> 7) == (byte) (0x1)) {
+        if (isNegative(entry)) {
             return ApiUtils.toHexPaddedNegative16(entry);
         } else {
             return ApiUtils.toHexPadded16(entry);
@@ -260,6 +261,45 @@ public final class Int extends SolidityAbstractType implements IInt {
         return ApiUtils.toBigInteger(data, offset, encodeUnitLength);
     }
 
+    /**
+     * Decodes the parameter into a primitive array, the entries of nested arrays are flattened in
+     * order. A single value gives an array of one.
+     *
+     * @param offset offset of the parameter in the response
+     * @param data byte string response from call
+     * @return the entries
+     * @throws ArithmeticException if an entry does not fit in a long
+     */
+    public long[] decodeLongs(int offset, ByteArrayWrapper data) {
+        return decodeLongEntries(offset, data);
+    }
+
+    /**
+     * Decodes the parameter into an array with no list of boxes, the entries of nested arrays are
+     * flattened in order.
+     *
+     * @param offset offset of the parameter in the response
+     * @param data byte string response from call
+     * @return the entries
+     */
+    public BigInteger[] decodeBigIntegers(int offset, ByteArrayWrapper data) {
+        return decodeBigIntegerEntries(offset, data);
+    }
+
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, entry, encodeUnitLength, isNegative(entry) ? (byte) 0xff : 0);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return leftPaddedLength(entry, encodeUnitLength);
+    }
+
+    private static boolean isNegative(byte[] entry) {
+        return (entry[entry.length - 1] >> 7) == (byte) (0x1);
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return false;
@@ -4,7 +4,6 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 
@@ -92,7 +91,10 @@ public final class Real extends SolidityAbstractType {
             }
             return false;
         }
-        return Pattern.matches("real([0-9]*)?(\\[([0-9]*)\\])?", in);
+        SolidityType t = SolidityType.parse(in);
+        return t != null
+                && t.getKind() == SolidityValue.SolidityTypeEnum.REAL
+                && t.getDimensions() <= 1;
     }
 
     public String formatToString(byte[] entry) {
@@ -115,6 +117,16 @@ public final class Real extends SolidityAbstractType {
         return Arrays.copyOfRange(data, offset, offset + encodeUnitLength);
     }
 
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, entry, encodeUnitLength);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return leftPaddedLength(entry, encodeUnitLength);
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return false;
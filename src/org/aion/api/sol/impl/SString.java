@@ -1,14 +1,15 @@
 package org.aion.api.sol.impl;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 import org.aion.api.IUtils;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.sol.ISString;
+import org.aion.api.sol.ISolidityEntrySink;
 
 /** Created by yao on 16/09/16. */
 
@@ -61,7 +62,7 @@ public final class SString extends SolidityAbstractType implements ISString {
             LOGGER.error("[isType] {}", ErrId.getErrString(-315L));
             return false;
         }
-        return Pattern.matches("^string(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityValue.SolidityTypeEnum.STRING);
     }
 
     /**
@@ -140,6 +141,34 @@ public final class SString extends SolidityAbstractType implements ISString {
         return Objects.requireNonNull(formatToString(val.getBytes())).length();
     }
 
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, BigInteger.valueOf(entry.length).toByteArray(), encodeUnitLength);
+        putRightPadded(out, entry, encodeUnitLength);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return encodeUnitLength + rightPaddedLength(entry, encodeUnitLength);
+    }
+
+    /** for contract internal encode/decode. */
+    @Override
+    public void encode(ByteBuffer out) {
+        encodeEntry(val.getBytes(), out);
+    }
+
+    /** for contract internal encode/decode. */
+    @Override
+    public int getEncodedLength() {
+        return entryLength(val.getBytes());
+    }
+
+    @Override
+    protected void sliceEntry(byte[] data, int offset, int index, ISolidityEntrySink sink) {
+        sliceDynamicEntry(data, offset, index, sink);
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return false;
@@ -1,6 +1,7 @@
 package org.aion.api.sol.impl;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import org.aion.api.ITx;
@@ -8,6 +9,7 @@ import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
+import org.aion.api.sol.ISolidityEntrySink;
 import org.aion.api.type.TxArgs;
 import org.aion.base.util.ByteArrayWrapper;
 import org.slf4j.Logger;
@@ -27,6 +29,7 @@ public abstract class SolidityAbstractType {
     private List outValArray;
     static final int encodeUnitLength = 16;
     static final int encodeUnitLengthDouble = 32;
+    private static final byte[] ZEROS = new byte[encodeUnitLengthDouble];
 
     public SolidityAbstractType() {
         super();
@@ -55,6 +58,20 @@ public abstract class SolidityAbstractType {
      */
     public abstract String formatToString(byte[] entry);
 
+    /**
+     * Writes the bytes of {@link #formatToString(byte[]) formatToString} straight into the buffer.
+     *
+     * @param entry
+     * @param out buffer with {@link #entryLength(byte[]) entryLength} bytes remaining at least
+     */
+    protected abstract void encodeEntry(byte[] entry, ByteBuffer out);
+
+    /**
+     * @param entry
+     * @return the number of bytes {@link #encodeEntry(byte[], ByteBuffer) encodeEntry} writes
+     */
+    protected abstract int entryLength(byte[] entry);
+
     /**
      * For Contract decodes the response data from server, not user facing.
      *
@@ -84,44 +101,31 @@ public abstract class SolidityAbstractType {
                 return this.decodeToSolidityType(data.getData(), offset);
             }
 
-            int arrayOffset = ApiUtils.toInt(data.getData(), offset, encodeUnitLength);
-            int length = ApiUtils.toInt(data.getData(), arrayOffset, encodeUnitLength);
-
+            int arrayOffset = arrayOffset(data.getData(), offset);
+            int length = arrayLength(data.getData(), arrayOffset);
             int arrayStart = arrayOffset + encodeUnitLength;
-            int innerLayer = layer + 1;
 
-            int nestedStaticPartLength = getStaticPartLayerLength(innerLayer);
-            int roundedNestedStaticPartLength =
-                    ((int)
-                                    (((double) nestedStaticPartLength + encodeUnitLength - 1)
-                                            / encodeUnitLength))
-                            * encodeUnitLength;
-
-            List ret = new ArrayList();
+            int innerLayer = layer + 1;
+            int step = roundUp(getStaticPartLayerLength(innerLayer), encodeUnitLength);
+            checkRange(data.getData(), arrayStart, (long) length * step);
 
-            for (int i = 0;
-                    i < length * roundedNestedStaticPartLength;
-                    i += roundedNestedStaticPartLength) {
-                ret.add(decodeHelper(arrayStart + i, data, innerLayer));
+            List<Object> ret = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                ret.add(decodeHelper(arrayStart + i * step, data, innerLayer));
             }
 
             return ret;
 
         } else if (this.getLayerIsStaticArray(layer)) {
-            int length = this.dynamicParameters.get(layer);
+            int length = staticArrayLength(layer);
             int innerLayer = layer + 1;
 
-            int nestedStaticPartLength = this.getStaticPartLayerLength(innerLayer);
             int encodeLen = isDoubleUnit() ? encodeUnitLengthDouble : encodeUnitLength;
-            int roundedNestedStaticPartLength =
-                    ((int) (((double) nestedStaticPartLength + encodeLen - 1) / encodeLen))
-                            * encodeLen;
-
-            List ret = new ArrayList();
-            for (int i = 0;
-                    i < length * roundedNestedStaticPartLength;
-                    i += roundedNestedStaticPartLength) {
-                ret.add(decodeHelper(offset + i, data, innerLayer));
+            int step = roundUp(getStaticPartLayerLength(innerLayer), encodeLen);
+
+            List<Object> ret = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                ret.add(decodeHelper(offset + i * step, data, innerLayer));
             }
 
             return ret;
@@ -130,6 +134,129 @@ public abstract class SolidityAbstractType {
         }
     }
 
+    /**
+     * Decodes the parameter entry by entry into the sink instead of building the value objects of
+     * {@link #decode(int, ByteArrayWrapper) decode}, the entries of nested arrays are passed in
+     * order.
+     *
+     * @param offset offset of the parameter in the response
+     * @param data byte string response from call
+     * @param sink receives the slice of every entry
+     * @return the number of entries
+     */
+    public int decodeEntries(int offset, ByteArrayWrapper data, ISolidityEntrySink sink) {
+        if (data == null || sink == null) {
+            throw new NullPointerException();
+        }
+        return decodeEntries(offset, data.getData(), 0, sink, 0);
+    }
+
+    private int decodeEntries(
+            int offset, byte[] data, int layer, ISolidityEntrySink sink, int index) {
+
+        if (this.getLayerIsDynamicArray(layer)) {
+            if (offset + encodeUnitLength > data.length) {
+                return index;
+            }
+
+            int arrayOffset = arrayOffset(data, offset);
+            int length = arrayLength(data, arrayOffset);
+            int arrayStart = arrayOffset + encodeUnitLength;
+
+            int step = roundUp(getStaticPartLayerLength(layer + 1), encodeUnitLength);
+            checkRange(data, arrayStart, (long) length * step);
+
+            for (int i = 0; i < length; i++) {
+                index = decodeEntries(arrayStart + i * step, data, layer + 1, sink, index);
+            }
+            return index;
+        } else if (this.getLayerIsStaticArray(layer)) {
+            int length = staticArrayLength(layer);
+            int encodeLen = isDoubleUnit() ? encodeUnitLengthDouble : encodeUnitLength;
+            int step = roundUp(getStaticPartLayerLength(layer + 1), encodeLen);
+
+            for (int i = 0; i < length; i++) {
+                index = decodeEntries(offset + i * step, data, layer + 1, sink, index);
+            }
+            return index;
+        } else {
+            sliceEntry(data, offset, index, sink);
+            return index + 1;
+        }
+    }
+
+    /**
+     * Passes the slice of the entry at offset to the sink, an entry past the end of the data reads
+     * as zeros like in {@link #decodeToSolidityType(byte[], int) decodeToSolidityType}.
+     */
+    protected void sliceEntry(byte[] data, int offset, int index, ISolidityEntrySink sink) {
+        int encodeLen = isDoubleUnit() ? encodeUnitLengthDouble : encodeUnitLength;
+        if (offset + encodeLen > data.length) {
+            sink.entry(index, ZEROS, 0, encodeLen);
+        } else {
+            sink.entry(index, data, offset, encodeLen);
+        }
+    }
+
+    /** Slices the content of a dynamic entry, its offset word is at offset. */
+    void sliceDynamicEntry(byte[] data, int offset, int index, ISolidityEntrySink sink) {
+        if (offset + encodeUnitLength > data.length) {
+            sink.entry(index, ZEROS, 0, 0);
+            return;
+        }
+
+        int start = arrayOffset(data, offset);
+        int length = arrayLength(data, start);
+        checkRange(data, start + encodeUnitLength, length);
+        sink.entry(index, data, start + encodeUnitLength, length);
+    }
+
+    /** The entries of a uint or int parameter as longs, see {@link ApiUtils#toLongExact}. */
+    long[] decodeLongEntries(int offset, ByteArrayWrapper data) {
+        long[] out = new long[decodeEntries(offset, data, (i, d, o, l) -> {})];
+        decodeEntries(offset, data, (i, d, o, l) -> out[i] = ApiUtils.toLongExact(d, o, l));
+        return out;
+    }
+
+    /** The entries of a uint or int parameter as BigIntegers. */
+    BigInteger[] decodeBigIntegerEntries(int offset, ByteArrayWrapper data) {
+        BigInteger[] out = new BigInteger[decodeEntries(offset, data, (i, d, o, l) -> {})];
+        decodeEntries(offset, data, (i, d, o, l) -> out[i] = new BigInteger(d, o, l));
+        return out;
+    }
+
+    // the length of the static array of the layer, the lengths are stored outermost last.
+    private int staticArrayLength(int layer) {
+        return this.dynamicParameters.get((this.dynamicParameters.size() - 1) - layer);
+    }
+
+    // the offset of the length word the offset word at offset points to.
+    private static int arrayOffset(byte[] data, int offset) {
+        int start = ApiUtils.toInt(data, offset, encodeUnitLength);
+        checkRange(data, start, encodeUnitLength);
+        return start;
+    }
+
+    // the length word at the start of an array.
+    private static int arrayLength(byte[] data, int start) {
+        int length = ApiUtils.toInt(data, start, encodeUnitLength);
+        if (length < 0) {
+            throw new IllegalArgumentException("invalid array length#" + length);
+        }
+        return length;
+    }
+
+    private static void checkRange(byte[] data, int start, long length) {
+        if (start < 0 || length < 0 || start + length > data.length) {
+            throw new IllegalArgumentException(
+                    "encoded data out of range#" + start + "+" + length + ">" + data.length);
+        }
+    }
+
+    private static int roundUp(int len, int unit) {
+        return (len + unit - 1) / unit * unit;
+    }
+
     /**
      * returns the solidity type
      *
@@ -199,6 +326,33 @@ public abstract class SolidityAbstractType {
         }
     }
 
+    /**
+     * Writes the encoded input straight into the buffer, the bytes of the hex string returned by
+     * {@link #getInputFormat()} without building it. Not intended for user usage.
+     *
+     * @param out buffer with {@link #getEncodedLength()} bytes remaining at least
+     */
+    public void encode(ByteBuffer out) {
+        if (this.getIsStatic()) {
+            encodeEntry((byte[]) valArray.get(0), out);
+        } else {
+            encodeList(valArray, 0, out);
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #encode(ByteBuffer)} writes. Not intended for user usage.
+     *
+     * @return the length in bytes, or -1 if the value does not match the type structure
+     */
+    public int getEncodedLength() {
+        if (this.getIsStatic()) {
+            return entryLength((byte[]) valArray.get(0));
+        } else {
+            return listLength(valArray, 0);
+        }
+    }
+
     /**
      * Get if the solidity type is of type dynamic, used to check which encoding/decoding method to
      * use.
@@ -269,6 +423,102 @@ public abstract class SolidityAbstractType {
         return outStr;
     }
 
+    private void encodeList(List l, int layer, ByteBuffer out) {
+        if (this.getLayerIsDynamicArray(layer)) {
+            putLeftPadded(out, BigInteger.valueOf(l.size()).toByteArray(), encodeUnitLength);
+            for (Object entry : l) {
+                encodeListEntry(entry, layer + 1, out);
+            }
+        } else {
+            int index = (this.dynamicParameters.size() - 1) - layer;
+            for (int i = 0; i < this.dynamicParameters.get(index); i++) {
+                if (i < l.size()) {
+                    encodeListEntry(l.get(i), layer + 1, out);
+                } else {
+                    out.put(ZEROS, 0, encodeUnitLength);
+                }
+            }
+        }
+    }
+
+    private void encodeListEntry(Object entry, int innerLayer, ByteBuffer out) {
+        if (entry instanceof byte[]) {
+            encodeEntry((byte[]) entry, out);
+        } else {
+            encodeList((List) entry, innerLayer, out);
+        }
+    }
+
+    private int listLength(List l, int layer) {
+        if (l == null) {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[getEncodedLength] {}", ErrId.getErrString(-315L));
+            }
+            return -1;
+        }
+
+        int len = 0;
+        if (this.getLayerIsDynamicArray(layer)) {
+            len += leftPaddedLength(BigInteger.valueOf(l.size()).toByteArray(), encodeUnitLength);
+            for (Object entry : l) {
+                int n = listEntryLength(entry, layer + 1);
+                if (n < 0) {
+                    return -1;
+                }
+                len += n;
+            }
+        } else {
+            int index = (this.dynamicParameters.size() - 1) - layer;
+            for (int i = 0; i < this.dynamicParameters.get(index); i++) {
+                int n = i < l.size() ? listEntryLength(l.get(i), layer + 1) : encodeUnitLength;
+                if (n < 0) {
+                    return -1;
+                }
+                len += n;
+            }
+        }
+        return len;
+    }
+
+    private int listEntryLength(Object entry, int innerLayer) {
+        if (entry instanceof byte[]) {
+            return entryLength((byte[]) entry);
+        } else if (entry instanceof ArrayList) {
+            return listLength((ArrayList) entry, innerLayer);
+        } else {
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("[getEncodedLength] {}", ErrId.getErrString(-114L));
+            }
+            return -1;
+        }
+    }
+
+    /** Writes the value left padded with zeros to width bytes, a longer value is written whole. */
+    static void putLeftPadded(ByteBuffer out, byte[] val, int width) {
+        putLeftPadded(out, val, width, (byte) 0);
+    }
+
+    static void putLeftPadded(ByteBuffer out, byte[] val, int width, byte pad) {
+        for (int i = val.length; i < width; i++) {
+            out.put(pad);
+        }
+        out.put(val);
+    }
+
+    static int leftPaddedLength(byte[] val, int width) {
+        return Math.max(val.length, width);
+    }
+
+    /** Writes the value right padded with zeros to a multiple of unit bytes. */
+    static void putRightPadded(ByteBuffer out, byte[] val, int unit) {
+        out.put(val);
+        out.put(ZEROS, 0, rightPaddedLength(val, unit) - val.length);
+    }
+
+    static int rightPaddedLength(byte[] val, int unit) {
+        return (val.length + unit - 1) / unit * unit;
+    }
+
     private String getOutString(int innerLayer, String outStr, Object entry) {
         if (entry instanceof byte[]) {
             outStr += formatToString((byte[]) entry);
@@ -293,7 +543,7 @@ public abstract class SolidityAbstractType {
     }
 
     public int getDynamicOffset() {
-        return getDynamicPartLength() / 2;
+        return getEncodedLength();
     }
 
     /**
@@ -0,0 +1,176 @@
+package org.aion.api.sol.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aion.api.sol.impl.SolidityValue.SolidityTypeEnum;
+
+/**
+ * ABI type string parsed once into its base kind, the size written after the base name and the
+ * array dimensions, e.g. uint128[][3] is a {@link SolidityTypeEnum#UINT UINT} of size 128 with the
+ * array lengths [-1, 3]. The descriptors are immutable and interned per type string.
+ */
+public final class SolidityType {
+
+    // the type strings come from the ABI definitions, the bound only guards against junk input.
+    private static final int MAX_INTERNED = 4096;
+    private static final ConcurrentHashMap<String, SolidityType> INTERNED =
+            new ConcurrentHashMap<>();
+    private static final SolidityType UNKNOWN =
+            new SolidityType("", null, -1, Collections.emptyList());
+
+    private final String type;
+    private final SolidityTypeEnum kind;
+    private final int size;
+    private final List<Integer> arrayLengths;
+
+    private SolidityType(String type, SolidityTypeEnum kind, int size, List<Integer> arrayLengths) {
+        this.type = type;
+        this.kind = kind;
+        this.size = size;
+        this.arrayLengths = arrayLengths;
+    }
+
+    /**
+     * @param type the ABI type string.
+     * @return the descriptor of the type, or null if the type is unknown.
+     */
+    public static SolidityType parse(String type) {
+        if (type == null) {
+            throw new NullPointerException();
+        }
+
+        SolidityType t = INTERNED.get(type);
+        if (t == null) {
+            t = doParse(type);
+            if (t == null) {
+                t = UNKNOWN;
+            }
+            if (INTERNED.size() < MAX_INTERNED) {
+                SolidityType prev = INTERNED.putIfAbsent(type, t);
+                if (prev != null) {
+                    t = prev;
+                }
+            }
+        }
+        return t == UNKNOWN ? null : t;
+    }
+
+    /** @return true if the type is known and of the kind. */
+    public static boolean isKind(String type, SolidityTypeEnum kind) {
+        SolidityType t = parse(type);
+        return t != null && t.kind == kind;
+    }
+
+    public String getType() {
+        return this.type;
+    }
+
+    public SolidityTypeEnum getKind() {
+        return this.kind;
+    }
+
+    /** @return the size written after the base name, e.g. 128 for uint128, or -1 if none. */
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getDimensions() {
+        return this.arrayLengths.size();
+    }
+
+    public boolean isArray() {
+        return !this.arrayLengths.isEmpty();
+    }
+
+    /** @return the length of each array dimension in the written order, -1 for a dynamic one. */
+    public List<Integer> getArrayLengths() {
+        return this.arrayLengths;
+    }
+
+    @Override
+    public String toString() {
+        return this.type;
+    }
+
+    private static SolidityType doParse(String in) {
+        int len = in.length();
+        int i = 0;
+        while (i < len && in.charAt(i) >= 'a' && in.charAt(i) <= 'z') {
+            i++;
+        }
+        String base = in.substring(0, i);
+
+        int start = i;
+        i = skipDigits(in, i);
+        boolean sized = i > start;
+        int size = sized ? toInt(in, start, i) : -1;
+
+        SolidityTypeEnum kind;
+        switch (base) {
+            case "address":
+                kind = sized ? null : SolidityTypeEnum.ADDRESS;
+                break;
+            case "bool":
+                kind = sized ? null : SolidityTypeEnum.BOOL;
+                break;
+            case "string":
+                kind = sized ? null : SolidityTypeEnum.STRING;
+                break;
+            case "bytes":
+                kind = sized ? SolidityTypeEnum.BYTES : SolidityTypeEnum.DYNAMICBYTES;
+                break;
+            case "int":
+                kind = SolidityTypeEnum.INT;
+                break;
+            case "uint":
+                kind = SolidityTypeEnum.UINT;
+                break;
+            case "real":
+                kind = SolidityTypeEnum.REAL;
+                break;
+            case "ureal":
+                kind = SolidityTypeEnum.UREAL;
+                break;
+            default:
+                kind = null;
+        }
+
+        if (kind == null) {
+            return null;
+        }
+
+        List<Integer> lengths = new ArrayList<>();
+        while (i < len) {
+            if (in.charAt(i) != '[') {
+                return null;
+            }
+            start = ++i;
+            i = skipDigits(in, i);
+            if (i == len || in.charAt(i) != ']') {
+                return null;
+            }
+            lengths.add(i > start ? toInt(in, start, i) : -1);
+            i++;
+        }
+
+        return new SolidityType(in, kind, size, Collections.unmodifiableList(lengths));
+    }
+
+    private static int skipDigits(String in, int i) {
+        while (i < in.length() && in.charAt(i) >= '0' && in.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    // saturates, a size too large for an int is as invalid as any other.
+    private static int toInt(String in, int from, int to) {
+        long v = 0;
+        for (int i = from; i < to; i++) {
+            v = Math.min(v * 10 + (in.charAt(i) - '0'), Integer.MAX_VALUE);
+        }
+        return (int) v;
+    }
+}
@@ -4,11 +4,11 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.sol.IUint;
+import org.aion.base.util.ByteArrayWrapper;
 
 /** Class Uint extends from SolidityAbstractType. use for function arguments input/output. */
 public class Uint extends SolidityAbstractType implements IUint {
@@ -204,7 +204,7 @@ public class Uint extends SolidityAbstractType implements IUint {
             }
             return false;
         }
-        return Pattern.matches("^uint([0-9]*)?(\\[([0-9]*)])*$", in);
+        return SolidityType.isKind(in, SolidityValue.SolidityTypeEnum.UINT);
     }
 
     /**
@@ -223,7 +223,7 @@ public class Uint extends SolidityAbstractType implements IUint {
             return null;
         }
 
-        if ((entry[0] & (byte) 0x80) == (byte) 0x80) {
+        if (isNegative(entry)) {
             return ApiUtils.toHexPaddedNegative16(entry);
         } else {
             return ApiUtils.toHexPadded16(entry);
@@ -253,6 +253,45 @@ public class Uint extends SolidityAbstractType implements IUint {
         return ApiUtils.toBigInteger(data, offset, encodeUnitLength);
     }
 
+    /**
+     * Decodes the parameter into a primitive array, the entries of nested arrays are flattened in
+     * order. A single value gives an array of one.
+     *
+     * @param offset offset of the parameter in the response
+     * @param data byte string response from call
+     * @return the entries
+     * @throws ArithmeticException if an entry does not fit in a long
+     */
+    public long[] decodeLongs(int offset, ByteArrayWrapper data) {
+        return decodeLongEntries(offset, data);
+    }
+
+    /**
+     * Decodes the parameter into an array with no list of boxes, the entries of nested arrays are
+     * flattened in order.
+     *
+     * @param offset offset of the parameter in the response
+     * @param data byte string response from call
+     * @return the entries
+     */
+    public BigInteger[] decodeBigIntegers(int offset, ByteArrayWrapper data) {
+        return decodeBigIntegerEntries(offset, data);
+    }
+
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, entry, encodeUnitLength, isNegative(entry) ? (byte) 0xff : 0);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return leftPaddedLength(entry, encodeUnitLength);
+    }
+
+    private static boolean isNegative(byte[] entry) {
+        return (entry[0] & (byte) 0x80) == (byte) 0x80;
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return false;
@@ -4,7 +4,6 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 import org.aion.api.impl.ErrId;
 import org.aion.api.impl.internal.ApiUtils;
 
@@ -95,7 +94,10 @@ public final class Ureal extends SolidityAbstractType {
             }
             return false;
         }
-        return Pattern.matches("ureal([0-9]*)?(\\[([0-9]*)\\])?", in);
+        SolidityType t = SolidityType.parse(in);
+        return t != null
+                && t.getKind() == SolidityValue.SolidityTypeEnum.UREAL
+                && t.getDimensions() <= 1;
     }
 
     public String formatToString(byte[] entry) {
@@ -119,6 +121,16 @@ public final class Ureal extends SolidityAbstractType {
         return Arrays.copyOfRange(data, offset, offset + encodeUnitLength);
     }
 
+    @Override
+    protected void encodeEntry(byte[] entry, ByteBuffer out) {
+        putLeftPadded(out, entry, encodeUnitLength);
+    }
+
+    @Override
+    protected int entryLength(byte[] entry) {
+        return leftPaddedLength(entry, encodeUnitLength);
+    }
+
     @Override
     protected boolean isDoubleUnit() {
         return false;
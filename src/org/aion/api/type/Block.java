@@ -1,6 +1,7 @@
 package org.aion.api.type;
 
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.List;
 import org.aion.base.type.Hash256;
 import org.aion.base.util.ByteArrayWrapper;
@@ -42,7 +43,8 @@ public class Block {
         this.bloom = builder.bloom;
         this.extraData = builder.extraData;
         this.solution = builder.solution;
-        this.txHash = builder.txHash;
+        // blocks are shared by the chain cache, the hashes are read only.
+        this.txHash = Collections.unmodifiableList(builder.txHash);
         this.hash = builder.hash;
         this.parentHash = builder.parentHash;
         this.nonce = builder.nonce;
@@ -0,0 +1,175 @@
+package org.aion.api.type;
+
+import com.google.protobuf.UnsafeByteOperations;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.ConvertingList;
+import org.aion.api.impl.internal.Message;
+import org.aion.base.type.AionAddress;
+import org.aion.base.type.Hash256;
+import org.aion.base.util.ByteArrayWrapper;
+import org.aion.vm.api.interfaces.Address;
+
+/**
+ * Block details read in place from the kernel response, the getters of {@link BlockDetails
+ * BlockDetails} decode their field when they are called. The hashes and the miner address are
+ * decoded on the first call and kept; the other fields copy the field again on every call. The
+ * buffer getters and the has comparisons of the hashes share the response buffer without copying.
+ * The transactions are {@link TxDetailsView TxDetailsView}s over the same response.
+ */
+public final class BlockDetailsView {
+
+    private final Message.t_BlockDetail blk;
+
+    // decoded on the first get and kept.
+    private volatile Hash256 parentHash;
+    private volatile Hash256 hash;
+    private volatile Address minerAddress;
+    private volatile Hash256 stateRoot;
+    private volatile Hash256 txTrieRoot;
+    private volatile Hash256 receiptTxRoot;
+
+    BlockDetailsView(Message.t_BlockDetail blk) {
+        if (blk == null) {
+            throw new NullPointerException();
+        }
+        this.blk = blk;
+    }
+
+    public long getNumber() {
+        return blk.getBlockNumber();
+    }
+
+    public long getTimestamp() {
+        return blk.getTimestamp();
+    }
+
+    public long getNrgConsumed() {
+        return blk.getNrgConsumed();
+    }
+
+    public long getNrgLimit() {
+        return blk.getNrgLimit();
+    }
+
+    public int getSize() {
+        return blk.getSize();
+    }
+
+    public long getBlockTime() {
+        return blk.getBlockTime();
+    }
+
+    public ByteArrayWrapper getBloom() {
+        return ByteArrayWrapper.wrap(blk.getLogsBloom().toByteArray());
+    }
+
+    public ByteArrayWrapper getExtraData() {
+        return ByteArrayWrapper.wrap(blk.getExtraData().toByteArray());
+    }
+
+    public ByteArrayWrapper getSolution() {
+        return ByteArrayWrapper.wrap(blk.getSolution().toByteArray());
+    }
+
+    public Hash256 getParentHash() {
+        Hash256 p = this.parentHash;
+        if (p == null) {
+            p = Hash256.wrap(blk.getParentHash().toByteArray());
+            this.parentHash = p;
+        }
+        return p;
+    }
+
+    public Hash256 getHash() {
+        Hash256 h = this.hash;
+        if (h == null) {
+            h = Hash256.wrap(blk.getHash().toByteArray());
+            this.hash = h;
+        }
+        return h;
+    }
+
+    /** @return the read only parent hash, sharing the response buffer. */
+    public ByteBuffer getParentHashBuffer() {
+        return blk.getParentHash().asReadOnlyByteBuffer();
+    }
+
+    /** @return the read only hash, sharing the response buffer. */
+    public ByteBuffer getHashBuffer() {
+        return blk.getHash().asReadOnlyByteBuffer();
+    }
+
+    /** Compares the hash of the block without decoding it. */
+    public boolean hasHash(Hash256 hash) {
+        return blk.getHash().equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    /** Compares the parent hash of the block without decoding it. */
+    public boolean hasParentHash(Hash256 hash) {
+        return blk.getParentHash().equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    public BigInteger getNonce() {
+        return new BigInteger(1, blk.getNonce().toByteArray());
+    }
+
+    public BigInteger getDifficulty() {
+        return new BigInteger(1, blk.getDifficulty().toByteArray());
+    }
+
+    public BigInteger getTotalDifficulty() {
+        return new BigInteger(1, blk.getTotalDifficulty().toByteArray());
+    }
+
+    public Address getMinerAddress() {
+        Address m = this.minerAddress;
+        if (m == null) {
+            m = AionAddress.wrap(blk.getMinerAddress().toByteArray());
+            this.minerAddress = m;
+        }
+        return m;
+    }
+
+    public Hash256 getStateRoot() {
+        Hash256 s = this.stateRoot;
+        if (s == null) {
+            s = Hash256.wrap(blk.getStateRoot().toByteArray());
+            this.stateRoot = s;
+        }
+        return s;
+    }
+
+    public Hash256 getTxTrieRoot() {
+        Hash256 t = this.txTrieRoot;
+        if (t == null) {
+            t = Hash256.wrap(blk.getTxTrieRoot().toByteArray());
+            this.txTrieRoot = t;
+        }
+        return t;
+    }
+
+    public Hash256 getReceiptTxRoot() {
+        Hash256 r = this.receiptTxRoot;
+        if (r == null) {
+            r = Hash256.wrap(blk.getReceiptTrieRoot().toByteArray());
+            this.receiptTxRoot = r;
+        }
+        return r;
+    }
+
+    public int getTxCount() {
+        return blk.getTxCount();
+    }
+
+    public List<TxDetailsView> getTxDetails() {
+        return new ConvertingList<>(blk.getTxList(), TxDetailsView::new);
+    }
+
+    /** @return the class {@link BlockDetails BlockDetails} holding every field decoded. */
+    public BlockDetails toBlockDetails() {
+        return ApiUtils.toBlockDetails(blk, true);
+    }
+}
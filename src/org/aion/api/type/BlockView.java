@@ -0,0 +1,184 @@
+package org.aion.api.type;
+
+import com.google.protobuf.UnsafeByteOperations;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.Message;
+import org.aion.api.impl.internal.ViewFactory;
+import org.aion.base.type.AionAddress;
+import org.aion.base.type.Hash256;
+import org.aion.base.util.ByteArrayWrapper;
+import org.aion.vm.api.interfaces.Address;
+
+/**
+ * Block read in place from the kernel response, the getters of {@link Block Block} decode their
+ * field when they are called. The hashes and the miner address are decoded on the first call and
+ * kept; the other fields, and the hashes of the transactions, copy the field again on every call.
+ * The unread fields cost nothing; the buffer getters and the has comparisons of the hashes share
+ * the response buffer without copying. Use {@link #toBlock()} for a block read many times.
+ */
+public final class BlockView {
+
+    static {
+        ViewFactory.setConstructors(new ViewConstructors());
+    }
+
+    private final Message.rsp_getBlock blk;
+
+    // decoded on the first get and kept.
+    private volatile Hash256 parentHash;
+    private volatile Hash256 hash;
+    private volatile Address minerAddress;
+    private volatile Hash256 stateRoot;
+    private volatile Hash256 txTrieRoot;
+    private volatile Hash256 receiptTxRoot;
+
+    BlockView(Message.rsp_getBlock blk) {
+        if (blk == null) {
+            throw new NullPointerException();
+        }
+        this.blk = blk;
+    }
+
+    public long getNumber() {
+        return blk.getBlockNumber();
+    }
+
+    public long getTimestamp() {
+        return blk.getTimestamp();
+    }
+
+    public long getNrgConsumed() {
+        return blk.getNrgConsumed();
+    }
+
+    public long getNrgLimit() {
+        return blk.getNrgLimit();
+    }
+
+    public int getSize() {
+        return blk.getSize();
+    }
+
+    public ByteArrayWrapper getBloom() {
+        return ByteArrayWrapper.wrap(blk.getLogsBloom().toByteArray());
+    }
+
+    public ByteArrayWrapper getExtraData() {
+        return ByteArrayWrapper.wrap(blk.getExtraData().toByteArray());
+    }
+
+    public ByteArrayWrapper getSolution() {
+        return ByteArrayWrapper.wrap(blk.getSolution().toByteArray());
+    }
+
+    public Hash256 getParentHash() {
+        Hash256 p = this.parentHash;
+        if (p == null) {
+            p = Hash256.wrap(blk.getParentHash().toByteArray());
+            this.parentHash = p;
+        }
+        return p;
+    }
+
+    public Hash256 getHash() {
+        Hash256 h = this.hash;
+        if (h == null) {
+            h = Hash256.wrap(blk.getHash().toByteArray());
+            this.hash = h;
+        }
+        return h;
+    }
+
+    /** @return the read only parent hash, sharing the response buffer. */
+    public ByteBuffer getParentHashBuffer() {
+        return blk.getParentHash().asReadOnlyByteBuffer();
+    }
+
+    /** @return the read only hash, sharing the response buffer. */
+    public ByteBuffer getHashBuffer() {
+        return blk.getHash().asReadOnlyByteBuffer();
+    }
+
+    /** Compares the hash of the block without decoding it. */
+    public boolean hasHash(Hash256 hash) {
+        return blk.getHash().equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    /** Compares the parent hash of the block without decoding it. */
+    public boolean hasParentHash(Hash256 hash) {
+        return blk.getParentHash().equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    public BigInteger getNonce() {
+        return new BigInteger(1, blk.getNonce().toByteArray());
+    }
+
+    public BigInteger getDifficulty() {
+        return new BigInteger(1, blk.getDifficulty().toByteArray());
+    }
+
+    public BigInteger getTotalDifficulty() {
+        return new BigInteger(1, blk.getTotalDifficulty().toByteArray());
+    }
+
+    public Address getMinerAddress() {
+        Address m = this.minerAddress;
+        if (m == null) {
+            m = AionAddress.wrap(blk.getMinerAddress().toByteArray());
+            this.minerAddress = m;
+        }
+        return m;
+    }
+
+    public Hash256 getStateRoot() {
+        Hash256 s = this.stateRoot;
+        if (s == null) {
+            s = Hash256.wrap(blk.getStateRoot().toByteArray());
+            this.stateRoot = s;
+        }
+        return s;
+    }
+
+    public Hash256 getTxTrieRoot() {
+        Hash256 t = this.txTrieRoot;
+        if (t == null) {
+            t = Hash256.wrap(blk.getTxTrieRoot().toByteArray());
+            this.txTrieRoot = t;
+        }
+        return t;
+    }
+
+    public Hash256 getReceiptTxRoot() {
+        Hash256 r = this.receiptTxRoot;
+        if (r == null) {
+            r = Hash256.wrap(blk.getReceiptTrieRoot().toByteArray());
+            this.receiptTxRoot = r;
+        }
+        return r;
+    }
+
+    public int getTxCount() {
+        return blk.getTxHashCount();
+    }
+
+    public Hash256 getTxHash(int index) {
+        return Hash256.wrap(blk.getTxHash(index).toByteArray());
+    }
+
+    /** @return the read only hash of the transaction at index, sharing the response buffer. */
+    public ByteBuffer getTxHashBuffer(int index) {
+        return blk.getTxHash(index).asReadOnlyByteBuffer();
+    }
+
+    /** Compares the hash of the transaction at index without decoding it. */
+    public boolean hasTxHash(int index, Hash256 hash) {
+        return blk.getTxHash(index).equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    /** @return the class {@link Block Block} holding every field decoded. */
+    public Block toBlock() {
+        return ApiUtils.toBlock(blk);
+    }
+}
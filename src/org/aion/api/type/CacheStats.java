@@ -0,0 +1,65 @@
+package org.aion.api.type;
+
+/**
+ * Snapshot of the counters of the client side cache, see {@link org.aion.api.cfg.CfgCache
+ * CfgCache}.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int entries;
+    private final long bytes;
+
+    public CacheStats(long hits, long misses, long evictions, int entries, long bytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.bytes = bytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    /** @return the estimated size of the cached objects, in bytes. */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /** @return the share of the lookups answered by the cache, 0 before any lookup. */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{"
+                + "hits="
+                + hits
+                + ", misses="
+                + misses
+                + ", evictions="
+                + evictions
+                + ", entries="
+                + entries
+                + ", bytes="
+                + bytes
+                + '}';
+    }
+}
@@ -14,6 +14,7 @@ import org.aion.api.IUtils;
 import org.aion.api.impl.internal.ApiUtils;
 import org.aion.api.log.AionLoggerFactory;
 import org.aion.api.log.LogEnum;
+import org.aion.api.sol.impl.SolidityType;
 import org.slf4j.Logger;
 
 /**
@@ -321,6 +322,11 @@ public final class CompileResponse {
         }
 
         private List<Integer> setParametersList(String in) {
+            SolidityType t = SolidityType.parse(in);
+            if (t != null) {
+                return new ArrayList<>(t.getArrayLengths());
+            }
+
             final Matcher m = ELEMENT_PATTERN.matcher(in);
             List<Integer> dParams = new ArrayList<>();
 
@@ -0,0 +1,49 @@
+package org.aion.api.type;
+
+import org.aion.api.impl.internal.ApiUtils;
+
+/**
+ * An encoded sendTransaction request created by {@link
+ * org.aion.api.ITx#prepareTransaction(TxArgs) prepareTransaction}. The request is encoded once and
+ * is immutable, so the same object can be sent any number of times and from many threads through
+ * {@link org.aion.api.ITx#sendPreparedTransaction(PreparedTx) sendPreparedTransaction}; every send
+ * gets its own copy of the request with a fresh msg hash.
+ */
+public final class PreparedTx {
+
+    private final TxArgs txArgs;
+    private final byte[] reqMsg;
+
+    /**
+     * @param txArgs the transaction arguments the request was encoded from.
+     * @param reqMsg the request message, the header must have the msg hash slot.
+     */
+    public PreparedTx(TxArgs txArgs, byte[] reqMsg) {
+        if (txArgs == null || reqMsg == null || reqMsg.length < ApiUtils.REQ_HEADER_LEN) {
+            throw new IllegalArgumentException();
+        }
+
+        this.txArgs = txArgs;
+        this.reqMsg = reqMsg.clone();
+    }
+
+    public TxArgs getTxArgs() {
+        return txArgs;
+    }
+
+    /**
+     * Returns a copy of the request with the given msg hash patched into the header.
+     *
+     * @param msgHash the msg hash of this send.
+     * @return the request message ready to be queued.
+     */
+    public byte[] toRequest(byte[] msgHash) {
+        if (msgHash == null || msgHash.length != ApiUtils.MSG_HASH_LEN) {
+            throw new IllegalArgumentException();
+        }
+
+        byte[] req = this.reqMsg.clone();
+        System.arraycopy(msgHash, 0, req, ApiUtils.REQ_HEADER_NOHASH_LEN, ApiUtils.MSG_HASH_LEN);
+        return req;
+    }
+}
@@ -0,0 +1,34 @@
+package org.aion.api.type;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over the items of a block range fetched by chunks, in block order. The chunks ahead of
+ * the reader are fetched in the background, at most the in-flight window of them is held in
+ * memory. Close the iterator when the range is not read to the end, it stops the fetching.
+ *
+ * <p>A chunk the kernel failed to return ends the iteration early: {@link #hasNext()} returns
+ * false and {@link #getErrorCode()} returns the error code of the failed chunk.
+ */
+public interface RangeIterator<T> extends Iterator<T>, AutoCloseable {
+
+    /** @return 1 while every chunk is fetched, the error code of the first failed chunk else. */
+    int getErrorCode();
+
+    @Override
+    void close();
+
+    /** @return an ordered spliterator over the items left, it does not split. */
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /** @return a sequential stream of the items left, closing the stream closes the iterator. */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::close);
+    }
+}
@@ -0,0 +1,159 @@
+package org.aion.api.type;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.Message;
+import org.aion.base.type.AionAddress;
+import org.aion.base.type.Hash256;
+import org.aion.base.util.ByteArrayWrapper;
+import org.aion.vm.api.interfaces.Address;
+
+/**
+ * Transaction of a {@link BlockDetailsView BlockDetailsView} read in place, the getters of {@link
+ * TxDetails TxDetails} decode their field when they are called. The hash and the addresses are
+ * decoded on the first call and kept; the other fields copy the field again on every call. The
+ * buffer getters and the has comparisons of the hash, the sender and the receiver share the
+ * response buffer without copying.
+ */
+public final class TxDetailsView {
+
+    private final Message.t_TxDetail tx;
+
+    // decoded on the first get and kept.
+    private volatile Address from;
+    private volatile Address to;
+    private volatile Address contract;
+    private volatile Hash256 txHash;
+
+    TxDetailsView(Message.t_TxDetail tx) {
+        if (tx == null) {
+            throw new NullPointerException();
+        }
+        this.tx = tx;
+    }
+
+    /** @return the read only sender address, sharing the response buffer. */
+    public ByteBuffer getFromBuffer() {
+        return tx.getFrom().asReadOnlyByteBuffer();
+    }
+
+    /** @return the read only receiver address, sharing the response buffer. */
+    public ByteBuffer getToBuffer() {
+        return tx.getTo().asReadOnlyByteBuffer();
+    }
+
+    /** @return the read only transaction hash, sharing the response buffer. */
+    public ByteBuffer getTxHashBuffer() {
+        return tx.getTxHash().asReadOnlyByteBuffer();
+    }
+
+    /** Compares the sender address without decoding it. */
+    public boolean hasFrom(Address address) {
+        return tx.getFrom().equals(UnsafeByteOperations.unsafeWrap(address.toBytes()));
+    }
+
+    /** Compares the receiver address without decoding it. */
+    public boolean hasTo(Address address) {
+        return tx.getTo().equals(UnsafeByteOperations.unsafeWrap(address.toBytes()));
+    }
+
+    /** Compares the transaction hash without decoding it. */
+    public boolean hasTxHash(Hash256 hash) {
+        return tx.getTxHash().equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    public Address getFrom() {
+        Address f = this.from;
+        if (f == null) {
+            f = AionAddress.wrap(tx.getFrom().toByteArray());
+            this.from = f;
+        }
+        return f;
+    }
+
+    public Address getTo() {
+        Address t = this.to;
+        if (t == null) {
+            t = AionAddress.wrap(tx.getTo().toByteArray());
+            this.to = t;
+        }
+        return t;
+    }
+
+    public Address getContract() {
+        Address c = this.contract;
+        if (c == null) {
+            c = AionAddress.wrap(tx.getContract().toByteArray());
+            this.contract = c;
+        }
+        return c;
+    }
+
+    public Hash256 getTxHash() {
+        Hash256 t = this.txHash;
+        if (t == null) {
+            t = Hash256.wrap(tx.getTxHash().toByteArray());
+            this.txHash = t;
+        }
+        return t;
+    }
+
+    public BigInteger getValue() {
+        return new BigInteger(1, tx.getValue().toByteArray());
+    }
+
+    public BigInteger getNonce() {
+        return new BigInteger(1, tx.getNonce().toByteArray());
+    }
+
+    public long getNrgConsumed() {
+        return tx.getNrgConsumed();
+    }
+
+    public long getNrgPrice() {
+        return tx.getNrgPrice();
+    }
+
+    public ByteArrayWrapper getData() {
+        return ByteArrayWrapper.wrap(tx.getData().toByteArray());
+    }
+
+    /** @return the read only data of the transaction, sharing the response buffer. */
+    public ByteBuffer getDataBuffer() {
+        return tx.getData().asReadOnlyByteBuffer();
+    }
+
+    public int getLogsCount() {
+        return tx.getLogsCount();
+    }
+
+    public List<TxLog> getLogs() {
+        return ApiUtils.toTxLogs(tx.getLogsList());
+    }
+
+    public int getTxIndex() {
+        return tx.getTxIndex();
+    }
+
+    public long getTimestamp() {
+        return tx.getTimestamp();
+    }
+
+    public String getError() {
+        return tx.getError();
+    }
+
+    public byte getType() {
+        ByteString bs = tx.getType();
+        return bs == null || bs.isEmpty() ? 1 : bs.byteAt(0);
+    }
+
+    /** @return the class {@link TxDetails TxDetails} holding every field decoded. */
+    public TxDetails toTxDetails() {
+        return ApiUtils.toTxDetails(tx, true);
+    }
+}
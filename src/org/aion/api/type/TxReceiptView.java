@@ -0,0 +1,150 @@
+package org.aion.api.type;
+
+import com.google.protobuf.UnsafeByteOperations;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.Message;
+import org.aion.base.type.AionAddress;
+import org.aion.base.type.Hash256;
+import org.aion.vm.api.interfaces.Address;
+
+/**
+ * Transaction receipt read in place from the kernel response, the getters of {@link TxReceipt
+ * TxReceipt} decode their field when they are called. The hashes and the addresses are decoded on
+ * the first call and kept; the logs are decoded again on every call. The buffer getters and the
+ * has comparisons of the hashes, the sender and the receiver share the response buffer without
+ * copying.
+ */
+public final class TxReceiptView {
+
+    private final Message.rsp_getTransactionReceipt rcpt;
+
+    // decoded on the first get and kept.
+    private volatile Hash256 blockHash;
+    private volatile Hash256 txHash;
+    private volatile Address from;
+    private volatile Address to;
+    private volatile Address contractAddress;
+
+    TxReceiptView(Message.rsp_getTransactionReceipt rcpt) {
+        if (rcpt == null) {
+            throw new NullPointerException();
+        }
+        this.rcpt = rcpt;
+    }
+
+    public int getTxIndex() {
+        return rcpt.getTxIndex();
+    }
+
+    public long getBlockNumber() {
+        return rcpt.getBlockNumber();
+    }
+
+    public long getNrgConsumed() {
+        return rcpt.getNrgConsumed();
+    }
+
+    public long getCumulativeNrgUsed() {
+        return rcpt.getCumulativeNrgUsed();
+    }
+
+    /** @return the read only block hash, sharing the response buffer. */
+    public ByteBuffer getBlockHashBuffer() {
+        return rcpt.getBlockHash().asReadOnlyByteBuffer();
+    }
+
+    /** @return the read only transaction hash, sharing the response buffer. */
+    public ByteBuffer getTxHashBuffer() {
+        return rcpt.getTxHash().asReadOnlyByteBuffer();
+    }
+
+    /** @return the read only sender address, sharing the response buffer. */
+    public ByteBuffer getFromBuffer() {
+        return rcpt.getFrom().asReadOnlyByteBuffer();
+    }
+
+    /** @return the read only receiver address, sharing the response buffer. */
+    public ByteBuffer getToBuffer() {
+        return rcpt.getTo().asReadOnlyByteBuffer();
+    }
+
+    /** Compares the block hash without decoding it. */
+    public boolean hasBlockHash(Hash256 hash) {
+        return rcpt.getBlockHash().equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    /** Compares the transaction hash without decoding it. */
+    public boolean hasTxHash(Hash256 hash) {
+        return rcpt.getTxHash().equals(UnsafeByteOperations.unsafeWrap(hash.toBytes()));
+    }
+
+    /** Compares the sender address without decoding it. */
+    public boolean hasFrom(Address address) {
+        return rcpt.getFrom().equals(UnsafeByteOperations.unsafeWrap(address.toBytes()));
+    }
+
+    /** Compares the receiver address without decoding it. */
+    public boolean hasTo(Address address) {
+        return rcpt.getTo().equals(UnsafeByteOperations.unsafeWrap(address.toBytes()));
+    }
+
+    public Hash256 getBlockHash() {
+        Hash256 b = this.blockHash;
+        if (b == null) {
+            b = Hash256.wrap(rcpt.getBlockHash().toByteArray());
+            this.blockHash = b;
+        }
+        return b;
+    }
+
+    public Hash256 getTxHash() {
+        Hash256 t = this.txHash;
+        if (t == null) {
+            t = Hash256.wrap(rcpt.getTxHash().toByteArray());
+            this.txHash = t;
+        }
+        return t;
+    }
+
+    public Address getFrom() {
+        Address f = this.from;
+        if (f == null) {
+            f = AionAddress.wrap(rcpt.getFrom().toByteArray());
+            this.from = f;
+        }
+        return f;
+    }
+
+    public Address getTo() {
+        Address t = this.to;
+        if (t == null) {
+            t = AionAddress.wrap(rcpt.getTo().toByteArray());
+            this.to = t;
+        }
+        return t;
+    }
+
+    public Address getContractAddress() {
+        Address c = this.contractAddress;
+        if (c == null) {
+            c = AionAddress.wrap(rcpt.getContractAddress().toByteArray());
+            this.contractAddress = c;
+        }
+        return c;
+    }
+
+    public int getTxLogsCount() {
+        return rcpt.getLogsCount();
+    }
+
+    public List<TxLog> getTxLogs() {
+        return ApiUtils.toTxLogs(rcpt.getLogsList());
+    }
+
+    /** @return the class {@link TxReceipt TxReceipt} holding every field decoded. */
+    public TxReceipt toTxReceipt() {
+        return ApiUtils.toTransactionReceipt(rcpt);
+    }
+}
@@ -0,0 +1,28 @@
+package org.aion.api.type;
+
+import org.aion.api.impl.internal.Message;
+import org.aion.api.impl.internal.ViewFactory;
+
+/** The package private constructors of the views, handed to {@link ViewFactory ViewFactory}. */
+final class ViewConstructors implements ViewFactory.Constructors {
+
+    @Override
+    public BlockView blockView(Message.rsp_getBlock blk) {
+        return new BlockView(blk);
+    }
+
+    @Override
+    public BlockDetailsView blockDetailsView(Message.t_BlockDetail blk) {
+        return new BlockDetailsView(blk);
+    }
+
+    @Override
+    public TxDetailsView txDetailsView(Message.t_TxDetail tx) {
+        return new TxDetailsView(tx);
+    }
+
+    @Override
+    public TxReceiptView txReceiptView(Message.rsp_getTransactionReceipt rcpt) {
+        return new TxReceiptView(rcpt);
+    }
+}
@@ -195,6 +195,50 @@ public class BaseAPITests {
         api.destroyApi();
     }
 
+    @Test
+    public void TestGetBalancesAndNonces() {
+        System.out.println("run TestGetBalancesAndNonces.");
+        connectAPI();
+
+        ApiMsg apiMsg = api.getWallet().getAccounts();
+        assertFalse(apiMsg.isError());
+
+        List<Address> accs = apiMsg.getObject();
+        assertNotNull(accs);
+        if (accs.isEmpty()) {
+            System.out.println("Empty account, skip this test!");
+            return;
+        }
+
+        apiMsg = api.getChain().blockNumber();
+        assertFalse(apiMsg.isError());
+        long blockNumber = apiMsg.getObject();
+
+        // the results follow the order of the addresses and match the single queries.
+        List<Address> addrs = new ArrayList<>(accs);
+        Collections.reverse(addrs);
+        apiMsg = api.getChain().getBalances(addrs, blockNumber);
+        assertFalse(apiMsg.isError());
+        Map<Address, BigInteger> balances = apiMsg.getObject();
+        assertEquals(new ArrayList<>(addrs), new ArrayList<>(balances.keySet()));
+
+        apiMsg = api.getChain().getNonces(addrs, blockNumber);
+        assertFalse(apiMsg.isError());
+        Map<Address, BigInteger> nonces = apiMsg.getObject();
+        assertEquals(new ArrayList<>(addrs), new ArrayList<>(nonces.keySet()));
+
+        for (Address addr : addrs) {
+            apiMsg = api.getChain().getBalance(addr, blockNumber);
+            assertFalse(apiMsg.isError());
+            assertEquals(apiMsg.getObject(), balances.get(addr));
+
+            apiMsg = api.getChain().getTransactionCount(addr, blockNumber);
+            assertFalse(apiMsg.isError());
+            assertEquals(BigInteger.valueOf((long) apiMsg.getObject()), nonces.get(addr));
+        }
+        api.destroyApi();
+    }
+
     @Test
     public void TestGetBlockByNumber() {
 
@@ -699,6 +743,53 @@ public class BaseAPITests {
         api.destroyApi();
     }
 
+    @Test
+    public void TestSendTransactionAsync() throws Exception {
+        System.out.println("run TestSendTransactionAsync.");
+
+        connectAPI();
+
+        ApiMsg apiMsg = api.getWallet().getAccounts();
+        assertFalse(apiMsg.isError());
+        List accs = apiMsg.getObject();
+        assertNotNull(accs);
+
+        if (accs.isEmpty()) {
+            System.out.println("Empty account, skip this test!");
+            return;
+        }
+
+        Address acc = (Address) accs.get(0);
+        if (!isEnoughBalance(acc)) {
+            System.out.println("balance of the account is not enough, skip this test!");
+            return;
+        }
+
+        apiMsg = api.getWallet().unlockAccount(acc, pw);
+        assertFalse(apiMsg.isError());
+        assertTrue(apiMsg.getObject());
+
+        TxArgs.TxArgsBuilder builder =
+                new TxArgs.TxArgsBuilder()
+                        .data(ByteArrayWrapper.wrap("TestSendTransactionAsync!".getBytes()))
+                        .from(acc)
+                        .to(acc)
+                        .nrgLimit(NRG_LIMIT_TX_MAX)
+                        .nrgPrice(NRG_PRICE_MIN)
+                        .value(BigInteger.ZERO)
+                        .nonce(BigInteger.ZERO);
+
+        apiMsg = api.getTx().sendTransactionAsync(builder.createTxArgs()).get();
+        assertFalse(apiMsg.isError());
+
+        MsgRsp msgRsp = apiMsg.getObject();
+        assertNotNull(msgRsp);
+        assertEquals(Retcode.r_tx_Included_VALUE, msgRsp.getStatus());
+        assertNotNull(msgRsp.getTxHash());
+
+        api.destroyApi();
+    }
+
     @Test
     public void TestCompile() {
         System.out.println("run TestCompile.");
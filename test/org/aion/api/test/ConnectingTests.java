@@ -1,9 +1,15 @@
 package org.aion.api.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
 import org.aion.api.IAionAPI;
+import org.aion.api.IAionAPIPool;
 import org.aion.api.type.ApiMsg;
+import org.aion.base.type.AionAddress;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
@@ -28,4 +34,32 @@ public class ConnectingTests {
 
         api.destroyApi();
     }
+
+    @Test
+    public void TestPoolConnect() {
+        System.out.println("run TestPoolConnect.");
+
+        IAionAPIPool pool = IAionAPIPool.init(IAionAPIPool.Balance.LEAST_OUTSTANDING);
+        ApiMsg apiMsg =
+                pool.connect(
+                        Collections.singletonList(IAionAPI.LOCALHOST_URL),
+                        2,
+                        false,
+                        1,
+                        300_000,
+                        null);
+        assertFalse(apiMsg.isError());
+        assertTrue(pool.isConnected());
+        assertEquals(2, pool.getAll().size());
+
+        apiMsg = pool.get().getChain().blockNumber();
+        assertFalse(apiMsg.isError());
+
+        // a sender stays on its connection while it is healthy.
+        AionAddress sender = AionAddress.wrap(new byte[32]);
+        assertSame(pool.getForSender(sender), pool.getForSender(sender));
+
+        assertFalse(pool.destroyApi().isError());
+        assertFalse(pool.isConnected());
+    }
 }
@@ -1,9 +1,71 @@
 package org.aion.api.test;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 import org.aion.api.IUtils;
+import org.aion.api.impl.internal.AbiCallData;
+import org.aion.api.impl.internal.AbiCodecPlan;
 import org.aion.api.impl.internal.ApiUtils;
+import org.aion.api.impl.internal.CallResultCache;
+import org.aion.api.impl.internal.HeadLinker;
+import org.aion.api.impl.internal.LruCache;
+import org.aion.api.impl.internal.Message;
+import org.aion.api.impl.internal.NonceAllocator;
+import org.aion.api.impl.internal.PendingTxTable;
+import org.aion.api.impl.internal.RangeFetcher;
+import org.aion.api.impl.internal.ReceiptScanner;
+import org.aion.api.impl.internal.SingleFlight;
+import org.aion.api.impl.internal.TimerWheel;
+import org.aion.api.impl.internal.ViewFactory;
+import org.aion.api.impl.internal.WindowedCalls;
+import org.aion.api.sol.ISolidityArg;
+import org.aion.api.sol.impl.Address;
+import org.aion.api.sol.impl.Bool;
+import org.aion.api.sol.impl.Bytes;
 import org.aion.api.sol.impl.DynamicBytes;
+import org.aion.api.sol.impl.Int;
+import org.aion.api.sol.impl.SString;
+import org.aion.api.sol.impl.SolidityAbstractType;
+import org.aion.api.sol.impl.SolidityType;
+import org.aion.api.sol.impl.SolidityValue;
 import org.aion.api.sol.impl.Uint;
+import org.aion.api.type.ApiMsg;
+import org.aion.api.type.Block;
+import org.aion.api.type.BlockDetails;
+import org.aion.api.type.BlockView;
+import org.aion.api.type.CacheStats;
+import org.aion.api.type.CompileResponse;
+import org.aion.api.type.ContractAbiEntry;
+import org.aion.api.type.ContractAbiIOParam;
+import org.aion.api.type.PreparedTx;
+import org.aion.api.type.TxArgs;
+import org.aion.api.type.TxReceipt;
+import org.aion.base.type.Hash256;
+import org.aion.base.util.ByteArrayWrapper;
+import org.aion.base.util.ByteUtil;
 import org.junit.Test;
 
 /** Created by Jay Tseng on 15/12/16. */
@@ -26,4 +88,1127 @@ public class MiscTests {
         System.out.println(bytes.isType("bytes128"));
         System.out.println(bytes.isType("bytes"));
     }
+
+    @Test
+    public void HashedReqTests() {
+        byte[] hash = ApiUtils.hex2Bytes("0102030405060708");
+        byte[] body = ApiUtils.hex2Bytes("0a0b");
+        byte[] head =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER, Message.Servs.s_chain, Message.Funcs.f_blockNumber);
+
+        byte[] tagged = ApiUtils.toHashedReq(ByteUtil.merge(head, body), hash);
+        head[3] = 1;
+        assertArrayEquals(ByteUtil.merge(head, hash, body), tagged);
+
+        // an already tagged request only gets its msg hash replaced.
+        byte[] retagged = ApiUtils.toHashedReq(tagged, ApiUtils.EMPTY_MSG_HASH);
+        assertArrayEquals(ByteUtil.merge(head, ApiUtils.EMPTY_MSG_HASH, body), retagged);
+    }
+
+    @Test
+    public void ReqMsgTests() {
+        byte[] hash = ApiUtils.hex2Bytes("0102030405060708");
+        Message.req_rawTransaction body =
+                Message.req_rawTransaction
+                        .newBuilder()
+                        .setEncodedTx(ByteString.copyFrom(ApiUtils.hex2Bytes("0a0b0c")))
+                        .build();
+        byte[] head =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_tx,
+                        Message.Funcs.f_signedTransaction,
+                        ByteArrayWrapper.wrap(hash));
+
+        assertArrayEquals(
+                ByteUtil.merge(head, body.toByteArray()),
+                ApiUtils.toReqMsg(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_tx,
+                        Message.Funcs.f_signedTransaction,
+                        hash,
+                        body));
+    }
+
+    @Test
+    public void SendTxDataOffsetTests() {
+        byte[] hash = ApiUtils.hex2Bytes("0102030405060708");
+        Message.req_sendTransaction.Builder builder =
+                Message.req_sendTransaction
+                        .newBuilder()
+                        .setFrom(ByteString.copyFrom(new byte[32]))
+                        .setTo(ByteString.copyFrom(ApiUtils.hex2Bytes("a0" + repeat("11", 31))))
+                        .setValue(ByteString.copyFrom(BigInteger.valueOf(1000).toByteArray()))
+                        .setNonce(ByteString.copyFrom(BigInteger.ZERO.toByteArray()))
+                        .setNrg(100_000)
+                        .setNrgPrice(10_000_000_000L);
+        byte[] data1 = ApiUtils.hex2Bytes(repeat("01", 200));
+        byte[] data2 = ApiUtils.hex2Bytes(repeat("02", 200));
+        Message.req_sendTransaction body1 = builder.setData(ByteString.copyFrom(data1)).build();
+        Message.req_sendTransaction body2 = builder.setData(ByteString.copyFrom(data2)).build();
+        byte[] req1 =
+                ApiUtils.toReqMsg(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_tx,
+                        Message.Funcs.f_sendTransaction,
+                        hash,
+                        body1);
+
+        // the data of the same length written over the data field gives the request of the data.
+        int offset = ApiUtils.toSendTxDataOffset(body1);
+        assertEquals(offset, ApiUtils.toSendTxDataOffset(body2));
+        assertArrayEquals(data1, Arrays.copyOfRange(req1, offset, offset + data1.length));
+        System.arraycopy(data2, 0, req1, offset, data2.length);
+        assertArrayEquals(
+                ApiUtils.toReqMsg(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_tx,
+                        Message.Funcs.f_sendTransaction,
+                        hash,
+                        body2),
+                req1);
+    }
+
+    @Test
+    public void PreparedTxTests() {
+        byte[] body = ApiUtils.hex2Bytes("0a0b");
+        byte[] head =
+                ApiUtils.toReqHeader(
+                        ApiUtils.PROTOCOL_VER,
+                        Message.Servs.s_tx,
+                        Message.Funcs.f_sendTransaction,
+                        ByteArrayWrapper.wrap(ApiUtils.EMPTY_MSG_HASH));
+        PreparedTx tx =
+                new PreparedTx(
+                        new TxArgs.TxArgsBuilder().createTxArgs(), ByteUtil.merge(head, body));
+
+        byte[] hash1 = ApiUtils.hex2Bytes("0102030405060708");
+        byte[] hash2 = ApiUtils.hex2Bytes("1112131415161718");
+        byte[] req1 = tx.toRequest(hash1);
+        byte[] req2 = tx.toRequest(hash2);
+
+        // every send gets its own copy, patching one msg hash doesn't leak into another request.
+        assertArrayEquals(
+                ByteUtil.merge(Arrays.copyOf(head, ApiUtils.REQ_HEADER_NOHASH_LEN), hash1, body),
+                req1);
+        assertArrayEquals(
+                ByteUtil.merge(Arrays.copyOf(head, ApiUtils.REQ_HEADER_NOHASH_LEN), hash2, body),
+                req2);
+    }
+
+    @Test
+    public void PendingTxTableTests() {
+        PendingTxTable<String> table = new PendingTxTable<>(64);
+
+        for (long k = 0; k < 64; k++) {
+            assertTrue(table.putIfAbsent(k, "tx" + k, null));
+        }
+        assertFalse(table.putIfAbsent(3, "dup", null));
+        assertEquals(64, table.size());
+
+        // removing keys must not break the probe chains of the keys left.
+        for (long k = 0; k < 64; k += 2) {
+            assertEquals("tx" + k, table.remove(k));
+        }
+        for (long k = 0; k < 64; k++) {
+            assertEquals(k % 2 == 0 ? null : "tx" + k, table.get(k));
+        }
+
+        // a full table only takes a new entry by evicting one.
+        PendingTxTable<String> full = new PendingTxTable<>(1);
+        assertTrue(full.putIfAbsent(1, "tx1", null));
+        assertFalse(full.putIfAbsent(2, "tx2", null));
+        assertFalse(full.putIfAbsent(2, "tx2", v -> false));
+        assertTrue(full.putIfAbsent(2, "tx2", v -> true));
+        assertEquals(1, full.size());
+
+        assertEquals(
+                0x0102030405060708L,
+                PendingTxTable.toKey(ApiUtils.hex2Bytes("ff0102030405060708"), 1));
+    }
+
+    @Test
+    public void TimerWheelTests() throws InterruptedException {
+        TimerWheel wheel = new TimerWheel(10, 8);
+        CountDownLatch latch = new CountDownLatch(2);
+        long[] ranAt = new long[3];
+        long start = System.nanoTime();
+
+        // 250ms is more than one turn of the wheel.
+        wheel.schedule(
+                () -> {
+                    ranAt[0] = System.nanoTime() - start;
+                    latch.countDown();
+                },
+                250,
+                TimeUnit.MILLISECONDS);
+        wheel.schedule(
+                () -> {
+                    ranAt[1] = System.nanoTime() - start;
+                    latch.countDown();
+                },
+                30,
+                TimeUnit.MILLISECONDS);
+        TimerWheel.Timeout cancelled =
+                wheel.schedule(() -> ranAt[2] = 1, 20, TimeUnit.MILLISECONDS);
+        assertTrue(cancelled.cancel());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(ranAt[0] >= TimeUnit.MILLISECONDS.toNanos(250));
+        assertTrue(ranAt[1] >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(ranAt[1] < ranAt[0]);
+        assertEquals(0, ranAt[2]);
+        assertFalse(cancelled.isExpired());
+    }
+
+    @Test
+    public void LruCacheTests() {
+        LruCache<Integer, String> cache = new LruCache<>(3, 100, String::length);
+
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        assertEquals("a", cache.get(1));
+
+        // 2 is the least recently read entry.
+        cache.put(4, "d");
+        assertEquals(null, cache.get(2));
+        assertEquals("a", cache.get(1));
+
+        // the weight bound evicts until the new entry fits.
+        cache.put(5, String.join("", Collections.nCopies(99, "x")));
+        assertEquals(null, cache.get(3));
+        assertEquals(null, cache.get(4));
+        assertEquals("a", cache.get(1));
+
+        // heavier than the whole cache, it is not kept.
+        cache.put(6, String.join("", Collections.nCopies(101, "x")));
+        assertEquals(null, cache.get(6));
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getEntries());
+        assertEquals(100, stats.getBytes());
+        assertEquals(3, stats.getEvictions());
+        assertEquals(3, stats.getHits());
+        assertEquals(4, stats.getMisses());
+    }
+
+    @Test
+    public void RangeFetcherTests() {
+        // chunks may complete in any order, the reader still sees the blocks in order.
+        RangeFetcher.Chunk chunk =
+                (start, end) -> {
+                    List<Long> blocks = new ArrayList<>();
+                    for (long n = start; n - 1 != end; n++) {
+                        blocks.add(n);
+                    }
+                    try {
+                        Thread.sleep((end * 7) % 5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new ApiMsg(blocks, ApiMsg.cast.OTHERS);
+                };
+
+        RangeFetcher<Long> it = new RangeFetcher<>(3, 102, 7, 3, chunk);
+        long expected = 3;
+        while (it.hasNext()) {
+            assertEquals(expected++, (long) it.next());
+        }
+        assertEquals(103, expected);
+        assertEquals(1, it.getErrorCode());
+
+        RangeFetcher<Long> tail =
+                new RangeFetcher<>(Long.MAX_VALUE - 4, Long.MAX_VALUE, 2, 2, chunk);
+        int count = 0;
+        while (tail.hasNext()) {
+            tail.next();
+            count++;
+        }
+        assertEquals(5, count);
+
+        // a failed chunk ends the iteration with its error code.
+        RangeFetcher<Long> failed =
+                new RangeFetcher<>(
+                        0,
+                        99,
+                        10,
+                        4,
+                        (start, end) -> start == 30 ? new ApiMsg(-104) : chunk.fetch(start, end));
+        count = 0;
+        while (failed.hasNext()) {
+            failed.next();
+            count++;
+        }
+        assertEquals(30, count);
+        assertEquals(-104, failed.getErrorCode());
+    }
+
+    @Test
+    public void BlockDetailsViewTests() {
+        ByteString h32 = ByteString.copyFrom(new byte[32]);
+        Message.t_TxDetail tx =
+                Message.t_TxDetail
+                        .newBuilder()
+                        .setFrom(h32)
+                        .setTo(h32)
+                        .setContract(h32)
+                        .setTxHash(h32)
+                        .addLogs(
+                                Message.t_LgEle
+                                        .newBuilder()
+                                        .setAddress(h32)
+                                        .setData(ByteString.copyFrom(new byte[] {1}))
+                                        .addTopics("t0"))
+                        .build();
+        Message.t_BlockDetail.Builder bd =
+                Message.t_BlockDetail
+                        .newBuilder()
+                        .setMinerAddress(h32)
+                        .setParentHash(h32)
+                        .setHash(h32)
+                        .setReceiptTrieRoot(h32)
+                        .setStateRoot(h32)
+                        .setTxTrieRoot(h32)
+                        .addTx(tx);
+        List<Message.t_BlockDetail> blks =
+                Arrays.asList(bd.setBlockNumber(7).build(), bd.setBlockNumber(8).build());
+
+        List<BlockDetails> eager = ApiUtils.toBlockDetails(blks);
+        List<BlockDetails> withLogs = ApiUtils.toBlockDetailsView(blks, true);
+        List<BlockDetails> noLogs = ApiUtils.toBlockDetailsView(blks, false);
+
+        assertEquals(2, withLogs.size());
+        for (int i = 0; i < blks.size(); i++) {
+            assertEquals(eager.get(i).toString(), withLogs.get(i).toString());
+            assertEquals(eager.get(i).getNumber(), noLogs.get(i).getNumber());
+            assertEquals(1, withLogs.get(i).getTxDetails().get(0).getLogs().size());
+            assertTrue(noLogs.get(i).getTxDetails().get(0).getLogs().isEmpty());
+        }
+    }
+
+    @Test
+    public void BlockViewTests() throws IOException {
+        byte[] hash = new byte[32];
+        hash[0] = 9;
+        Message.rsp_getBlock blk =
+                Message.rsp_getBlock
+                        .newBuilder()
+                        .setBlockNumber(42)
+                        .setHash(ByteString.copyFrom(hash))
+                        .setParentHash(ByteString.copyFrom(new byte[32]))
+                        .setMinerAddress(ByteString.copyFrom(new byte[32]))
+                        .setStateRoot(ByteString.copyFrom(new byte[32]))
+                        .setTxTrieRoot(ByteString.copyFrom(new byte[32]))
+                        .setReceiptTrieRoot(ByteString.copyFrom(new byte[32]))
+                        .setExtraData(ByteString.copyFrom(new byte[] {7, 8}))
+                        .addTxHash(ByteString.copyFrom(hash))
+                        .build();
+        byte[] rsp = ByteUtil.merge(new byte[] {ApiUtils.PROTOCOL_VER, 1, 0}, blk.toByteArray());
+
+        BlockView view =
+                ViewFactory.toBlockView(Message.rsp_getBlock.parseFrom(ApiUtils.bodyInput(rsp)));
+        assertEquals(ApiUtils.toBlock(blk).toString(), view.toBlock().toString());
+        assertEquals(42, view.getNumber());
+        assertTrue(view.hasHash(Hash256.wrap(hash)));
+        assertFalse(view.hasParentHash(Hash256.wrap(hash)));
+        assertEquals(Hash256.wrap(hash), view.getTxHash(0));
+        assertTrue(view.hasTxHash(0, Hash256.wrap(hash)));
+        assertTrue(view.getHashBuffer().isReadOnly());
+        assertEquals(ByteBuffer.wrap(hash), view.getHashBuffer());
+        // the hashes and the addresses are decoded once.
+        assertSame(view.getHash(), view.getHash());
+        assertSame(view.getMinerAddress(), view.getMinerAddress());
+
+        // the view reads the response array in place.
+        int at = rsp.length - 1;
+        while (rsp[at] != 8) {
+            at--;
+        }
+        rsp[at] = 5;
+        assertArrayEquals(new byte[] {7, 5}, view.getExtraData().getData());
+    }
+
+    @Test
+    public void NonceAllocatorTests() {
+        NonceAllocator nonces = new NonceAllocator();
+        assertFalse(nonces.isSynced());
+
+        nonces.sync(10);
+        assertEquals(10, nonces.allocate());
+        assertEquals(11, nonces.allocate());
+        assertEquals(12, nonces.allocate());
+        assertEquals(13, nonces.allocate());
+
+        // a failed nonce in the middle is handed out again first.
+        nonces.release(11);
+        assertEquals(11, nonces.allocate());
+
+        // the top nonces given back move the counter back.
+        nonces.release(12);
+        nonces.release(13);
+        assertEquals(12, nonces.allocate());
+        nonces.done(10);
+        nonces.done(11);
+        nonces.done(12);
+        assertEquals(0, nonces.inFlight());
+
+        // in flight nonces keep the counter, the gaps the chain used are dropped.
+        assertEquals(13, nonces.allocate());
+        assertEquals(14, nonces.allocate());
+        nonces.release(13);
+        nonces.sync(14);
+        assertEquals(15, nonces.allocate());
+
+        // nothing in flight, the chain nonce wins.
+        nonces.done(14);
+        nonces.done(15);
+        nonces.sync(14);
+        assertEquals(14, nonces.allocate());
+    }
+
+    @Test
+    public void CallResultCacheTests() {
+        CallResultCache cache = new CallResultCache(8);
+        byte[] call = {1, 2, 3};
+        byte[] other = {1, 2, 4};
+        byte[] result = {9};
+
+        assertNull(cache.get(call, 10, false));
+        cache.put(call, 10, false, result);
+        assertArrayEquals(result, cache.get(call, 10, false));
+        assertNull(cache.get(other, 10, false));
+
+        // a result read at an older head is not kept, a newer head drops the results.
+        cache.put(other, 9, false, result);
+        assertNull(cache.get(other, 10, false));
+        assertNull(cache.get(call, 11, false));
+        assertNull(cache.get(call, 10, false));
+
+        // the pure results are kept across heads.
+        cache.put(call, -1, true, result);
+        cache.get(call, 12, false);
+        assertArrayEquals(result, cache.get(call, -1, true));
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getEntries());
+    }
+
+    @Test
+    public void SingleFlightTests() throws InterruptedException {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(
+                            () -> {
+                                results.add(
+                                        flight.run(
+                                                "blk",
+                                                () -> {
+                                                    try {
+                                                        release.await();
+                                                    } catch (InterruptedException e) {
+                                                        Thread.currentThread().interrupt();
+                                                    }
+                                                    return calls.incrementAndGet();
+                                                }));
+                                done.countDown();
+                            })
+                    .start();
+        }
+
+        // let every thread join the flight before it lands.
+        while (flight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(threads, results.size());
+        for (Integer r : results) {
+            assertEquals(results.get(0), r);
+        }
+        assertTrue(calls.get() < threads);
+        assertEquals(0, flight.inFlight());
+
+        // nothing is kept once the flight landed.
+        assertEquals(calls.get() + 1, (int) flight.run("blk", calls::incrementAndGet));
+    }
+
+    @Test
+    public void WindowedCallsTests() throws Exception {
+        int window = 4;
+        AtomicInteger unanswered = new AtomicInteger();
+        AtomicInteger maxUnanswered = new AtomicInteger();
+        ScheduledExecutorService es = Executors.newScheduledThreadPool(4);
+        try {
+            // the later calls are answered first.
+            List<Integer> out = Arrays.asList(new Integer[40]);
+            WindowedCalls.run(
+                    out,
+                    0,
+                    window,
+                    5000,
+                    i -> {
+                        maxUnanswered.accumulateAndGet(unanswered.incrementAndGet(), Math::max);
+                        CompletableFuture<Integer> f = new CompletableFuture<>();
+                        es.schedule(
+                                () -> {
+                                    unanswered.decrementAndGet();
+                                    f.complete(i * 10);
+                                },
+                                20 - i % window * 5,
+                                TimeUnit.MILLISECONDS);
+                        return f;
+                    },
+                    () -> true);
+            for (int i = 0; i < out.size(); i++) {
+                assertEquals(i * 10, (int) out.get(i));
+            }
+            assertEquals(window, maxUnanswered.get());
+
+            // a call not answered in time is left null, the first one was answered before.
+            List<Integer> partial = Arrays.asList(1, null, null, null);
+            List<CompletableFuture<Integer>> started = new ArrayList<>();
+            WindowedCalls.run(
+                    partial,
+                    1,
+                    window,
+                    50,
+                    i -> {
+                        CompletableFuture<Integer> f =
+                                i == 2
+                                        ? new CompletableFuture<>()
+                                        : CompletableFuture.completedFuture(i);
+                        started.add(f);
+                        return f;
+                    },
+                    () -> true);
+            assertEquals(Arrays.asList(1, 1, null, 3), partial);
+            assertTrue(started.get(1).isDone());
+
+            // nothing is started once the connection is lost.
+            List<Integer> none = Arrays.asList(new Integer[3]);
+            WindowedCalls.<Integer>run(
+                    none,
+                    0,
+                    window,
+                    50,
+                    i -> {
+                        fail();
+                        return null;
+                    },
+                    () -> false);
+            assertEquals(Arrays.asList(null, null, null), none);
+        } finally {
+            es.shutdownNow();
+        }
+    }
+
+    @Test
+    public void ReceiptScannerTests() {
+        Map<Long, Block> blocks = new HashMap<>();
+        Map<Hash256, TxReceipt> receipts = new HashMap<>();
+        List<List<Hash256>> batches = new ArrayList<>();
+        List<Long> fetched = new ArrayList<>();
+        ReceiptScanner scanner =
+                new ReceiptScanner(
+                        new ReceiptScanner.Source() {
+                            @Override
+                            public List<TxReceipt> receipts(List<Hash256> txHashes) {
+                                batches.add(new ArrayList<>(txHashes));
+                                List<TxReceipt> out = new ArrayList<>();
+                                for (Hash256 h : txHashes) {
+                                    out.add(receipts.get(h));
+                                }
+                                return out;
+                            }
+
+                            @Override
+                            public Block block(long number) {
+                                fetched.add(number);
+                                return blocks.get(number);
+                            }
+                        });
+
+        Hash256 tx1 = testHash(1);
+        Hash256 tx2 = testHash(2);
+        CompletableFuture<ApiMsg> w1 = scanner.add(tx1, 0);
+        CompletableFuture<ApiMsg> w2 = scanner.add(tx2, 2);
+
+        // no block scanned yet, every hash is asked once.
+        scanner.onNewHead(testBlock(10, 0));
+        assertEquals(Collections.singletonList(Arrays.asList(tx1, tx2)), batches);
+        assertEquals(10, scanner.getScanned());
+
+        // the hashes of one block are asked in one batch.
+        receipts.put(tx1, testReceipt(tx1, 11));
+        receipts.put(tx2, testReceipt(tx2, 11));
+        batches.clear();
+        scanner.onNewHead(testBlock(11, 0, tx1, tx2));
+        assertEquals(Collections.singletonList(Arrays.asList(tx1, tx2)), batches);
+        assertEquals(11L, ((TxReceipt) w1.join().getObject()).getBlockNumber());
+        assertFalse(w2.isDone());
+
+        // a reorg rewinds the scan and waits for the rolled back transactions again.
+        receipts.remove(tx2);
+        scanner.onReorg(11, 11);
+        assertEquals(10, scanner.getScanned());
+        scanner.onNewHead(testBlock(11, 1));
+        assertEquals(11, scanner.getScanned());
+        assertFalse(w2.isDone());
+
+        // the blocks between two heads are fetched and scanned.
+        receipts.put(tx2, testReceipt(tx2, 12));
+        blocks.put(12L, testBlock(12, 0, tx2));
+        blocks.put(13L, testBlock(13, 0));
+        batches.clear();
+        scanner.onNewHead(testBlock(14, 0));
+        assertEquals(Arrays.asList(12L, 13L), fetched);
+        assertEquals(Collections.singletonList(Collections.singletonList(tx2)), batches);
+        assertEquals(12L, ((TxReceipt) w2.join().getObject()).getBlockNumber());
+
+        // past MAX_SCAN blocks every receipt is asked instead of fetching the blocks.
+        Hash256 tx3 = testHash(3);
+        receipts.put(tx3, testReceipt(tx3, 400));
+        CompletableFuture<ApiMsg> w3 = scanner.add(tx3, 0);
+        fetched.clear();
+        scanner.onNewHead(testBlock(500, 0));
+        assertTrue(fetched.isEmpty());
+        assertTrue(w3.isDone());
+        assertEquals(500, scanner.getScanned());
+
+        // a hash added after its block was scanned is asked on the next head.
+        Hash256 tx4 = testHash(4);
+        receipts.put(tx4, testReceipt(tx4, 500));
+        CompletableFuture<ApiMsg> w4 = scanner.add(tx4, 1);
+        scanner.onNewHead(testBlock(501, 0));
+        assertTrue(w4.isDone());
+
+        // a cancelled wait is dropped.
+        Hash256 tx5 = testHash(5);
+        scanner.add(tx5, 0).cancel(false);
+        scanner.onNewHead(testBlock(502, 0));
+        batches.clear();
+        receipts.put(tx5, testReceipt(tx5, 503));
+        scanner.onNewHead(testBlock(503, 0, tx5));
+        assertTrue(batches.isEmpty());
+        assertEquals(0, scanner.getPending());
+
+        // failAll completes the waiting and the queued waits.
+        CompletableFuture<ApiMsg> w6 = scanner.add(testHash(6), 0);
+        scanner.onNewHead(testBlock(504, 0));
+        CompletableFuture<ApiMsg> w7 = scanner.add(testHash(7), 0);
+        scanner.failAll(-332);
+        assertEquals(-332, w6.join().getErrorCode());
+        assertEquals(-332, w7.join().getErrorCode());
+        assertEquals(-1, scanner.getScanned());
+        assertEquals(0, scanner.getPending());
+    }
+
+    @Test
+    public void HeadLinkerTests() {
+        Map<Long, Block> chain = new HashMap<>();
+        Map<Hash256, Block> blocks = new HashMap<>();
+        long[] head = {-1};
+        HeadLinker linker =
+                new HeadLinker(
+                        new HeadLinker.Source() {
+                            @Override
+                            public long blockNumber() {
+                                return head[0];
+                            }
+
+                            @Override
+                            public Block block(long number) {
+                                return chain.get(number);
+                            }
+
+                            @Override
+                            public Block block(Hash256 hash) {
+                                return blocks.get(hash);
+                            }
+                        });
+
+        // the head could not be asked.
+        assertNull(linker.update());
+
+        for (long n = 1; n <= 10; n++) {
+            linkBlock(chain, blocks, n, 0, 0);
+        }
+        head[0] = 10;
+        HeadLinker.Update u = linker.update();
+        assertEquals(10, u.getHead().getNumber());
+        assertFalse(u.isReorg());
+        assertNull(linker.update());
+
+        // the new blocks link to the known tip.
+        for (long n = 11; n <= 13; n++) {
+            linkBlock(chain, blocks, n, 0, 0);
+        }
+        head[0] = 13;
+        u = linker.update();
+        assertEquals(13, u.getHead().getNumber());
+        assertFalse(u.isReorg());
+
+        // a branch of the same height replaces the head.
+        linkBlock(chain, blocks, 13, 1, 0);
+        u = linker.update();
+        assertTrue(u.isReorg());
+        assertEquals(13, u.getFromNumber());
+        assertEquals(13, u.getToNumber());
+        assertEquals(linkHash(13, 1), u.getHead().getHash());
+
+        // a longer branch forking inside the window rolls back the blocks above the fork point.
+        linkBlock(chain, blocks, 12, 2, 0);
+        for (long n = 13; n <= 15; n++) {
+            linkBlock(chain, blocks, n, 2, 2);
+        }
+        head[0] = 15;
+        u = linker.update();
+        assertTrue(u.isReorg());
+        assertEquals(12, u.getFromNumber());
+        assertEquals(13, u.getToNumber());
+        assertEquals(15, linker.getTip());
+
+        // a head going back to a known block rolls back the blocks above it.
+        head[0] = 12;
+        u = linker.update();
+        assertTrue(u.isReorg());
+        assertEquals(13, u.getFromNumber());
+        assertEquals(15, u.getToNumber());
+        assertEquals(12, linker.getTip());
+
+        // a parent that can't be fetched is retried by the next update.
+        long far = 12 + HeadLinker.WINDOW;
+        linkBlock(chain, blocks, far, 0, 0);
+        head[0] = far;
+        assertNull(linker.update());
+        assertEquals(12, linker.getTip());
+
+        // a jump past the window starts over from the head.
+        head[0] = far + 1;
+        linkBlock(chain, blocks, far + 1, 0, 0);
+        u = linker.update();
+        assertFalse(u.isReorg());
+        assertEquals(far + 1, linker.getTip());
+        assertEquals(far + 1, u.getHead().getNumber());
+    }
+
+    // the block of the number on the fork, its parent is the block below on the parent fork.
+    private static void linkBlock(
+            Map<Long, Block> chain, Map<Hash256, Block> blocks, long number, int fork, int parent) {
+        ByteString h32 = ByteString.copyFrom(new byte[32]);
+        Block b =
+                ApiUtils.toBlock(
+                        Message.rsp_getBlock
+                                .newBuilder()
+                                .setBlockNumber(number)
+                                .setHash(ByteString.copyFrom(linkHash(number, fork).toBytes()))
+                                .setParentHash(
+                                        ByteString.copyFrom(linkHash(number - 1, parent).toBytes()))
+                                .setMinerAddress(h32)
+                                .setStateRoot(h32)
+                                .setTxTrieRoot(h32)
+                                .setReceiptTrieRoot(h32)
+                                .build());
+        chain.put(number, b);
+        blocks.put(b.getHash(), b);
+    }
+
+    private static Hash256 linkHash(long number, int fork) {
+        return Hash256.wrap(ByteBuffer.allocate(32).put((byte) fork).putLong(24, number).array());
+    }
+
+    private static Hash256 testHash(int n) {
+        byte[] h = new byte[32];
+        h[31] = (byte) n;
+        return Hash256.wrap(h);
+    }
+
+    private static Block testBlock(long number, int fork, Hash256... txs) {
+        ByteString h32 = ByteString.copyFrom(new byte[32]);
+        byte[] hash = new byte[32];
+        hash[30] = (byte) number;
+        hash[31] = (byte) fork;
+        Message.rsp_getBlock.Builder b =
+                Message.rsp_getBlock
+                        .newBuilder()
+                        .setBlockNumber(number)
+                        .setHash(ByteString.copyFrom(hash))
+                        .setParentHash(h32)
+                        .setMinerAddress(h32)
+                        .setStateRoot(h32)
+                        .setTxTrieRoot(h32)
+                        .setReceiptTrieRoot(h32);
+        for (Hash256 tx : txs) {
+            b.addTxHash(ByteString.copyFrom(tx.toBytes()));
+        }
+        return ApiUtils.toBlock(b.build());
+    }
+
+    private static TxReceipt testReceipt(Hash256 txHash, long number) {
+        ByteString h32 = ByteString.copyFrom(new byte[32]);
+        return ApiUtils.toTransactionReceipt(
+                Message.rsp_getTransactionReceipt
+                        .newBuilder()
+                        .setTxHash(ByteString.copyFrom(txHash.toBytes()))
+                        .setBlockNumber(number)
+                        .setBlockHash(h32)
+                        .setFrom(h32)
+                        .setTo(h32)
+                        .setContractAddress(h32)
+                        .build());
+    }
+
+    @Test
+    public void AbiCodecPlanTests() {
+        ContractAbiEntry func = new ContractAbiEntry();
+        func.type = "function";
+        func.name = "get";
+        func.inputs = new ArrayList<>();
+        func.outputs = Arrays.asList(abiParam("uint128"), abiParam("bool"), abiParam("string"));
+        ContractAbiEntry real = new ContractAbiEntry();
+        real.type = "function";
+        real.name = "rate";
+        real.inputs = new ArrayList<>();
+        real.outputs = Collections.singletonList(abiParam("real128"));
+        new CompileResponse.CompileResponseBuilder().abiDefinition(Arrays.asList(func, real));
+
+        AbiCodecPlan plan = AbiCodecPlan.of(func.getHashed(), func.outputs);
+        assertEquals(3, plan.size());
+        assertEquals(48, plan.getStaticLength());
+        assertArrayEquals(ApiUtils.hex2Bytes(func.getHashed()), plan.getSelector());
+        assertTrue(
+                plan.matches(
+                        Arrays.asList(
+                                Uint.copyFrom(1), Bool.copyFrom(true), SString.copyFrom(""))));
+        assertFalse(
+                plan.matches(
+                        Arrays.asList(
+                                Bool.copyFrom(true), Uint.copyFrom(1), SString.copyFrom(""))));
+        assertFalse(plan.matches(Arrays.asList(Uint.copyFrom(1), Bool.copyFrom(true))));
+
+        ByteBuffer data = ByteBuffer.allocate(80);
+        data.put(15, (byte) 7).put(31, (byte) 1).put(47, (byte) 48).put(63, (byte) 2);
+        data.position(64);
+        data.put("hi".getBytes());
+        List<Object> out = plan.decode(ByteArrayWrapper.wrap(data.array()));
+        assertEquals(3, out.size());
+        assertEquals(7L, ((Number) out.get(0)).longValue());
+        assertEquals(true, out.get(1));
+        assertEquals("hi", out.get(2));
+        // the decoders are shared, decoding again gives the same values.
+        assertEquals(out, plan.decode(ByteArrayWrapper.wrap(data.array())));
+
+        // an address argument takes a single array dimension at most.
+        Address addr = Address.copyFrom(new byte[32]);
+        assertTrue(
+                AbiCodecPlan.of(null, Collections.singletonList(abiParam("address[]")))
+                        .matches(0, addr));
+        assertFalse(
+                AbiCodecPlan.of(null, Collections.singletonList(abiParam("address[][]")))
+                        .matches(0, addr));
+
+        AbiCodecPlan unsupported = AbiCodecPlan.of(null, real.outputs);
+        assertNull(unsupported.getDecoders());
+        assertNull(unsupported.decode(ByteArrayWrapper.wrap(new byte[16])));
+        assertEquals(-1, unsupported.getStaticLength());
+        assertEquals(0, unsupported.getSelector().length);
+    }
+
+    private static ContractAbiIOParam abiParam(String type) {
+        ContractAbiIOParam io = new ContractAbiIOParam();
+        io.setType(type);
+        return io;
+    }
+
+    @Test
+    public void AbiCallDataTests() {
+        ContractAbiEntry func = new ContractAbiEntry();
+        func.type = "function";
+        func.name = "set";
+        func.inputs =
+                Arrays.asList(
+                        abiParam("uint128"),
+                        abiParam("string"),
+                        abiParam("address"),
+                        abiParam("bool"));
+        func.outputs = new ArrayList<>();
+        new CompileResponse.CompileResponseBuilder().abiDefinition(Collections.singletonList(func));
+
+        AbiCodecPlan plan = AbiCodecPlan.of(func.getHashed(), func.inputs);
+        byte[] selector = plan.getSelector();
+        List<ISolidityArg> params =
+                Arrays.asList(
+                        Uint.copyFrom(1),
+                        SString.copyFrom("a"),
+                        Address.copyFrom(repeat("00", 32)),
+                        Bool.copyFrom(false));
+        AbiCallData call =
+                new AbiCallData(
+                        plan,
+                        func.inputs,
+                        params,
+                        AbiCallData.encode(selector, plan, func.inputs, params));
+
+        // a static value after a dynamic one is written over its slot, a longer string moves the
+        // dynamic part.
+        assertEquals(1, call.bind(2, Address.copyFrom(repeat("a2", 32))));
+        assertEquals(1, call.bind(0, Uint.copyFrom(7)));
+        assertArrayEquals(
+                AbiCallData.encode(
+                        selector,
+                        plan,
+                        func.inputs,
+                        Arrays.asList(
+                                Uint.copyFrom(7),
+                                SString.copyFrom("a"),
+                                Address.copyFrom(repeat("a2", 32)),
+                                Bool.copyFrom(false))),
+                call.getData());
+
+        assertEquals(1, call.bind(1, SString.copyFrom(repeat("long string ", 4))));
+        assertEquals(1, call.bind(3, Bool.copyFrom(true)));
+        byte[] bound =
+                AbiCallData.encode(
+                        selector,
+                        plan,
+                        func.inputs,
+                        Arrays.asList(
+                                Uint.copyFrom(7),
+                                SString.copyFrom(repeat("long string ", 4)),
+                                Address.copyFrom(repeat("a2", 32)),
+                                Bool.copyFrom(true)));
+        assertArrayEquals(bound, call.getData());
+
+        // a value of another type is not bound, the former value and call data are kept.
+        List<ISolidityArg> former = call.getParams();
+        assertEquals(-112, call.bind(0, Bool.copyFrom(false)));
+        assertEquals(-112, call.bind(1, Uint.copyFrom(1)));
+        assertEquals(former, call.getParams());
+        assertArrayEquals(bound, call.getData());
+    }
+
+    private static String repeat(String s, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void SolidityTypeTests() {
+        SolidityType t = SolidityType.parse("uint128[][3]");
+        assertEquals(SolidityValue.SolidityTypeEnum.UINT, t.getKind());
+        assertEquals(128, t.getSize());
+        assertEquals(Arrays.asList(-1, 3), t.getArrayLengths());
+        assertTrue(t == SolidityType.parse("uint128[][3]"));
+        assertEquals(-1, SolidityType.parse("int").getSize());
+        assertFalse(SolidityType.parse("bool").isArray());
+
+        // the parser accepts what the type regexes did.
+        String[] types = {
+            "address",
+            "address[]",
+            "address[2][]",
+            "address1",
+            "bool",
+            "bool[4]",
+            "bool8",
+            "bytes",
+            "bytes32",
+            "bytes[]",
+            "bytes16[2][]",
+            "int",
+            "int64[]",
+            "uint",
+            "uint128",
+            "uint128[][3]",
+            "uint[",
+            "uint]",
+            "uint[a]",
+            "real",
+            "real128[2]",
+            "real[][]",
+            "ureal",
+            "ureal64[]",
+            "string",
+            "string[]",
+            "string8",
+            "",
+            "fixed",
+            "Uint",
+            "uint 8"
+        };
+        for (String type : types) {
+            assertEquals(
+                    type,
+                    Pattern.matches("address((\\[([0-9]*)])+)?", type),
+                    ApiUtils.isTypeAddress(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("address(\\[([0-9]*)])?", type),
+                    Address.copyFrom(new byte[32]).isType(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("^bool(\\[([0-9]*)])*$", type),
+                    ApiUtils.isTypeBoolean(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("^bytes([0-9]{1,})(\\[([0-9]*)])*$", type),
+                    ApiUtils.isTypeBytes(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("^bytes(\\[([0-9]*)])*$", type),
+                    ApiUtils.isTypeDynamicBytes(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("^int([0-9]*)?(\\[([0-9]*)])*$", type),
+                    ApiUtils.isTypeInt(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("^uint([0-9]*)?(\\[([0-9]*)])*$", type),
+                    ApiUtils.isTypeUint(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("real([0-9]*)?(\\[([0-9]*)])?", type),
+                    ApiUtils.isTypeReal(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("ureal([0-9]*)?(\\[([0-9]*)])?", type),
+                    ApiUtils.isTypeUreal(type));
+            assertEquals(
+                    type,
+                    Pattern.matches("^string(\\[([0-9]*)])*$", type),
+                    ApiUtils.isTypeString(type));
+        }
+    }
+
+    @Test
+    public void SolDecodeTests() {
+        List<Object> nested = new ArrayList<>();
+        nested.add(new ArrayList<>(Arrays.asList(1L, 2L)));
+        nested.add(new ArrayList<>(Arrays.asList(3L, 4L)));
+
+        ByteArrayWrapper flat =
+                encodeAsOutput(
+                        Uint.copyFrom(Arrays.asList(5L, 6L, 7L)), Collections.singletonList(-1));
+        Uint dec = decoder("uint128[]", Collections.singletonList(-1));
+        assertArrayEquals(new long[] {5, 6, 7}, dec.decodeLongs(0, flat));
+        assertEquals(BigInteger.valueOf(7), dec.decodeBigIntegers(0, flat)[2]);
+        assertEquals(
+                Arrays.asList(BigInteger.valueOf(5), BigInteger.valueOf(6), BigInteger.valueOf(7)),
+                dec.decode(0, flat));
+
+        ByteArrayWrapper twoDim = encodeAsOutput(Uint.copyFrom(nested), Arrays.asList(2, -1));
+        dec = decoder("uint128[2][]", Arrays.asList(2, -1));
+        assertArrayEquals(new long[] {1, 2, 3, 4}, dec.decodeLongs(0, twoDim));
+        assertEquals(
+                Arrays.asList(
+                        Arrays.asList(BigInteger.ONE, BigInteger.valueOf(2)),
+                        Arrays.asList(BigInteger.valueOf(3), BigInteger.valueOf(4))),
+                dec.decode(0, twoDim));
+
+        // a length past the end of the data is rejected instead of read.
+        byte[] bad = flat.getData().clone();
+        bad[31] = 100;
+        try {
+            dec = decoder("uint128[]", Collections.singletonList(-1));
+            dec.decodeLongs(0, ByteArrayWrapper.wrap(bad));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        SString str = SString.createForDecode();
+        str.setType("string");
+        ByteArrayWrapper hello = encodeAsOutput(SString.copyFrom("hello"), Collections.emptyList());
+        StringBuilder sb = new StringBuilder();
+        assertEquals(
+                1, str.decodeEntries(0, hello, (i, d, o, l) -> sb.append(new String(d, o, l))));
+        assertEquals("hello", sb.toString());
+
+        byte[] word = new byte[16];
+        Arrays.fill(word, (byte) 0xff);
+        assertEquals(-1L, ApiUtils.toLongExact(word, 0, 16));
+        word[0] = 0;
+        try {
+            ApiUtils.toLongExact(word, 0, 16);
+            fail();
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    private static Uint decoder(String type, List<Integer> lengths) {
+        Uint dec = Uint.createForDecode();
+        dec.setDynamicParameters(lengths);
+        dec.setType(type);
+        return dec;
+    }
+
+    // the encoding of a single dynamic output: the offset word then the value.
+    private static ByteArrayWrapper encodeAsOutput(
+            SolidityAbstractType arg, List<Integer> lengths) {
+        arg.setDynamicParameters(lengths);
+        arg.setType(arg instanceof SString ? "string" : "uint128[]");
+        ByteBuffer out = ByteBuffer.allocate(16 + arg.getEncodedLength());
+        out.putInt(12, 16).position(16);
+        arg.encode(out);
+        return ByteArrayWrapper.wrap(out.array());
+    }
+
+    @Test
+    public void SolEncodeTests() {
+        List<Object> nested = new ArrayList<>();
+        nested.add(new ArrayList<>(Arrays.asList(1L, 2L)));
+        nested.add(new ArrayList<>(Arrays.asList(3L, 4L)));
+
+        assertSameEncoding(Uint.copyFrom(123456789L), "uint128", Collections.emptyList());
+        assertSameEncoding(Uint.copyFrom("ff"), "uint128", Collections.emptyList());
+        assertSameEncoding(Int.copyFrom(-2), "int128", Collections.emptyList());
+        assertSameEncoding(Bool.copyFrom(true), "bool", Collections.emptyList());
+        assertSameEncoding(
+                Address.copyFrom(
+                        "a0c0cc973a306d31320fe72cad62afaa799d076bbd50ab7c5d5f5bad5f5a5c5f"),
+                "address",
+                Collections.emptyList());
+        assertSameEncoding(
+                Bytes.copyFrom(ApiUtils.hex2Bytes("0102030405060708090a")),
+                "bytes16",
+                Collections.emptyList());
+        assertSameEncoding(
+                DynamicBytes.copyFrom(ApiUtils.hex2Bytes("0102030405060708090a0b0c0d0e0f1011")),
+                "bytes",
+                Collections.emptyList());
+        assertSameEncoding(SString.copyFrom("hello, aion"), "string", Collections.emptyList());
+        assertSameEncoding(
+                Uint.copyFrom(Arrays.asList(1L, 2L, 3L)),
+                "uint128[]",
+                Collections.singletonList(-1));
+        assertSameEncoding(
+                Uint.copyFrom(Arrays.asList(1L, 2L)), "uint128[3]", Collections.singletonList(3));
+        assertSameEncoding(Uint.copyFrom(nested), "uint128[2][]", Arrays.asList(2, -1));
+    }
+
+    private static void assertSameEncoding(
+            SolidityAbstractType arg, String type, List<Integer> lengths) {
+        arg.setDynamicParameters(lengths);
+        arg.setType(type);
+
+        ByteBuffer out = ByteBuffer.allocate(arg.getEncodedLength());
+        arg.encode(out);
+        assertEquals(0, out.remaining());
+        assertArrayEquals(ApiUtils.hex2Bytes(arg.getInputFormat()), out.array());
+    }
 }